@@ -0,0 +1,22 @@
+#!/bin/bash
+# Issues an API key for a service user.
+#
+# Usage: ./create-api-key.sh <serviceName> <Base64 application.security.api-key.hmac-secret>
+#
+# Prints the API key once, and the mongosh command that stores its HMAC-SHA256 digest on the
+# service user. The service authenticates with the header "Authorization: ApiKey <keyId>.<secret>"
+# on /api/v1/artemis/auth/public/authenticate. Only the digest is stored, the secret cannot be recovered.
+
+SERVICE_NAME=$1
+HMAC_SECRET_HEX=$(echo -n "$2" | base64 -d | xxd -p -c 256)
+
+KEY_ID=$(openssl rand -hex 8)
+SECRET=$(openssl rand -base64 32 | tr '+/' '-_' | tr -d '=')
+DIGEST=$(echo -n "$SECRET" | openssl dgst -sha256 -mac HMAC -macopt hexkey:"$HMAC_SECRET_HEX" -binary | base64)
+
+echo "API key (store it now, it is not shown again): $KEY_ID.$SECRET"
+echo
+echo "db.getCollection(\"service-users\").updateOne("
+echo "  { serviceName: \"$SERVICE_NAME\" },"
+echo "  { \$push: { apiKeys: { keyId: \"$KEY_ID\", digest: \"$DIGEST\", expiresAt: null } } }"
+echo ");"
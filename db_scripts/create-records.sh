@@ -98,6 +98,7 @@ db.resource.insertOne({
   resourceType: "ACCOUNT",
   resourceUri: "/api/v1/artemis/account/secured/get-accounts",
   resourceOwner: "ACCOUNT-MANAGEMENT",
+  lastModified: new Date(),
   authorities: [
     {
       permission: "account.read"
@@ -111,6 +112,7 @@ db.resource.insertOne({
   resourceType: "ACCOUNT",
   resourceUri: "/api/v1/artemis/account/secured/create-account",
   resourceOwner: "ACCOUNT-MANAGEMENT",
+  lastModified: new Date(),
   authorities: [
     {
       permission: "account.create"
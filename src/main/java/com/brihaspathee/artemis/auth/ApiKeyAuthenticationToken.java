@@ -0,0 +1,76 @@
+package com.brihaspathee.artemis.auth;
+
+import lombok.Getter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.BadCredentialsException;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 19:15
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth
+ * To change this template use File | Settings | File and Code Template
+ */
+@Getter
+public class ApiKeyAuthenticationToken extends AbstractAuthenticationToken {
+
+    /**
+     * The public identifier of the API key presented by the service.
+     */
+    private final String keyId;
+
+    /**
+     * The secret part of the API key presented by the service.
+     */
+    private final String secret;
+
+    /**
+     * Constructs an unauthenticated {@code ApiKeyAuthenticationToken} from the parts of an API key.
+     *
+     * @param keyId the public identifier of the API key
+     * @param secret the secret part of the API key
+     */
+    public ApiKeyAuthenticationToken(String keyId, String secret) {
+        super(null);
+        this.keyId = keyId;
+        this.secret = secret;
+        setAuthenticated(false);
+    }
+
+    /**
+     * Creates an {@code ApiKeyAuthenticationToken} from an API key in the form {@code <keyId>.<secret>}.
+     *
+     * @param apiKey the API key presented by the service
+     * @return the unauthenticated token
+     * @throws BadCredentialsException if the API key is not in the expected form
+     */
+    public static ApiKeyAuthenticationToken parse(String apiKey) {
+        int separator = apiKey == null ? -1 : apiKey.indexOf('.');
+        if(separator <= 0 || separator == apiKey.length() - 1){
+            throw new BadCredentialsException("Malformed API key");
+        }
+        return new ApiKeyAuthenticationToken(apiKey.substring(0, separator), apiKey.substring(separator + 1));
+    }
+
+    /**
+     * Returns the identifier of the API key, which identifies the key but not the service.
+     *
+     * @return the identifier of the API key
+     */
+    @Override
+    public Object getPrincipal() {
+        return keyId;
+    }
+
+    /**
+     * Returns the secret part of the API key.
+     *
+     * @return the secret of the API key
+     */
+    @Override
+    public Object getCredentials() {
+        return secret;
+    }
+}
@@ -2,7 +2,9 @@ package com.brihaspathee.artemis.auth;
 
 import com.brihaspathee.artemis.web.exception.APIException;
 import com.brihaspathee.artemis.web.response.ArtemisAPIResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -30,12 +32,45 @@ import java.io.IOException;
 public class ArtemisAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
     /**
-     * ObjectMapper instance used for JSON parsing and serialization.
-     * This instance is globally available and statically initialized to handle
-     * JSON data formatting and conversion in the application.
-     * Provides methods for reading from and writing to JSON in a convenient manner.
+     * The pre-rendered body of the response sent when invalid credentials are provided (error code 1000001).
      */
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private final byte[] invalidCredentialsBody;
+
+    /**
+     * The pre-rendered body of the response sent when the JWT in the request is not valid (error code 1000002).
+     */
+    private final byte[] invalidJwtBody;
+
+    /**
+     * The pre-rendered body of the response sent for any other authentication failure (error code 1000003).
+     */
+    private final byte[] authenticationExceptionBody;
+
+    /**
+     * Constructs an instance of ArtemisAuthenticationEntryPoint. The bodies of the three responses do not
+     * depend on the request, so they are serialized once here and written as is on every failure.
+     *
+     * @param objectMapper the application's object mapper used to render the response bodies
+     * @throws JsonProcessingException if a response body cannot be serialized
+     */
+    public ArtemisAuthenticationEntryPoint(ObjectMapper objectMapper) throws JsonProcessingException {
+        ObjectWriter writer = objectMapper.writerFor(ArtemisAPIResponse.class);
+        this.invalidCredentialsBody = render(writer, "1000001", "Invalid Credentials Provided", HttpStatus.UNAUTHORIZED,
+                HttpServletResponse.SC_UNAUTHORIZED,
+                "The username or password provided is incorrect",
+                "The username or password provided is incorrect",
+                "The username or password provided is incorrect");
+        this.invalidJwtBody = render(writer, "1000002", "Invalid JWT provided", HttpStatus.UNAUTHORIZED,
+                HttpServletResponse.SC_UNAUTHORIZED,
+                "The JWT provided in the request header is not valid",
+                "Invalid JWT provided",
+                "Invalid JWT provided");
+        this.authenticationExceptionBody = render(writer, "1000003", "Authentication Exception occurred", HttpStatus.UNAUTHORIZED,
+                HttpServletResponse.SC_UNAUTHORIZED,
+                "Authentication Exception occurred",
+                "Authentication Exception occurred",
+                "Authentication Exception occurred");
+    }
 
     /**
      * Handles authentication failures by generating an appropriate response
@@ -55,32 +90,45 @@ public class ArtemisAuthenticationEntryPoint implements AuthenticationEntryPoint
                          AuthenticationException authException)
             throws IOException, ServletException {
         log.info("Request URL:{}", request.getRequestURL());
+        writeResponse(response, responseBody(authException));
+    }
+
+    /**
+     * Returns the pre-rendered body of the response for the given authentication failure. Also used by the
+     * entry point of the reactive validate path, so that both stacks answer with the same bodies.
+     *
+     * @param authException the exception that caused the authentication failure
+     * @return the pre-rendered JSON body
+     */
+    public byte[] responseBody(AuthenticationException authException) {
         if(authException instanceof BadCredentialsException){
-            generateResponse(response, "1000001", "Invalid Credentials Provided", HttpStatus.UNAUTHORIZED, HttpServletResponse.SC_UNAUTHORIZED,
-                    "The username or password provided is incorrect",
-                    "The username or password provided is incorrect",
-                    "The username or password provided is incorrect");
+            return invalidCredentialsBody;
         }else if (authException instanceof InsufficientAuthenticationException){
-            generateResponse(response, "1000002", "Invalid JWT provided", HttpStatus.UNAUTHORIZED, HttpServletResponse.SC_UNAUTHORIZED,
-                    "The JWT provided in the request header is not valid",
-                    "Invalid JWT provided",
-                    "Invalid JWT provided");
-        }else {
-            log.error("Authentication Exception occurred", authException);
-            generateResponse(response, "1000003", "Authentication Exception occurred", HttpStatus.UNAUTHORIZED, HttpServletResponse.SC_UNAUTHORIZED,
-                    "Authentication Exception occurred",
-                    "Authentication Exception occurred",
-                    "Authentication Exception occurred");
+            return invalidJwtBody;
         }
+        log.error("Authentication Exception occurred", authException);
+        return authenticationExceptionBody;
+    }
 
+    /**
+     * Writes the given pre-rendered body to the provided HttpServletResponse as a 401 JSON response.
+     *
+     * @param response the HttpServletResponse object to write the JSON response to
+     * @param body the pre-rendered JSON body
+     * @throws IOException if an input or output exception occurs while writing the response
+     */
+    private static void writeResponse(HttpServletResponse response, byte[] body) throws IOException {
+        response.setContentType("application/json");
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
     }
 
     /**
-     * Generates a structured JSON response for error handling and writes it to the
-     * provided HttpServletResponse. The response includes details such as error codes,
-     * messages, developer information, and HTTP status to be sent to the client.
+     * Renders a structured JSON response for error handling. The response includes details such as
+     * error codes, messages, developer information, and HTTP status to be sent to the client.
      *
-     * @param response          the HttpServletResponse object to write the JSON response to
+     * @param writer            the writer used to serialize the response
      * @param errorCode         a string representing the specific error code
      * @param errorMessage      a detailed error message describing the issue
      * @param httpStatus        the HTTP status to be set in the response
@@ -88,16 +136,17 @@ public class ArtemisAuthenticationEntryPoint implements AuthenticationEntryPoint
      * @param developerMessage  a message intended for developers to provide additional context
      * @param responseMessage   a general message to summarize the response
      * @param responseReason    a description of the reason for the error or response
-     * @throws IOException      if an input or output exception occurs while writing the response
+     * @return the serialized JSON response
+     * @throws JsonProcessingException if the response cannot be serialized
      */
-    private static void generateResponse(HttpServletResponse response,
-                                         String errorCode,
-                                         String errorMessage,
-                                         HttpStatus httpStatus,
-                                         int statusCode,
-                                         String developerMessage,
-                                         String responseMessage,
-                                         String responseReason) throws IOException {
+    private static byte[] render(ObjectWriter writer,
+                                 String errorCode,
+                                 String errorMessage,
+                                 HttpStatus httpStatus,
+                                 int statusCode,
+                                 String developerMessage,
+                                 String responseMessage,
+                                 String responseReason) throws JsonProcessingException {
         APIException apiException = APIException.builder()
                 .errorCode(errorCode)
                 .errorMessage(errorMessage)
@@ -110,9 +159,6 @@ public class ArtemisAuthenticationEntryPoint implements AuthenticationEntryPoint
                 .message(responseMessage)
                 .reason(responseReason)
                 .build();
-        response.setContentType("application/json");
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        response.getWriter().write(objectMapper.writeValueAsString(apiResponse));
-
+        return writer.writeValueAsBytes(apiResponse);
     }
 }
@@ -0,0 +1,57 @@
+package com.brihaspathee.artemis.auth;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 22:05
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth
+ * To change this template use File | Settings | File and Code Template
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ArtemisServerAuthenticationEntryPoint implements ServerAuthenticationEntryPoint {
+
+    /**
+     * The entry point of the servlet chain, which holds the pre-rendered bodies of the 401 responses.
+     */
+    private final ArtemisAuthenticationEntryPoint authenticationEntryPoint;
+
+    /**
+     * Handles authentication failures on the reactive validate path by writing the same pre-rendered
+     * 401 body the servlet chain writes for the failure.
+     *
+     * @param exchange the exchange of the request that failed authentication
+     * @param authException the exception that caused the authentication failure
+     * @return a Mono completing when the response is written
+     */
+    @Override
+    public Mono<Void> commence(ServerWebExchange exchange, AuthenticationException authException) {
+        log.info("Request URL:{}", exchange.getRequest().getURI());
+        /*
+            The reactive chain reports a request without a valid token as missing credentials,
+            where the servlet chain reports it as insufficient authentication
+         */
+        AuthenticationException failure = authException instanceof AuthenticationCredentialsNotFoundException ?
+                new InsufficientAuthenticationException(authException.getMessage(), authException) : authException;
+        byte[] body = authenticationEntryPoint.responseBody(failure);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
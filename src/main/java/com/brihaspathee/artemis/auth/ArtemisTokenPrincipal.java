@@ -0,0 +1,70 @@
+package com.brihaspathee.artemis.auth;
+
+import com.brihaspathee.artemis.auth.service.JwtClaims;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 11:35
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth
+ * To change this template use File | Settings | File and Code Template
+ */
+@Getter
+public class ArtemisTokenPrincipal implements UserDetails {
+
+    /**
+     * The username of the account, taken from the verified token.
+     */
+    private final String username;
+
+    /**
+     * The type of the account (user account or service account), taken from the verified token.
+     */
+    private final String accountType;
+
+    /**
+     * The authorities granted to the account, taken from the verified token.
+     */
+    private final List<? extends GrantedAuthority> authorities;
+
+    /**
+     * Constructs an {@code ArtemisTokenPrincipal} from the claims of a verified token.
+     * This principal is used in the stateless trust mode, where the user is not loaded from
+     * the database on every request and the verified claims are trusted instead.
+     *
+     * @param claims the verified claims of the token
+     */
+    public ArtemisTokenPrincipal(JwtClaims claims) {
+        this.username = claims.getUsername();
+        this.accountType = claims.getAccountType();
+        this.authorities = claims.getAuthorities();
+    }
+
+    /**
+     * Returns the authorities granted to the account, as carried in the token.
+     *
+     * @return the authorities granted to the account
+     */
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return this.authorities;
+    }
+
+    /**
+     * The password is never available to a principal built from a token.
+     *
+     * @return always null
+     */
+    @Override
+    public String getPassword() {
+        return null;
+    }
+}
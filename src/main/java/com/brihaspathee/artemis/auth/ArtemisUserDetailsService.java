@@ -2,30 +2,49 @@ package com.brihaspathee.artemis.auth;
 
 import com.brihaspathee.artemis.auth.document.ServiceUser;
 import com.brihaspathee.artemis.auth.document.User;
+import com.brihaspathee.artemis.auth.event.UserChangeEvent;
+import com.brihaspathee.artemis.auth.event.interfaces.UserChangeEventSource;
 import com.brihaspathee.artemis.auth.repository.ServiceUserRepository;
 import com.brihaspathee.artemis.auth.repository.UserRepository;
+import com.brihaspathee.artemis.auth.service.SingleFlight;
 import com.brihaspathee.artemis.exception.UserNotFoundException;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Created in Intellij IDEA
  * User: Balaji Varadharajan
  * Date: 03, April 2025
- * Time: 2:10 PM
+ * Time: 2:10 PM
  * Project: artemis
  * Package Name: com.brihaspathee.artemis.auth
  * To change this template use File | Settings | File and Code Template
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ArtemisUserDetailsService {
 
+    /**
+     * The name of the timer recording how long it takes to look up a user.
+     */
+    private static final String LOOKUP_TIMER = "artemis.auth.user.lookup";
+
     /**
      * Repository used for accessing user data in the database.
      * Provides methods to query user information based on specific criteria,
@@ -41,9 +60,101 @@ public class ArtemisUserDetailsService {
      */
     private final ServiceUserRepository serviceUserRepository;
 
+    /**
+     * Indicates whether the loaded users are cached.
+     */
+    private final boolean cacheEnabled;
 
     /**
-     * Loads user details based on the given username and account type from the database.
+     * Read-through cache of the users and service users loaded from the database, keyed by
+     * account type and username. The cache is bounded in size and time, and entries are removed
+     * as soon as the change stream reports a change to the corresponding document.
+     */
+    private final Cache<String, UserDetails> userCache;
+
+    /**
+     * The key of each cached user, keyed by the collection and the id of its document. A change event carries
+     * the id of the document and not the username, so the user is found here and invalidated by its key
+     * instead of scanning the cache. Entries are removed along with the users by the removal listener.
+     */
+    private final ConcurrentMap<String, String> cacheKeysByDocument = new ConcurrentHashMap<>();
+
+    /**
+     * Coalesces concurrent database lookups of the same user, so that a token arriving on many
+     * threads at once, e.g. for a popular service account, results in a single query.
+     */
+    private final SingleFlight<String, LoadedUser> userLookups = new SingleFlight<>();
+
+    /**
+     * The number of invalidations of the cache so far. A change event cannot be matched against a user
+     * that is still being read from the database, as the event carries the id of the document and not the
+     * username, so every lookup records this count before reading the database and does not keep the user
+     * in the cache if an invalidation happened in between.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * The timer of the lookups answered from the cache.
+     */
+    private final Timer cacheHitTimer;
+
+    /**
+     * The timer of the lookups that found the user in the database.
+     */
+    private final Timer databaseFoundTimer;
+
+    /**
+     * The timer of the lookups that did not find the user in the database.
+     */
+    private final Timer databaseNotFoundTimer;
+
+    /**
+     * The timer of the lookups that failed with an error while reading the database.
+     */
+    private final Timer databaseErrorTimer;
+
+    /**
+     * Constructs an instance of ArtemisUserDetailsService.
+     *
+     * @param userRepository the repository used to load user accounts
+     * @param serviceUserRepository the repository used to load service accounts
+     * @param userChangeEventSource the source of the changes to the user and service user documents
+     * @param meterRegistry the registry where the cache statistics and the lookup timers are published
+     * @param cacheEnabled whether the loaded users should be cached
+     * @param maximumSize the maximum number of users held in the cache
+     * @param timeToLive how long a user is held in the cache before it is loaded from the database again
+     */
+    public ArtemisUserDetailsService(UserRepository userRepository,
+                                     ServiceUserRepository serviceUserRepository,
+                                     UserChangeEventSource userChangeEventSource,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${application.security.user-cache.enabled:true}") boolean cacheEnabled,
+                                     @Value("${application.security.user-cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${application.security.user-cache.ttl:5m}") Duration timeToLive) {
+        this.userRepository = userRepository;
+        this.serviceUserRepository = serviceUserRepository;
+        this.cacheEnabled = cacheEnabled;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                // The listener runs on the thread removing the user, so the key index never lags the cache
+                .executor(Runnable::run)
+                .removalListener(this::onRemoval)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "user-details");
+        this.cacheHitTimer = lookupTimer(meterRegistry, "cache", "found");
+        this.databaseFoundTimer = lookupTimer(meterRegistry, "database", "found");
+        this.databaseNotFoundTimer = lookupTimer(meterRegistry, "database", "not_found");
+        this.databaseErrorTimer = lookupTimer(meterRegistry, "database", "error");
+        userChangeEventSource.subscribe(this::onUserChange);
+    }
+
+    /**
+     * Loads user details based on the given username and account type. The user details are
+     * returned from the cache if present, otherwise they are loaded from the database and cached.
+     * Concurrent calls for the same user that miss the cache share a single database lookup.
+     * The time taken is recorded by source (cache or database) and outcome.
      * Depending on the account type provided, it retrieves the user details from either
      * the user repository or the service user repository.
      *
@@ -53,6 +164,128 @@ public class ArtemisUserDetailsService {
      * @throws UsernameNotFoundException if the user is not found in the database
      */
     public UserDetails loadUserByUsernameAndAccountType(String username, String accountType) throws UsernameNotFoundException {
+        long startedAt = System.nanoTime();
+        String key = accountType + ":" + username;
+        if(cacheEnabled){
+            UserDetails cached = userCache.getIfPresent(key);
+            if(cached != null){
+                cacheHitTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                return cached;
+            }
+        }
+        Timer timer = databaseErrorTimer;
+        try{
+            /*
+                The invalidation count is read by the caller that runs the query, so that the callers
+                sharing its result also share the count the result was read at
+             */
+            LoadedUser loadedUser = userLookups.execute(key, () -> {
+                long generation = invalidations.get();
+                return new LoadedUser(loadFromDatabase(username, accountType), generation);
+            });
+            timer = databaseFoundTimer;
+            if(cacheEnabled){
+                putIfNotInvalidated(key, loadedUser.userDetails, loadedUser.generation);
+            }
+            return loadedUser.userDetails;
+        }catch (UserNotFoundException e){
+            timer = databaseNotFoundTimer;
+            throw e;
+        }finally {
+            timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Returns the user from the cache without loading it. Used by the reactive user lookup, which shares
+     * this cache, and with it the invalidation on change, but loads the users without blocking.
+     *
+     * @param username the username of the user
+     * @param accountType the type of account of the user
+     * @return the cached user details, or null if the user is not cached or the cache is disabled
+     */
+    public UserDetails getCached(String username, String accountType) {
+        if(!cacheEnabled){
+            return null;
+        }
+        return userCache.getIfPresent(accountType + ":" + username);
+    }
+
+    /**
+     * Returns the number of invalidations of the cache so far. The reactive user lookup reads it before
+     * reading the database and passes it back to {@link #cache(String, String, UserDetails, long)}.
+     *
+     * @return the number of invalidations of the cache
+     */
+    public long invalidationGeneration() {
+        return invalidations.get();
+    }
+
+    /**
+     * Puts a user loaded by the reactive user lookup into the cache, unless the cache was invalidated
+     * while the user was read from the database.
+     *
+     * @param username the username of the user
+     * @param accountType the type of account of the user
+     * @param userDetails the user details loaded from the database
+     * @param generation the invalidation generation read before the user was read from the database
+     */
+    public void cache(String username, String accountType, UserDetails userDetails, long generation) {
+        if(cacheEnabled){
+            putIfNotInvalidated(accountType + ":" + username, userDetails, generation);
+        }
+    }
+
+    /**
+     * Removes the user from the cache, so that the user is loaded from the database on the next request.
+     *
+     * @param username the username of the user
+     * @param accountType the type of account of the user
+     */
+    public void evict(String username, String accountType) {
+        invalidations.incrementAndGet();
+        userCache.invalidate(accountType + ":" + username);
+    }
+
+    /**
+     * Returns the number of lookups waiting for the database query of the same user run by another lookup.
+     *
+     * @return the number of waiting lookups
+     */
+    int lookupsWaiting() {
+        return userLookups.waiting();
+    }
+
+    /**
+     * Puts the user into the cache and records its key against its document, and removes it again if the
+     * cache was invalidated since the user was read from the database. The invalidation may have run before
+     * the put and missed the user, so the user could be stale. The check follows the put, so an invalidation
+     * that runs after the check finds the user in the cache and removes it itself.
+     *
+     * @param key the key of the user in the cache
+     * @param userDetails the user details loaded from the database
+     * @param generation the invalidation generation read before the user was read from the database
+     */
+    private void putIfNotInvalidated(String key, UserDetails userDetails, long generation) {
+        userCache.put(key, userDetails);
+        String documentKey = documentKey(userDetails);
+        if(documentKey != null){
+            cacheKeysByDocument.put(documentKey, key);
+        }
+        if(invalidations.get() != generation){
+            userCache.asMap().remove(key, userDetails);
+        }
+    }
+
+    /**
+     * Loads user details based on the given username and account type from the database.
+     *
+     * @param username the username of the user to load details for
+     * @param accountType the type of account, which determines the repository to fetch user details from
+     * @return the user details of the requested user as an instance of UserDetails
+     * @throws UsernameNotFoundException if the user is not found in the database
+     */
+    private UserDetails loadFromDatabase(String username, String accountType) throws UsernameNotFoundException {
         log.info("Loading user details for username: {} and accountType: {}, from MongoDB", username, accountType);
         if(accountType.equals("USER-ACCOUNT")){
             User user = userRepository.findByUsername(username).orElseThrow(() -> {
@@ -71,7 +304,99 @@ public class ArtemisUserDetailsService {
             log.info("Authorities of logged in user:{}", serviceUser.getAuthorities());
             return serviceUser;
         }
+    }
 
+    /**
+     * Builds the timer of the user lookups with the given source and outcome.
+     *
+     * @param meterRegistry the registry where the timer is published
+     * @param source where the user was looked up: cache or database
+     * @param outcome the outcome of the lookup: found, not_found or error
+     * @return the registered timer
+     */
+    private static Timer lookupTimer(MeterRegistry meterRegistry, String source, String outcome) {
+        return Timer.builder(LOOKUP_TIMER)
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Removes the users affected by a change to the user or service user documents from the cache,
+     * so that the change (e.g. a new role or a locked account) takes effect on the next request.
+     * A change to a single document invalidates the key of its user; only the rare events that
+     * may have missed changes go through the whole cache.
+     *
+     * @param event the change to the user or service user documents
+     */
+    private void onUserChange(UserChangeEvent event) {
+        invalidations.incrementAndGet();
+        if(event.isCollectionWide()){
+            boolean serviceUsers = UserChangeEventSource.SERVICE_USERS_COLLECTION.equals(event.getCollection());
+            userCache.asMap().values().removeIf(userDetails ->
+                    serviceUsers ? userDetails instanceof ServiceUser : userDetails instanceof User);
+            return;
+        }
+        String key = cacheKeysByDocument.get(event.getCollection() + ":" + event.getDocumentId());
+        if(key != null){
+            userCache.invalidate(key);
+        }
+    }
+
+    /**
+     * Removes the key of a user that left the cache from the key index. If the same document was cached
+     * again under the key meanwhile, its entry in the index is put back.
+     *
+     * @param key the key of the user in the cache
+     * @param userDetails the user that left the cache
+     * @param cause why the user left the cache
+     */
+    private void onRemoval(String key, UserDetails userDetails, RemovalCause cause) {
+        String documentKey = documentKey(userDetails);
+        if(key == null || documentKey == null || !cacheKeysByDocument.remove(documentKey, key)){
+            return;
+        }
+        UserDetails current = userCache.asMap().get(key);
+        if(current != null && documentKey.equals(documentKey(current))){
+            cacheKeysByDocument.put(documentKey, key);
+        }
+    }
+
+    /**
+     * Builds the key of the document of the user in the key index, from its collection and id.
+     *
+     * @param userDetails the user
+     * @return the key of the document, or null if the user has no document id
+     */
+    private static String documentKey(UserDetails userDetails) {
+        if(userDetails instanceof ServiceUser serviceUser && serviceUser.getServiceUserId() != null){
+            return UserChangeEventSource.SERVICE_USERS_COLLECTION + ":" + serviceUser.getServiceUserId();
+        }
+        if(userDetails instanceof User user && user.getUserId() != null){
+            return UserChangeEventSource.USERS_COLLECTION + ":" + user.getUserId();
+        }
+        return null;
+    }
+
+    /**
+     * A user read from the database, with the invalidation generation read before the query.
+     */
+    private static final class LoadedUser {
 
+        /**
+         * The user details read from the database.
+         */
+        private final UserDetails userDetails;
+
+        /**
+         * The invalidation generation read before the user was read from the database.
+         */
+        private final long generation;
+
+        private LoadedUser(UserDetails userDetails, long generation) {
+            this.userDetails = userDetails;
+            this.generation = generation;
+        }
     }
 }
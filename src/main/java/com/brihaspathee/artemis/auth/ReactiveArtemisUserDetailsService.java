@@ -0,0 +1,96 @@
+package com.brihaspathee.artemis.auth;
+
+import com.brihaspathee.artemis.auth.repository.ReactiveServiceUserRepository;
+import com.brihaspathee.artemis.auth.repository.ReactiveUserRepository;
+import com.brihaspathee.artemis.exception.UserNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 21:50
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth
+ * To change this template use File | Settings | File and Code Template
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveArtemisUserDetailsService {
+
+    /**
+     * Reactive repository used for loading user accounts without blocking the event loop.
+     */
+    private final ReactiveUserRepository userRepository;
+
+    /**
+     * Reactive repository used for loading service accounts without blocking the event loop.
+     */
+    private final ReactiveServiceUserRepository serviceUserRepository;
+
+    /**
+     * The blocking user details service, whose user cache is shared with this service. Sharing the cache
+     * keeps a single copy of each user and a single invalidation path on the change stream.
+     */
+    private final ArtemisUserDetailsService artemisUserDetailsService;
+
+    /**
+     * The database lookups in flight, keyed by account type and username. Concurrent lookups of the
+     * same user that miss the cache subscribe to the same lookup instead of issuing a query each.
+     */
+    private final ConcurrentMap<String, Mono<UserDetails>> lookups = new ConcurrentHashMap<>();
+
+    /**
+     * Loads user details based on the given username and account type. The user details are
+     * returned from the shared user cache if present, otherwise they are loaded from the database
+     * without blocking and cached.
+     *
+     * @param username the username of the user to load details for
+     * @param accountType the type of account, which determines the repository to fetch user details from
+     * @return a Mono emitting the user details, or failing with UserNotFoundException if the user is not found
+     */
+    public Mono<UserDetails> loadUserByUsernameAndAccountType(String username, String accountType) {
+        UserDetails cached = artemisUserDetailsService.getCached(username, accountType);
+        if(cached != null){
+            return Mono.just(cached);
+        }
+        String key = accountType + ":" + username;
+        return lookups.computeIfAbsent(key, k -> Mono.defer(() -> {
+                    long generation = artemisUserDetailsService.invalidationGeneration();
+                    return loadFromDatabase(username, accountType)
+                            .doOnNext(userDetails -> artemisUserDetailsService.cache(username, accountType,
+                                    userDetails, generation));
+                })
+                .doFinally(signal -> lookups.remove(k))
+                .cache());
+    }
+
+    /**
+     * Loads user details based on the given username and account type from the database.
+     *
+     * @param username the username of the user to load details for
+     * @param accountType the type of account, which determines the repository to fetch user details from
+     * @return a Mono emitting the user details, or failing with UserNotFoundException if the user is not found
+     */
+    private Mono<UserDetails> loadFromDatabase(String username, String accountType) {
+        log.info("Loading user details for username: {} and accountType: {}, from MongoDB", username, accountType);
+        Mono<? extends UserDetails> user = accountType.equals("USER-ACCOUNT") ?
+                userRepository.findByUsername(username) :
+                serviceUserRepository.findServiceUserByServiceName(username);
+        return user.cast(UserDetails.class)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.warn("User not found in database: {}", username);
+                    return new UserNotFoundException("User not found in database: " + username);
+                }));
+    }
+}
@@ -0,0 +1,43 @@
+package com.brihaspathee.artemis.auth.document;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 19:10
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.document
+ * To change this template use File | Settings | File and Code Template
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiKey {
+
+    /**
+     * Represents the public identifier of the API key.
+     *
+     * The identifier is the part of the key before the first '.', and is used to look the key
+     * up in the in-memory API key index. It must be unique across all the service users.
+     */
+    private String keyId;
+
+    /**
+     * Represents the Base64-encoded HMAC-SHA256 digest of the secret part of the key.
+     *
+     * The digest is keyed with the server-side API key secret, so the stored value cannot be used
+     * to authenticate, nor can the secret be recovered from it. The secret itself is never stored.
+     */
+    private String digest;
+
+    /**
+     * Represents the instant after which the key can no longer be used, or null if it does not expire.
+     */
+    private Instant expiresAt;
+}
@@ -0,0 +1,40 @@
+package com.brihaspathee.artemis.auth.document;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.List;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 13:10
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.document
+ * To change this template use File | Settings | File and Code Template
+ */
+@Getter
+@Setter
+@Builder
+@Document(collection = "permission-dictionary")
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermissionDictionary {
+
+    /**
+     * Represents the id of the dictionary. There is a single dictionary shared by every instance of the service.
+     */
+    @Id
+    @Field("_id")
+    private String dictionaryId;
+
+    /**
+     * Represents the permissions that can be carried in the compact authorities claim of a token. The position
+     * of a permission in the list is its bit in the claim. Permissions are only ever appended, so the version
+     * of the dictionary is the size of the list, and a dictionary decodes every claim of an earlier version.
+     */
+    private List<String> permissions;
+}
@@ -0,0 +1,82 @@
+package com.brihaspathee.artemis.auth.document;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 16:40
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.document
+ * To change this template use File | Settings | File and Code Template
+ */
+@Getter
+@Setter
+@Builder
+@Document(collection = "refresh-tokens")
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    /**
+     * Represents the SHA-256 hash of the refresh token, Base64url encoded. Only the hash is stored, so that
+     * the stored refresh tokens cannot be used if the collection is read. The refresh token is a random
+     * value long enough that a fast hash is sufficient, so it is looked up by the id index alone.
+     */
+    @Id
+    @Field("_id")
+    private String tokenHash;
+
+    /**
+     * Represents the family of the refresh token. Every refresh token issued by rotating the refresh token
+     * of a login belongs to the family of that login, so that all of them are revoked together when one of
+     * them is used twice.
+     */
+    private String familyId;
+
+    /**
+     * Represents the username of the account the refresh token was issued to.
+     */
+    private String username;
+
+    /**
+     * Represents the type of the account the refresh token was issued to.
+     */
+    private String accountType;
+
+    /**
+     * Represents the security stamp of the account when the family was issued. The refresh token is rejected
+     * once the stamp of the account has changed, in the same way as the access tokens of the account.
+     */
+    private long securityStamp;
+
+    /**
+     * Represents the instant at which the refresh token was issued.
+     */
+    private Instant issuedAt;
+
+    /**
+     * Represents the instant of the login that started the family. It is carried over to every refresh token
+     * rotated from that login, so that the family expires a fixed time after the login, however often it is
+     * rotated.
+     */
+    private Instant familyIssuedAt;
+
+    /**
+     * Represents the instant at which the refresh token expires, which is the same for every refresh token of
+     * the family. It is removed from the collection after this instant.
+     */
+    private Instant expiresAt;
+
+    /**
+     * Represents the instant at which the refresh token was exchanged, or null if it has not been used yet.
+     * A used refresh token is kept until it expires, so that a second use can be detected.
+     */
+    private Instant usedAt;
+}
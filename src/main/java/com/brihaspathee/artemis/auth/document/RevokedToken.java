@@ -0,0 +1,48 @@
+package com.brihaspathee.artemis.auth.document;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 15:10
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.document
+ * To change this template use File | Settings | File and Code Template
+ */
+@Getter
+@Setter
+@Builder
+@Document(collection = "revoked-tokens")
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    /**
+     * Represents the id of the revocation. It is "token:" followed by the "jti" claim when a single token is
+     * revoked, and "subject:" followed by the account type and username when every token of an account
+     * issued so far is revoked, so that revoking the same token or account again replaces the revocation.
+     */
+    @Id
+    @Field("_id")
+    private String revocationId;
+
+    /**
+     * Represents the instant of the revocation. Tokens of a revoked subject issued at or before this instant
+     * are rejected. It is also the position of the revocation in the incremental reload of the list.
+     */
+    private Instant revokedAt;
+
+    /**
+     * Represents the instant after which the revocation is no longer needed, because every token it applies
+     * to has expired. It is the expiry of the revoked token, or the revocation of the subject plus the token
+     * lifetime. The revocation is removed from the list after this instant.
+     */
+    private Instant expiresAt;
+}
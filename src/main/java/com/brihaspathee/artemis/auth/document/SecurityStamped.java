@@ -0,0 +1,21 @@
+package com.brihaspathee.artemis.auth.document;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 11:20
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.document
+ * To change this template use File | Settings | File and Code Template
+ */
+public interface SecurityStamped {
+
+    /**
+     * Returns the security stamp of the account. The stamp is embedded in every token issued to
+     * the account, and changing it invalidates all the tokens that were issued with the previous value.
+     *
+     * @return the current security stamp of the account
+     */
+    long getSecurityStamp();
+}
@@ -3,6 +3,7 @@ package com.brihaspathee.artemis.auth.document;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 import org.springframework.security.core.GrantedAuthority;
@@ -13,6 +14,8 @@ import javax.security.auth.Subject;
 import java.security.Principal;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
@@ -30,7 +33,7 @@ import java.util.stream.Collectors;
 @Document(collection = "service-users")
 @NoArgsConstructor
 @AllArgsConstructor
-public class ServiceUser implements UserDetails, Principal {
+public class ServiceUser implements UserDetails, Principal, SecurityStamped {
 
     /**
      * Represents the unique identifier for a service user in the system.
@@ -131,6 +134,45 @@ public class ServiceUser implements UserDetails, Principal {
     @Size(min = 1, message = "At least one authority is required")
     private List<Authority> authorities;
 
+    /**
+     * Represents the API keys with which the service user can authenticate instead of its password.
+     *
+     * Each key is looked up by its identifier and verified with a constant-time comparison of
+     * its HMAC digest, which avoids the cost of a bcrypt verification on every login.
+     */
+    private List<ApiKey> apiKeys;
+
+    /**
+     * Represents the security stamp of the account.
+     *
+     * The stamp is embedded in every token issued to the account. Incrementing it
+     * invalidates all the tokens that were issued before the change, for example
+     * when the account is locked or its credentials are changed.
+     */
+    private long securityStamp;
+
+    /**
+     * Holds the immutable, deduplicated set of granted authorities of the service user.
+     *
+     * The set is computed the first time the granted authorities are requested after the
+     * document is loaded and is shared by every later call. It is not persisted, and it is
+     * cleared when the authorities of the service user are replaced.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<Set<GrantedAuthority>> grantedAuthorities = new AtomicReference<>();
+
+    /**
+     * Replaces the authorities assigned to the service user and clears the precomputed
+     * granted authorities, so that they are computed again from the new authorities.
+     *
+     * @param authorities the authorities to be assigned to the service user
+     */
+    public void setAuthorities(List<Authority> authorities) {
+        this.authorities = authorities;
+        this.grantedAuthorities.set(null);
+    }
+
     /**
      * Retrieves the name of the service user.
      *
@@ -155,16 +197,22 @@ public class ServiceUser implements UserDetails, Principal {
     /**
      * Retrieves the collection of granted authorities for the current service user.
      * Each authority is mapped to a {@link SimpleGrantedAuthority} instance based on the permissions
-     * associated with the authorities assigned to the user.
+     * associated with the authorities assigned to the user. The granted authorities are computed
+     * once and the same immutable set is returned on every call.
      *
-     * @return a collection of {@link GrantedAuthority} objects representing the permissions
+     * @return an immutable set of {@link GrantedAuthority} objects representing the permissions
      *         of the service user.
      */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return authorities.stream()
-                .map(authority -> new SimpleGrantedAuthority(authority.getPermission()))
-                .collect(Collectors.toSet());
+        Set<GrantedAuthority> granted = grantedAuthorities.get();
+        if(granted == null){
+            granted = authorities.stream()
+                    .<GrantedAuthority>map(authority -> new SimpleGrantedAuthority(authority.getPermission()))
+                    .collect(Collectors.toUnmodifiableSet());
+            grantedAuthorities.compareAndSet(null, granted);
+        }
+        return granted;
     }
 
     /**
@@ -0,0 +1,66 @@
+package com.brihaspathee.artemis.auth.document;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 09:10
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.document
+ * To change this template use File | Settings | File and Code Template
+ */
+@Getter
+@Setter
+@Builder
+@Document(collection = "signing-keys")
+@NoArgsConstructor
+@AllArgsConstructor
+public class SigningKey {
+
+    /**
+     * Represents the key id, sent in the "kid" header of the tokens signed with the key.
+     *
+     * The id is derived from the instant the key starts signing, so that instances of the service
+     * publishing the same rotation at the same time collide on the id and only one key is stored.
+     */
+    @Id
+    @Field("_id")
+    private String kid;
+
+    /**
+     * Represents the JWS algorithm of the key, HS256 or ES256.
+     */
+    private String algorithm;
+
+    /**
+     * Represents the key material, encrypted with a key derived from the configured JWT secret,
+     * so that the stored value alone cannot be used to sign tokens. It is the secret key of an HS256 key,
+     * and the PKCS#8-encoded private key of an ES256 key pair.
+     */
+    private String keyMaterial;
+
+    /**
+     * Represents the Base64-encoded X.509 public key of an ES256 key pair, published in the JWKS.
+     * It is null for HS256 keys.
+     */
+    private String publicKey;
+
+    /**
+     * Represents the instant from which the key signs new tokens. Tokens signed with the key are
+     * accepted as soon as the key is published, which is ahead of this instant.
+     */
+    private Instant signingFrom;
+
+    /**
+     * Represents the instant after which tokens signed with the key are no longer accepted.
+     * It leaves the tokens signed last with the key time to expire before the key is retired.
+     */
+    private Instant retireAt;
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
@@ -18,6 +19,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
@@ -35,7 +37,7 @@ import java.util.stream.Collectors;
 @Document(collection = "users")
 @NoArgsConstructor
 @AllArgsConstructor
-public class User implements UserDetails, Principal {
+public class User implements UserDetails, Principal, SecurityStamped {
 
     /**
      * Represents the unique identifier for a user in the system.
@@ -125,6 +127,38 @@ public class User implements UserDetails, Principal {
     @Size(min = 1, message = "At least one role is required")
     private List<Role> roles;
 
+    /**
+     * Represents the security stamp of the account.
+     *
+     * The stamp is embedded in every token issued to the account. Incrementing it
+     * invalidates all the tokens that were issued before the change, for example
+     * when the account is locked or its credentials are changed.
+     */
+    private long securityStamp;
+
+    /**
+     * Holds the immutable, deduplicated set of authorities granted to the user through the roles.
+     *
+     * The set is computed the first time the authorities are requested after the document is
+     * loaded and is shared by every later call, so that the filter, the authorization checks
+     * and the logging do not rebuild it on every call. It is not persisted, and it is
+     * cleared when the roles of the user are replaced.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<Set<GrantedAuthority>> grantedAuthorities = new AtomicReference<>();
+
+    /**
+     * Replaces the roles assigned to the user and clears the precomputed authorities,
+     * so that they are computed again from the new roles.
+     *
+     * @param roles the roles to be assigned to the user
+     */
+    public void setRoles(List<Role> roles) {
+        this.roles = roles;
+        this.grantedAuthorities.set(null);
+    }
+
     /**
      * Retrieves the name of the user.
      *
@@ -151,16 +185,22 @@ public class User implements UserDetails, Principal {
      * Returns the collection of authorities granted to the user.
      * This includes all permissions associated with the roles assigned to the user,
      * after mapping each role's authorities to a specific granted authority representation.
+     * The authorities are computed once and the same immutable set is returned on every call.
      *
-     * @return a collection of {@link GrantedAuthority} objects representing the authorities granted to the user
+     * @return an immutable set of {@link GrantedAuthority} objects representing the authorities granted to the user
      */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return this.roles.stream()
-                .map(Role::getAuthorities)
-                .flatMap(List::stream)
-                .map(authority -> new SimpleGrantedAuthority(authority.getPermission()))
-                .collect(Collectors.toSet());
+        Set<GrantedAuthority> authorities = grantedAuthorities.get();
+        if(authorities == null){
+            authorities = this.roles.stream()
+                    .map(Role::getAuthorities)
+                    .flatMap(List::stream)
+                    .<GrantedAuthority>map(authority -> new SimpleGrantedAuthority(authority.getPermission()))
+                    .collect(Collectors.toUnmodifiableSet());
+            grantedAuthorities.compareAndSet(null, authorities);
+        }
+        return authorities;
     }
 
     /**
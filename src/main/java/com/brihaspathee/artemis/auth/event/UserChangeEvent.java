@@ -0,0 +1,46 @@
+package com.brihaspathee.artemis.auth.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 12:30
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.event
+ * To change this template use File | Settings | File and Code Template
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class UserChangeEvent {
+
+    /**
+     * The name of the collection in which the change occurred, either "users" or "service-users".
+     */
+    private final String collection;
+
+    /**
+     * The identifier ("_id") of the document that was changed. A null value means that changes
+     * to the collection may have been missed, and every document of the collection must be
+     * considered changed.
+     */
+    private final String documentId;
+
+    /**
+     * The type of change, e.g. insert, update, replace, delete or invalidate.
+     */
+    private final String operationType;
+
+    /**
+     * Checks if this event requires every document of the collection to be considered changed.
+     *
+     * @return true if the event is not about a single document
+     */
+    public boolean isCollectionWide() {
+        return documentId == null;
+    }
+}
@@ -0,0 +1,241 @@
+package com.brihaspathee.artemis.auth.event.impl;
+
+import com.brihaspathee.artemis.auth.event.UserChangeEvent;
+import com.brihaspathee.artemis.auth.event.interfaces.UserChangeEventSource;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 12:40
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.event.impl
+ * To change this template use File | Settings | File and Code Template
+ */
+@Slf4j
+@Component
+public class MongoUserChangeEventSource implements UserChangeEventSource, SmartLifecycle {
+
+    /**
+     * Error code returned by MongoDB when the change stream cannot be resumed because the
+     * resume token is no longer in the oplog.
+     */
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    /**
+     * Used to open the change stream on the database holding the user collections.
+     */
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Indicates whether the change stream should be opened. Change streams require MongoDB
+     * to run as a replica set; when disabled the caches rely on their time to live alone.
+     */
+    private final boolean enabled;
+
+    /**
+     * The time to wait before the change stream is opened again after a failure.
+     */
+    private final Duration retryDelay;
+
+    /**
+     * The listeners that are notified of the changes.
+     */
+    private final List<Consumer<UserChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The thread that reads the change stream. The change stream cursor blocks while waiting
+     * for changes, so it is read on a dedicated daemon thread.
+     */
+    private Thread watcherThread;
+
+    /**
+     * The cursor of the change stream that is currently open, closed when the source is stopped.
+     */
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+
+    /**
+     * Indicates whether the source is running.
+     */
+    private volatile boolean running;
+
+    /**
+     * Constructs an instance of MongoUserChangeEventSource.
+     *
+     * @param mongoTemplate the template used to open the change stream
+     * @param enabled whether the change stream should be opened
+     * @param retryDelay the time to wait before the change stream is opened again after a failure
+     */
+    public MongoUserChangeEventSource(MongoTemplate mongoTemplate,
+                                      @Value("${application.security.user-cache.change-stream.enabled:true}") boolean enabled,
+                                      @Value("${application.security.user-cache.change-stream.retry-delay:10s}") Duration retryDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * Registers a listener that is notified of every change to the user and service user documents.
+     *
+     * @param listener the listener to be notified of the changes
+     */
+    @Override
+    public void subscribe(Consumer<UserChangeEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Starts reading the change stream on a daemon thread, if the change stream is enabled.
+     */
+    @Override
+    public void start() {
+        if(!enabled){
+            log.info("Change stream on the user collections is disabled");
+            return;
+        }
+        running = true;
+        watcherThread = Thread.ofPlatform()
+                .name("user-change-stream")
+                .daemon(true)
+                .start(this::watch);
+    }
+
+    /**
+     * Stops reading the change stream and closes the cursor.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> openCursor = cursor;
+        if(openCursor != null){
+            openCursor.close();
+        }
+        if(watcherThread != null){
+            watcherThread.interrupt();
+        }
+    }
+
+    /**
+     * Indicates whether the source is running.
+     *
+     * @return true if the change stream is being read
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Reads the change stream until the source is stopped. If the change stream fails, it is opened
+     * again after the retry delay, resuming after the last change that was received. If the change
+     * stream cannot be resumed, the listeners are told that changes may have been missed.
+     */
+    private void watch() {
+        BsonDocument resumeToken = null;
+        boolean connectedBefore = false;
+        boolean missedChanges = false;
+        while (running) {
+            try {
+                ChangeStreamIterable<Document> changeStream = mongoTemplate.getDb().watch(List.of(
+                        Aggregates.match(Filters.in("ns.coll", USERS_COLLECTION, SERVICE_USERS_COLLECTION))));
+                if(resumeToken != null){
+                    changeStream = changeStream.resumeAfter(resumeToken);
+                }
+                try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> changeStreamCursor = changeStream.cursor()) {
+                    cursor = changeStreamCursor;
+                    log.info("Watching the user collections for changes");
+                    connectedBefore = true;
+                    if(missedChanges){
+                        publishCollectionWide("resume");
+                        missedChanges = false;
+                    }
+                    while (running) {
+                        ChangeStreamDocument<Document> change = changeStreamCursor.next();
+                        resumeToken = change.getResumeToken();
+                        publish(change);
+                    }
+                }
+            } catch (RuntimeException e) {
+                if(!running){
+                    return;
+                }
+                if(e instanceof MongoCommandException commandException
+                        && commandException.getErrorCode() == CHANGE_STREAM_HISTORY_LOST){
+                    resumeToken = null;
+                }
+                missedChanges = connectedBefore && resumeToken == null;
+                log.warn("Change stream on the user collections failed, retrying in {}: {}", retryDelay, e.getMessage());
+                try {
+                    Thread.sleep(retryDelay);
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts the change into a {@link UserChangeEvent} and notifies the listeners.
+     *
+     * @param change the change received from the change stream
+     */
+    private void publish(ChangeStreamDocument<Document> change) {
+        String operationType = change.getOperationTypeString();
+        if(change.getNamespace() == null || change.getDocumentKey() == null){
+            // e.g. a drop, rename or invalidate, every document may have changed
+            publishCollectionWide(operationType);
+            return;
+        }
+        BsonValue id = change.getDocumentKey().get("_id");
+        String documentId = id.isObjectId() ? id.asObjectId().getValue().toHexString() :
+                id.isString() ? id.asString().getValue() : id.toString();
+        publish(new UserChangeEvent(change.getNamespace().getCollectionName(), documentId, operationType));
+    }
+
+    /**
+     * Notifies the listeners that every document of both user collections may have changed.
+     *
+     * @param operationType the type of change that caused the notification
+     */
+    private void publishCollectionWide(String operationType) {
+        publish(new UserChangeEvent(USERS_COLLECTION, null, operationType));
+        publish(new UserChangeEvent(SERVICE_USERS_COLLECTION, null, operationType));
+    }
+
+    /**
+     * Notifies the listeners of the event. A failing listener does not prevent the other
+     * listeners from being notified.
+     *
+     * @param event the event to be published
+     */
+    private void publish(UserChangeEvent event) {
+        log.debug("User change event: {}", event);
+        for (Consumer<UserChangeEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.error("User change listener failed for event {}", event, e);
+            }
+        }
+    }
+}
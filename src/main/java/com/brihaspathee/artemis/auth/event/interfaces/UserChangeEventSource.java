@@ -0,0 +1,34 @@
+package com.brihaspathee.artemis.auth.event.interfaces;
+
+import com.brihaspathee.artemis.auth.event.UserChangeEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 12:34
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.event.interfaces
+ * To change this template use File | Settings | File and Code Template
+ */
+public interface UserChangeEventSource {
+
+    /**
+     * Collection in which the user accounts are stored.
+     */
+    String USERS_COLLECTION = "users";
+
+    /**
+     * Collection in which the service accounts are stored.
+     */
+    String SERVICE_USERS_COLLECTION = "service-users";
+
+    /**
+     * Registers a listener that is notified of every change to the user and service user documents.
+     *
+     * @param listener the listener to be notified of the changes
+     */
+    void subscribe(Consumer<UserChangeEvent> listener);
+}
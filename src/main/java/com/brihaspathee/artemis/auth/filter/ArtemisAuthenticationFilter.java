@@ -1,15 +1,23 @@
 package com.brihaspathee.artemis.auth.filter;
 
 import com.brihaspathee.artemis.auth.ArtemisAuthenticationToken;
+import com.brihaspathee.artemis.auth.ArtemisTokenPrincipal;
 import com.brihaspathee.artemis.auth.ArtemisUserDetailsService;
 import com.brihaspathee.artemis.auth.document.User;
+import com.brihaspathee.artemis.auth.service.JwtClaims;
 import com.brihaspathee.artemis.auth.service.JwtService;
+import com.brihaspathee.artemis.auth.service.SecurityStampService;
+import com.brihaspathee.artemis.auth.service.TokenRevocationList;
+import com.brihaspathee.artemis.auth.service.VerifiedTokenCache;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -35,6 +43,7 @@ import java.util.List;
  */
 @Slf4j
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ArtemisAuthenticationFilter extends OncePerRequestFilter {
 
     /**
@@ -56,15 +65,53 @@ public class ArtemisAuthenticationFilter extends OncePerRequestFilter {
      */
     private final JwtService jwtService;
 
+    /**
+     * A bounded cache of verified tokens placed in front of the JwtService. Tokens that are presented
+     * repeatedly are returned from the cache without checking their signature or parsing them again.
+     */
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * Checks the security stamp carried in a token against the in-memory version table.
+     * Used in the stateless trust mode instead of loading the user from the database.
+     */
+    private final SecurityStampService securityStampService;
+
+    /**
+     * The list of revoked tokens, checked for every verified token, including the tokens
+     * answered by the verified token cache.
+     */
+    private final TokenRevocationList tokenRevocationList;
+
+    /**
+     * Indicates whether the stateless trust mode is enabled. In this mode the principal is built
+     * from the verified claims of the token instead of being loaded from the database on every request.
+     * Tokens that do not carry a security stamp are always validated against the database.
+     */
+    private final boolean statelessTrust;
+
     /**
      * Constructs an instance of ArtemisAuthenticationFilter.
      *
      * @param artemisUserDetailsService the service used for loading user-specific data
      * @param jwtService the service used for handling JWT operations
+     * @param verifiedTokenCache the cache used for looking up the claims of already verified tokens
+     * @param securityStampService the service used for checking the security stamp of a token
+     * @param tokenRevocationList the list of revoked tokens
+     * @param statelessTrust whether the principal should be built from the verified claims alone
      */
-    public ArtemisAuthenticationFilter(ArtemisUserDetailsService artemisUserDetailsService, JwtService jwtService) {
+    public ArtemisAuthenticationFilter(ArtemisUserDetailsService artemisUserDetailsService,
+                                       JwtService jwtService,
+                                       VerifiedTokenCache verifiedTokenCache,
+                                       SecurityStampService securityStampService,
+                                       TokenRevocationList tokenRevocationList,
+                                       @Value("${application.security.jwt.stateless.enabled:false}") boolean statelessTrust) {
         this.artemisUserDetailsService = artemisUserDetailsService;
         this.jwtService = jwtService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.securityStampService = securityStampService;
+        this.tokenRevocationList = tokenRevocationList;
+        this.statelessTrust = statelessTrust;
     }
 
     /**
@@ -94,16 +141,41 @@ public class ArtemisAuthenticationFilter extends OncePerRequestFilter {
          */
         final String authorizationHeader = request.getHeader("Authorization");
         String jwt = null;
+        JwtClaims claims = null;
         String username = null;
         String accountType = null;
         /*
-            If the authorization header is present get the Jwt token
+            If the authorization header is present get the Jwt token.
+            The token is parsed and its signature verified only once here
+            (or not at all if it is already in the verified token cache),
+            the verified claims are reused for the username, account type,
+            expiry and authorities below
          */
         log.debug("Authorization header: {}", authorizationHeader);
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
-            username = jwtService.extractUsername(jwt);
-            accountType = jwtService.extractAccountType(jwt);
+            try{
+                claims = verifiedTokenCache.verify(jwt);
+            }catch (JwtException | IllegalArgumentException e){
+                /*
+                    An expired, malformed or otherwise invalid token is treated as if there were no
+                    token, so that the public endpoints, such as the refresh endpoint that is called
+                    once the token has expired, can still be reached with it
+                 */
+                log.warn("Invalid JWT token in request: {}", e.getMessage());
+            }
+        }
+        if (claims != null) {
+            accountType = claims.getAccountType();
+            /*
+                A revoked token is treated as if there were no token, so the request is
+                passed on unauthenticated
+             */
+            if(tokenRevocationList.isRevoked(claims)){
+                log.warn("Revoked JWT token in request for user {}", claims.getUsername());
+            }else {
+                username = claims.getUsername();
+            }
             log.debug("Username extracted from JWT: {}", username);
         }
         /*
@@ -113,12 +185,25 @@ public class ArtemisAuthenticationFilter extends OncePerRequestFilter {
             to be created and set on the security context
          */
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = artemisUserDetailsService.loadUserByUsernameAndAccountType(username, accountType);
-            /*
-                once the user is retrieved from the database, check if the jwt token in the
-                request is valid
-             */
-            if(jwtService.validateToken(jwt, userDetails)){
+            UserDetails userDetails;
+            boolean validToken;
+            if(statelessTrust && claims.getSecurityStamp() != null){
+                /*
+                    In the stateless trust mode the user is not retrieved from the database,
+                    the principal is built from the verified claims and the security stamp
+                    in the token is checked against the in-memory version table
+                 */
+                userDetails = new ArtemisTokenPrincipal(claims);
+                validToken = !claims.isExpired() && securityStampService.isCurrent(claims);
+            }else {
+                userDetails = artemisUserDetailsService.loadUserByUsernameAndAccountType(username, accountType);
+                /*
+                    once the user is retrieved from the database, check if the jwt token in the
+                    request is valid
+                 */
+                validToken = jwtService.validateToken(claims, userDetails);
+            }
+            if(validToken){
                     /*
                         If the request is valid then perform the below steps that would have
                         been done by Spring
@@ -127,7 +212,7 @@ public class ArtemisAuthenticationFilter extends OncePerRequestFilter {
                         3. Set the incoming request into the authentication token
                         4. Set the authentication token in the Security context
                      */
-                List<SimpleGrantedAuthority> authorities = jwtService.extractAuthorities(jwt);
+                List<SimpleGrantedAuthority> authorities = claims.getAuthorities();
                 log.info("Authorities extracted from JWT: {}", authorities);
                 ArtemisAuthenticationToken authToken =
                         new ArtemisAuthenticationToken(userDetails,
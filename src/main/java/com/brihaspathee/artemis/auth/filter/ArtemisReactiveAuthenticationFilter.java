@@ -0,0 +1,149 @@
+package com.brihaspathee.artemis.auth.filter;
+
+import com.brihaspathee.artemis.auth.ArtemisAuthenticationToken;
+import com.brihaspathee.artemis.auth.ArtemisTokenPrincipal;
+import com.brihaspathee.artemis.auth.ReactiveArtemisUserDetailsService;
+import com.brihaspathee.artemis.auth.service.JwtClaims;
+import com.brihaspathee.artemis.auth.service.JwtService;
+import com.brihaspathee.artemis.auth.service.SecurityStampService;
+import com.brihaspathee.artemis.auth.service.TokenRevocationList;
+import com.brihaspathee.artemis.auth.service.VerifiedTokenCache;
+import com.brihaspathee.artemis.exception.UserNotFoundException;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 22:10
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.filter
+ * To change this template use File | Settings | File and Code Template
+ *
+ * The reactive counterpart of {@link ArtemisAuthenticationFilter}. The token is verified on the event loop,
+ * which is CPU-bound and usually answered by the verified token cache, and the user is loaded without
+ * blocking. The filter is added to the reactive security chain by ArtemisReactiveSecurityConfig and is
+ * deliberately not a bean, so that WebFlux does not also run it outside the security chain.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ArtemisReactiveAuthenticationFilter implements WebFilter {
+
+    /**
+     * Loads the user of the token without blocking, from the shared user cache or the database.
+     */
+    private final ReactiveArtemisUserDetailsService userDetailsService;
+
+    /**
+     * The service used to validate the verified claims of the token against the loaded user.
+     */
+    private final JwtService jwtService;
+
+    /**
+     * A bounded cache of verified tokens placed in front of the JwtService.
+     */
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * Checks the security stamp carried in a token against the in-memory version table.
+     * Used in the stateless trust mode instead of loading the user.
+     */
+    private final SecurityStampService securityStampService;
+
+    /**
+     * The list of revoked tokens, checked for every verified token.
+     */
+    private final TokenRevocationList tokenRevocationList;
+
+    /**
+     * Indicates whether the stateless trust mode is enabled, in which the principal is built
+     * from the verified claims of the token instead of being loaded.
+     */
+    private final boolean statelessTrust;
+
+    /**
+     * Authenticates the request with the JWT in the "Authorization" header, if there is one, and passes
+     * the request on with the authentication in the reactive security context. A request without a valid
+     * token is passed on unauthenticated, and is rejected by the security chain if the path is secured.
+     *
+     * @param exchange the exchange of the current request
+     * @param chain the rest of the filter chain
+     * @return a Mono completing when the request is handled
+     */
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        final String authorizationHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+        JwtClaims claims;
+        try{
+            claims = verifiedTokenCache.verify(authorizationHeader.substring(7));
+        }catch (JwtException | IllegalArgumentException e){
+            log.warn("Invalid JWT token in request: {}", e.getMessage());
+            return chain.filter(exchange);
+        }
+        if(tokenRevocationList.isRevoked(claims)){
+            log.warn("Revoked JWT token in request for user {}", claims.getUsername());
+            return chain.filter(exchange);
+        }
+        return authenticate(claims)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> authentication
+                        .map(token -> chain.filter(exchange)
+                                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(token)))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+
+    /**
+     * Builds the authentication of the token, in the same way ArtemisAuthenticationFilter does.
+     *
+     * @param claims the verified claims of the token
+     * @return a Mono emitting the authentication, or completing empty if the token is not valid for its user
+     */
+    private Mono<Authentication> authenticate(JwtClaims claims) {
+        String username = claims.getUsername();
+        String accountType = claims.getAccountType();
+        if(username == null){
+            return Mono.empty();
+        }
+        Mono<UserDetails> validUser;
+        if(statelessTrust && claims.getSecurityStamp() != null){
+            UserDetails principal = new ArtemisTokenPrincipal(claims);
+            Boolean current = claims.isExpired() ? Boolean.FALSE : securityStampService.isCurrentIfKnown(claims);
+            // An account missing from the version table is loaded without blocking the event loop
+            Mono<Boolean> isCurrent = current != null ? Mono.just(current) :
+                    userDetailsService.loadUserByUsernameAndAccountType(username, accountType)
+                            .map(userDetails -> securityStampService.isCurrent(claims, userDetails));
+            validUser = isCurrent.filter(Boolean::booleanValue).map(stampIsCurrent -> principal);
+        }else {
+            validUser = userDetailsService.loadUserByUsernameAndAccountType(username, accountType)
+                    .filter(userDetails -> jwtService.validateToken(claims, userDetails));
+        }
+        return validUser
+                .<Authentication>map(userDetails -> new ArtemisAuthenticationToken(userDetails,
+                        userDetails.getPassword(),
+                        accountType,
+                        claims.getAuthorities()))
+                .switchIfEmpty(Mono.fromRunnable(() -> log.warn("Invalid JWT token in request for user {}", username)))
+                .onErrorResume(UserNotFoundException.class, e -> {
+                    log.warn("User of the JWT token in request not found: {}", username);
+                    return Mono.empty();
+                });
+    }
+}
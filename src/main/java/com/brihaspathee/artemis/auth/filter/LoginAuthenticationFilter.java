@@ -1,14 +1,19 @@
 package com.brihaspathee.artemis.auth.filter;
 
+import com.brihaspathee.artemis.auth.ApiKeyAuthenticationToken;
 import com.brihaspathee.artemis.auth.ArtemisAuthenticationToken;
 import com.brihaspathee.artemis.auth.document.ServiceUser;
 import com.brihaspathee.artemis.auth.document.User;
 import com.brihaspathee.artemis.auth.service.JwtService;
+import com.brihaspathee.artemis.auth.service.RefreshTokenService;
+import com.brihaspathee.artemis.auth.service.ServiceTokenVendingCache;
 import com.brihaspathee.artemis.dto.auth.AuthenticationRequest;
 import com.brihaspathee.artemis.dto.auth.AuthenticationResponse;
+import com.brihaspathee.artemis.exception.PasswordVerificationRejectedException;
 import com.brihaspathee.artemis.web.response.ArtemisAPIResponse;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,6 +24,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import java.io.IOException;
@@ -42,7 +48,30 @@ public class LoginAuthenticationFilter extends UsernamePasswordAuthenticationFil
      * This service facilitates secure authentication by allowing token-based
      * authorization workflows.
      */
-    private final JwtService jwtService = new JwtService();
+    private final JwtService jwtService;
+
+    /**
+     * Returns the still-valid token of a service account that logs in again, instead of
+     * minting and signing a new token on every login.
+     */
+    private final ServiceTokenVendingCache serviceTokenVendingCache;
+
+    /**
+     * Issues the refresh token returned with the access token, which the client exchanges for a new
+     * access token instead of logging in again with its password.
+     */
+    private final RefreshTokenService refreshTokenService;
+
+    /**
+     * Reads the credentials from the body of the login request. The reader is created once from the
+     * application's object mapper, so the deserializer of the request is resolved only once.
+     */
+    private final ObjectReader authenticationRequestReader;
+
+    /**
+     * Writes the body of the login response, created once from the application's object mapper.
+     */
+    private final ObjectWriter apiResponseWriter;
 
     /**
      * Constructs an instance of LoginAuthenticationFilter.
@@ -51,9 +80,22 @@ public class LoginAuthenticationFilter extends UsernamePasswordAuthenticationFil
      *
      * @param authenticationManager the authentication manager used to process
      *                               authentication requests and manage security context
+     * @param jwtService the service used for generating the access token of the authenticated user
+     * @param serviceTokenVendingCache the cache used for vending the access token of an authenticated service user
+     * @param refreshTokenService the service used for issuing the refresh token of the authenticated principal
+     * @param objectMapper the application's object mapper used to read the request and write the response
      */
-    public LoginAuthenticationFilter(AuthenticationManager authenticationManager) {
+    public LoginAuthenticationFilter(AuthenticationManager authenticationManager,
+                                     JwtService jwtService,
+                                     ServiceTokenVendingCache serviceTokenVendingCache,
+                                     RefreshTokenService refreshTokenService,
+                                     ObjectMapper objectMapper) {
         setAuthenticationManager(authenticationManager);
+        this.jwtService = jwtService;
+        this.serviceTokenVendingCache = serviceTokenVendingCache;
+        this.refreshTokenService = refreshTokenService;
+        this.authenticationRequestReader = objectMapper.readerFor(AuthenticationRequest.class);
+        this.apiResponseWriter = objectMapper.writerFor(ArtemisAPIResponse.class);
     }
 
     /**
@@ -61,6 +103,9 @@ public class LoginAuthenticationFilter extends UsernamePasswordAuthenticationFil
      * from the incoming HTTP request, creating an authentication token, and delegating the
      * authentication process to the provided authentication manager.
      *
+     * A service may authenticate with an API key instead, by sending it in the header
+     * {@code Authorization: ApiKey <keyId>.<secret>}; the request body is not read in that case.
+     *
      * @param request the incoming HTTP request containing authentication details, such as
      *                username, password, and optionally, account type in the headers
      * @param response the HTTP response for the current request, used to send error or
@@ -74,10 +119,17 @@ public class LoginAuthenticationFilter extends UsernamePasswordAuthenticationFil
     public Authentication attemptAuthentication(HttpServletRequest request,
                                                 HttpServletResponse response)
             throws AuthenticationException {
+        String authorizationHeader = request.getHeader("Authorization");
+        if(authorizationHeader != null && authorizationHeader.startsWith("ApiKey ")){
+            ApiKeyAuthenticationToken apiKeyToken = ApiKeyAuthenticationToken.parse(authorizationHeader.substring(7).trim());
+            log.info("Attempting API key authentication with key {}", apiKeyToken.getKeyId());
+            apiKeyToken.setDetails(authenticationDetailsSource.buildDetails(request));
+            return getAuthenticationManager().authenticate(apiKeyToken);
+        }
         try{
 
             // Read request body
-            AuthenticationRequest authenticationRequest = new ObjectMapper().readValue(request.getInputStream(), AuthenticationRequest.class);
+            AuthenticationRequest authenticationRequest = authenticationRequestReader.readValue(request.getInputStream());
             String username = authenticationRequest.getUsername();
             log.info("Attempting authentication for user {}", username);
             String password = authenticationRequest.getPassword();
@@ -94,7 +146,8 @@ public class LoginAuthenticationFilter extends UsernamePasswordAuthenticationFil
     /**
      * Handles successful authentication events by generating an access token for the authenticated
      * user. It checks the type of the authenticated principal and generates a JSON Web Token (JWT)
-     * accordingly, setting it in the response for further use.
+     * accordingly, setting it in the response for further use. When refresh tokens are enabled, a refresh
+     * token is returned in the "Refresh-Token" header.
      *
      * @param request the HTTP servlet request containing the authentication details and additional context
      * @param response the HTTP servlet response where the generated access token may be included
@@ -111,10 +164,12 @@ public class LoginAuthenticationFilter extends UsernamePasswordAuthenticationFil
         if(principal instanceof User user){
             final String accessToken = jwtService.generateToken(user, "USER-ACCOUNT");
             response.setHeader("Authorization", "Bearer " + accessToken);
+            setRefreshToken(user, "USER-ACCOUNT", response);
             returnAuthenticationResponse(accessToken, response);
         }else if (principal instanceof ServiceUser serviceUser){
-             final String accessToken = jwtService.generateToken(serviceUser, "SERVICE-ACCOUNT");
+             final String accessToken = serviceTokenVendingCache.tokenFor(serviceUser);
              response.setHeader("Authorization", "Bearer " + accessToken);
+             setRefreshToken(serviceUser, "SERVICE-ACCOUNT", response);
              returnAuthenticationResponse(accessToken, response);
         }
         super.successfulAuthentication(request, response, chain, authResult);
@@ -139,6 +194,24 @@ public class LoginAuthenticationFilter extends UsernamePasswordAuthenticationFil
     protected void unsuccessfulAuthentication(HttpServletRequest request,
                                               HttpServletResponse response,
                                               AuthenticationException failed) throws IOException, ServletException {
+        if(failed instanceof PasswordVerificationRejectedException){
+            /*
+                The password could not be verified because the password verification executor is saturated.
+                Tell the client to back off and retry instead of reporting the credentials as invalid.
+             */
+            ArtemisAPIResponse<Object> apiResponse = ArtemisAPIResponse.builder()
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .reason("Authentication Unavailable")
+                    .message("Too many concurrent logins, please retry later")
+                    .developerMessage(failed.getMessage())
+                    .timestamp(LocalDateTime.now())
+                    .build();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            response.setContentType("application/json");
+            apiResponseWriter.writeValue(response.getOutputStream(), apiResponse);
+            return;
+        }
         // Build structured error response
         ArtemisAPIResponse<Object> apiResponse = ArtemisAPIResponse.builder()
                 .status(HttpStatus.UNAUTHORIZED)
@@ -151,10 +224,23 @@ public class LoginAuthenticationFilter extends UsernamePasswordAuthenticationFil
         // Set response headers and write the JSON
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
         response.setContentType("application/json");
+        apiResponseWriter.writeValue(response.getOutputStream(), apiResponse);
+    }
 
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.findAndRegisterModules(); // for LocalDateTime
-        mapper.writeValue(response.getOutputStream(), apiResponse);
+    /**
+     * Issues a refresh token for the authenticated principal and sets it in the "Refresh-Token" header
+     * of the response. The header is not set if refresh tokens are disabled or the refresh token could
+     * not be issued.
+     *
+     * @param user the authenticated principal
+     * @param accountType the account type of the principal
+     * @param response the HTTP servlet response where the refresh token is set
+     */
+    private void setRefreshToken(UserDetails user, String accountType, HttpServletResponse response) {
+        String refreshToken = refreshTokenService.issue(user, accountType);
+        if(refreshToken != null){
+            response.setHeader(RefreshTokenService.REFRESH_TOKEN_HEADER, refreshToken);
+        }
     }
 
     /**
@@ -182,10 +268,6 @@ public class LoginAuthenticationFilter extends UsernamePasswordAuthenticationFil
         // Set headers and write the response
         response.setContentType("application/json");
         response.setStatus(HttpServletResponse.SC_OK);
-
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.findAndRegisterModules(); // for LocalDateTime support
-
-        mapper.writeValue(response.getOutputStream(), apiResponse);
+        apiResponseWriter.writeValue(response.getOutputStream(), apiResponse);
     }
 }
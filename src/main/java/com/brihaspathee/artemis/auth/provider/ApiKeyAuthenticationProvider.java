@@ -0,0 +1,94 @@
+package com.brihaspathee.artemis.auth.provider;
+
+import com.brihaspathee.artemis.auth.ApiKeyAuthenticationToken;
+import com.brihaspathee.artemis.auth.ArtemisAuthenticationToken;
+import com.brihaspathee.artemis.auth.ArtemisUserDetailsService;
+import com.brihaspathee.artemis.auth.service.ApiKeyIndex;
+import com.brihaspathee.artemis.exception.UserNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 19:35
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.provider
+ * To change this template use File | Settings | File and Code Template
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ApiKeyAuthenticationProvider implements AuthenticationProvider {
+
+    /**
+     * The account type of the principals authenticated by this provider. Only service users hold API keys.
+     */
+    private static final String SERVICE_ACCOUNT = "SERVICE-ACCOUNT";
+
+    /**
+     * The in-memory index of the API keys, used to find the key by its id and verify its secret.
+     */
+    private final ApiKeyIndex apiKeyIndex;
+
+    /**
+     * Provides access to the ArtemisUserDetailsService, which is used to load the service user
+     * holding the API key, together with its authorities.
+     */
+    private final ArtemisUserDetailsService artemisUserDetailsService;
+
+    /**
+     * Checks that the account of the service user is enabled, not locked and not expired.
+     */
+    private final AccountStatusUserDetailsChecker accountStatusChecker = new AccountStatusUserDetailsChecker();
+
+    /**
+     * Authenticates the service user holding the presented API key. The key is looked up by its id in
+     * the in-memory index and its secret is verified with a constant-time HMAC comparison, so no bcrypt
+     * verification takes place.
+     *
+     * @param authentication the authentication request object, holding the id and the secret of the API key
+     * @return a fully authenticated {@code ArtemisAuthenticationToken} for the service user holding the key
+     * @throws AuthenticationException if the key is unknown, its secret does not match, it has expired,
+     *                                  or the account of the service user is not usable
+     */
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        ApiKeyAuthenticationToken apiKeyToken = (ApiKeyAuthenticationToken) authentication;
+        ApiKeyIndex.ApiKeyEntry entry = apiKeyIndex.find(apiKeyToken.getKeyId());
+        if(!apiKeyIndex.matches(entry, apiKeyToken.getSecret())){
+            log.warn("Invalid API key presented: {}", apiKeyToken.getKeyId());
+            throw new BadCredentialsException("Invalid credentials");
+        }
+        if(entry.isExpired()){
+            throw new CredentialsExpiredException("API key has expired");
+        }
+        UserDetails serviceUser;
+        try{
+            serviceUser = artemisUserDetailsService.loadUserByUsernameAndAccountType(entry.getServiceName(), SERVICE_ACCOUNT);
+        }catch (UserNotFoundException e){
+            throw new BadCredentialsException("Invalid credentials");
+        }
+        accountStatusChecker.check(serviceUser);
+        log.info("Service user {} authenticated with API key {}", serviceUser.getUsername(), apiKeyToken.getKeyId());
+        return new ArtemisAuthenticationToken(serviceUser, null, SERVICE_ACCOUNT, serviceUser.getAuthorities());
+    }
+
+    /**
+     * Determines if the specified authentication class is supported by this provider.
+     *
+     * @param authentication the class of the {@code Authentication} object to check
+     * @return {@code true} if the specified class is assignable to ApiKeyAuthenticationToken, {@code false} otherwise
+     */
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return ApiKeyAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+}
@@ -2,7 +2,12 @@ package com.brihaspathee.artemis.auth.provider;
 
 import com.brihaspathee.artemis.auth.ArtemisAuthenticationToken;
 import com.brihaspathee.artemis.auth.ArtemisUserDetailsService;
-import lombok.RequiredArgsConstructor;
+import com.brihaspathee.artemis.auth.service.PasswordRehashService;
+import com.brihaspathee.artemis.auth.service.PasswordVerificationService;
+import com.brihaspathee.artemis.exception.PasswordVerificationRejectedException;
+import com.brihaspathee.artemis.exception.UserNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -10,9 +15,10 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Created in Intellij IDEA
  * User: Balaji Varadharajan
@@ -24,9 +30,21 @@ import org.springframework.stereotype.Component;
  */
 @Slf4j
 //@Component
-@RequiredArgsConstructor
 public class ArtemisAuthenticationProvider implements AuthenticationProvider {
 
+    /**
+     * The name of the timer recording how long it takes to authenticate a login, from loading the
+     * user to the result of the password check.
+     */
+    private static final String AUTHENTICATION_TIMER = "artemis.auth.authentication";
+
+    /**
+     * The name of the timer recording how long a login waits for its password to be checked. Unlike
+     * artemis.auth.password.verification, which times the hash alone, this includes the time spent
+     * waiting for a password verification thread.
+     */
+    private static final String PASSWORD_CHECK_TIMER = "artemis.auth.password.check";
+
     /**
      * Provides access to the ArtemisUserDetailsService, which is responsible
      * for loading user details from the database and constructing the UserDetails
@@ -35,10 +53,90 @@ public class ArtemisAuthenticationProvider implements AuthenticationProvider {
      */
     private final ArtemisUserDetailsService artemisUserDetailsService;
 
+    /**
+     * Verifies the password of the user on a bounded executor, sharing the single
+     * PasswordEncoder bean, so that bcrypt does not run on the servlet threads.
+     */
+    private final PasswordVerificationService passwordVerificationService;
+
+    /**
+     * Replaces the stored hash of the user after a successful login when its bcrypt cost
+     * is below the cost calibrated for this host.
+     */
+    private final PasswordRehashService passwordRehashService;
+
+    /**
+     * The timer of the logins that were authenticated.
+     */
+    private final Timer authenticatedTimer;
+
+    /**
+     * The timer of the logins whose password did not match.
+     */
+    private final Timer badCredentialsTimer;
+
+    /**
+     * The timer of the logins whose user was not found.
+     */
+    private final Timer userNotFoundTimer;
+
+    /**
+     * The timer of the logins whose password could not be checked because the password
+     * verification executor was saturated.
+     */
+    private final Timer rejectedTimer;
+
+    /**
+     * The timer of the logins that failed with any other error.
+     */
+    private final Timer errorTimer;
+
+    /**
+     * The timer of the password checks that matched.
+     */
+    private final Timer passwordMatchedTimer;
+
+    /**
+     * The timer of the password checks that did not match.
+     */
+    private final Timer passwordMismatchedTimer;
+
+    /**
+     * The timer of the password checks that were rejected or timed out.
+     */
+    private final Timer passwordRejectedTimer;
+
+    /**
+     * Constructs an instance of ArtemisAuthenticationProvider.
+     *
+     * @param artemisUserDetailsService the service used to load the user logging in
+     * @param passwordVerificationService the service used to verify the password on a bounded executor
+     * @param passwordRehashService the service used to upgrade the stored hash to the calibrated cost
+     * @param meterRegistry the registry where the authentication timers are published
+     */
+    public ArtemisAuthenticationProvider(ArtemisUserDetailsService artemisUserDetailsService,
+                                         PasswordVerificationService passwordVerificationService,
+                                         PasswordRehashService passwordRehashService,
+                                         MeterRegistry meterRegistry) {
+        this.artemisUserDetailsService = artemisUserDetailsService;
+        this.passwordVerificationService = passwordVerificationService;
+        this.passwordRehashService = passwordRehashService;
+        this.authenticatedTimer = timer(meterRegistry, AUTHENTICATION_TIMER, "authenticated");
+        this.badCredentialsTimer = timer(meterRegistry, AUTHENTICATION_TIMER, "bad_credentials");
+        this.userNotFoundTimer = timer(meterRegistry, AUTHENTICATION_TIMER, "user_not_found");
+        this.rejectedTimer = timer(meterRegistry, AUTHENTICATION_TIMER, "rejected");
+        this.errorTimer = timer(meterRegistry, AUTHENTICATION_TIMER, "error");
+        this.passwordMatchedTimer = timer(meterRegistry, PASSWORD_CHECK_TIMER, "matched");
+        this.passwordMismatchedTimer = timer(meterRegistry, PASSWORD_CHECK_TIMER, "mismatched");
+        this.passwordRejectedTimer = timer(meterRegistry, PASSWORD_CHECK_TIMER, "rejected");
+    }
+
     /**
      * Authenticates the provided {@code Authentication} token by validating
      * its credentials against the user information stored in the system.
      *
+     * The time taken is recorded with the outcome of the login.
+     *
      * @param authentication the authentication request object, containing the principal,
      *                        credentials, and additional metadata required for authentication
      * @return a fully authenticated {@code Authentication} object containing details
@@ -57,15 +155,50 @@ public class ArtemisAuthenticationProvider implements AuthenticationProvider {
         String password = authentication.getCredentials().toString();
         String accountType = artemisAuthenticationToken.getAccountType();
 
-        UserDetails userDetails = artemisUserDetailsService.loadUserByUsernameAndAccountType(username, accountType);
+        long startedAt = System.nanoTime();
+        Timer timer = errorTimer;
+        try{
+            UserDetails userDetails = artemisUserDetailsService.loadUserByUsernameAndAccountType(username, accountType);
 
-        if(!new BCryptPasswordEncoder().matches(password, userDetails.getPassword())){
-            throw new BadCredentialsException("Invalid credentials");
+            if(!checkPassword(password, userDetails.getPassword())){
+                timer = badCredentialsTimer;
+                throw new BadCredentialsException("Invalid credentials");
+            }
+            passwordRehashService.rehashIfNeeded(userDetails, accountType, password);
+            timer = authenticatedTimer;
+            return new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    password,
+                    userDetails.getAuthorities());
+        }catch (UserNotFoundException e){
+            timer = userNotFoundTimer;
+            throw e;
+        }catch (PasswordVerificationRejectedException e){
+            timer = rejectedTimer;
+            throw e;
+        }finally {
+            timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Checks the password on the password verification executor and records how long the login
+     * waited for the result, including the time spent in the queue.
+     *
+     * @param password the password provided by the user
+     * @param encodedPassword the encoded password stored for the user
+     * @return true if the password matches, false otherwise
+     */
+    private boolean checkPassword(String password, String encodedPassword) {
+        long startedAt = System.nanoTime();
+        Timer timer = passwordRejectedTimer;
+        try{
+            boolean matched = passwordVerificationService.matches(password, encodedPassword);
+            timer = matched ? passwordMatchedTimer : passwordMismatchedTimer;
+            return matched;
+        }finally {
+            timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
         }
-        return new UsernamePasswordAuthenticationToken(
-                userDetails,
-                password,
-                userDetails.getAuthorities());
     }
 
     /**
@@ -79,4 +212,19 @@ public class ArtemisAuthenticationProvider implements AuthenticationProvider {
 
         return ArtemisAuthenticationToken.class.isAssignableFrom(authentication);
     }
+
+    /**
+     * Builds a timer with the given name and outcome.
+     *
+     * @param meterRegistry the registry where the timer is published
+     * @param name the name of the timer
+     * @param outcome the outcome recorded by the timer
+     * @return the registered timer
+     */
+    private static Timer timer(MeterRegistry meterRegistry, String name, String outcome) {
+        return Timer.builder(name)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 }
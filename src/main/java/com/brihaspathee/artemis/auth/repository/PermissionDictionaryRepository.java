@@ -0,0 +1,33 @@
+package com.brihaspathee.artemis.auth.repository;
+
+import com.brihaspathee.artemis.auth.document.PermissionDictionary;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 13:15
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.repository
+ * To change this template use File | Settings | File and Code Template
+ */
+@Repository
+public interface PermissionDictionaryRepository extends MongoRepository<PermissionDictionary, String> {
+
+    /**
+     * Appends the given permissions to the dictionary, skipping the ones it already holds. The update is
+     * atomic, so instances appending at the same time never assign the same position to two permissions.
+     *
+     * @param dictionaryId the id of the dictionary
+     * @param permissions the permissions to append
+     */
+    @Query("{ '_id': ?0 }")
+    @Update("{ '$addToSet': { 'permissions': { '$each': ?1 } } }")
+    void addPermissions(String dictionaryId, Collection<String> permissions);
+}
@@ -0,0 +1,27 @@
+package com.brihaspathee.artemis.auth.repository;
+
+import com.brihaspathee.artemis.auth.document.ServiceUser;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 21:40
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.repository
+ * To change this template use File | Settings | File and Code Template
+ */
+@Repository
+public interface ReactiveServiceUserRepository extends ReactiveMongoRepository<ServiceUser, String> {
+
+    /**
+     * Finds a ServiceUser entity based on the provided service name, without blocking the calling thread.
+     *
+     * @param serviceName the name of the service associated with the user to be retrieved
+     * @return a Mono emitting the ServiceUser if found, or completing empty if no such user exists
+     */
+    Mono<ServiceUser> findServiceUserByServiceName(String serviceName);
+}
@@ -0,0 +1,27 @@
+package com.brihaspathee.artemis.auth.repository;
+
+import com.brihaspathee.artemis.auth.document.User;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 21:40
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.repository
+ * To change this template use File | Settings | File and Code Template
+ */
+@Repository
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+
+    /**
+     * Retrieves a User from the database based on the provided username, without blocking the calling thread.
+     *
+     * @param username the unique username of the user to retrieve
+     * @return a Mono emitting the User if found, or completing empty if no user exists with the given username
+     */
+    Mono<User> findByUsername(String username);
+}
@@ -0,0 +1,56 @@
+package com.brihaspathee.artemis.auth.repository;
+
+import com.brihaspathee.artemis.auth.document.RefreshToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 16:45
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.repository
+ * To change this template use File | Settings | File and Code Template
+ */
+@Repository
+public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String> {
+
+    /**
+     * Marks the refresh token as used, unless it has already been used. The check and the update are a
+     * single atomic operation, so that of two concurrent exchanges of the same refresh token only one succeeds.
+     *
+     * @param tokenHash the hash of the refresh token
+     * @param usedAt the instant of the exchange
+     * @return 1 if the refresh token was marked as used, 0 if it does not exist or was already used
+     */
+    @Query("{ '_id': ?0, 'usedAt': null }")
+    @Update("{ '$set': { 'usedAt': ?1 } }")
+    long markUsed(String tokenHash, Instant usedAt);
+
+    /**
+     * Deletes every refresh token of the family.
+     *
+     * @param familyId the id of the family
+     */
+    void deleteByFamilyId(String familyId);
+
+    /**
+     * Deletes every refresh token of the account.
+     *
+     * @param username the username of the account
+     * @param accountType the type of the account
+     */
+    void deleteByUsernameAndAccountType(String username, String accountType);
+
+    /**
+     * Deletes the refresh tokens that have expired.
+     *
+     * @param instant the current instant
+     */
+    void deleteByExpiresAtBefore(Instant instant);
+}
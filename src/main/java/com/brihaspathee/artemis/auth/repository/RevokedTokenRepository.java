@@ -0,0 +1,44 @@
+package com.brihaspathee.artemis.auth.repository;
+
+import com.brihaspathee.artemis.auth.document.RevokedToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 15:15
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.repository
+ * To change this template use File | Settings | File and Code Template
+ */
+@Repository
+public interface RevokedTokenRepository extends MongoRepository<RevokedToken, String> {
+
+    /**
+     * Finds the revocations that still apply to tokens that have not expired.
+     *
+     * @param instant the current instant
+     * @return the revocations expiring after the given instant
+     */
+    List<RevokedToken> findByExpiresAtAfter(Instant instant);
+
+    /**
+     * Finds the revocations made after the given instant, used to reload the list incrementally.
+     *
+     * @param instant the instant after which the revocations were made
+     * @return the revocations made after the given instant
+     */
+    List<RevokedToken> findByRevokedAtAfter(Instant instant);
+
+    /**
+     * Deletes the revocations whose tokens have all expired.
+     *
+     * @param instant the current instant
+     */
+    void deleteByExpiresAtBefore(Instant instant);
+}
@@ -0,0 +1,36 @@
+package com.brihaspathee.artemis.auth.repository;
+
+import com.brihaspathee.artemis.auth.document.SigningKey;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 09:15
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.repository
+ * To change this template use File | Settings | File and Code Template
+ */
+@Repository
+public interface SigningKeyRepository extends MongoRepository<SigningKey, String> {
+
+    /**
+     * Finds the signing keys that are not yet retired.
+     *
+     * @param instant the current instant
+     * @return the keys whose retirement is after the given instant
+     */
+    List<SigningKey> findByRetireAtAfter(Instant instant);
+
+    /**
+     * Deletes the signing keys that were retired before the given instant.
+     *
+     * @param instant the instant before which the keys were retired
+     */
+    void deleteByRetireAtBefore(Instant instant);
+}
@@ -0,0 +1,290 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.brihaspathee.artemis.auth.document.ApiKey;
+import com.brihaspathee.artemis.auth.document.ServiceUser;
+import com.brihaspathee.artemis.auth.event.UserChangeEvent;
+import com.brihaspathee.artemis.auth.event.interfaces.UserChangeEventSource;
+import com.brihaspathee.artemis.auth.repository.ServiceUserRepository;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 19:20
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ */
+@Slf4j
+@Component
+public class ApiKeyIndex {
+
+    /**
+     * The algorithm used to digest the secret part of the API keys.
+     */
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    /**
+     * The digest compared against when the presented key id is unknown, so that an unknown key
+     * takes as long to reject as a known key with a wrong secret.
+     */
+    private static final byte[] UNKNOWN_KEY_DIGEST = new byte[32];
+
+    /**
+     * Repository used to load the API keys of the service users.
+     */
+    private final ServiceUserRepository serviceUserRepository;
+
+    /**
+     * Indicates whether API keys are accepted. When disabled the index stays empty and every key is rejected.
+     */
+    @Getter
+    private final boolean enabled;
+
+    /**
+     * An initialized HMAC instance keyed with the server-side secret. It is never used directly;
+     * each verification works on a clone, since a Mac instance is not thread-safe.
+     */
+    private final Mac macPrototype;
+
+    /**
+     * The current snapshot of the index, keyed by key id. The snapshot is never modified;
+     * every refresh builds a new snapshot and swaps it in, so lookups never block.
+     */
+    private volatile Map<String, ApiKeyEntry> entries = Map.of();
+
+    /**
+     * Serializes the refreshes, which run both on the scheduler and on the change stream listener.
+     * A lock is used rather than a monitor because the refresh reads from the database while holding
+     * it, which would pin the carrier thread of a virtual thread.
+     */
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    /**
+     * Constructs an instance of ApiKeyIndex.
+     *
+     * @param serviceUserRepository the repository used to load the API keys of the service users
+     * @param userChangeEventSource the source of the changes to the service user documents
+     * @param enabled whether API keys are accepted
+     * @param hmacSecret the Base64-encoded server-side secret the digests of the API keys are keyed with
+     */
+    public ApiKeyIndex(ServiceUserRepository serviceUserRepository,
+                       UserChangeEventSource userChangeEventSource,
+                       @Value("${application.security.api-key.enabled:false}") boolean enabled,
+                       @Value("${application.security.api-key.hmac-secret:}") String hmacSecret) {
+        this.serviceUserRepository = serviceUserRepository;
+        this.enabled = enabled;
+        if(!enabled){
+            this.macPrototype = null;
+            return;
+        }
+        if(hmacSecret.isBlank()){
+            throw new IllegalStateException("application.security.api-key.hmac-secret is required when API keys are enabled");
+        }
+        try{
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(Base64.getDecoder().decode(hmacSecret), HMAC_ALGORITHM));
+            this.macPrototype = mac;
+        }catch (NoSuchAlgorithmException | InvalidKeyException e){
+            throw new IllegalStateException("API key HMAC could not be initialized", e);
+        }
+        userChangeEventSource.subscribe(this::onUserChange);
+    }
+
+    /**
+     * Finds the API key with the given id in the current snapshot of the index.
+     *
+     * @param keyId the id of the API key
+     * @return the entry of the API key, or null if no service user holds a key with the id
+     */
+    public ApiKeyEntry find(String keyId) {
+        return entries.get(keyId);
+    }
+
+    /**
+     * Checks if the given secret is the secret of the API key. The digest of the secret is compared
+     * in constant time, and an unknown key is compared against a dummy digest, so that the time
+     * taken does not reveal how much of the secret, or whether the key id, was right.
+     *
+     * @param entry the entry of the API key, or null if the key id is unknown
+     * @param secret the secret part of the presented API key
+     * @return true if the entry exists and the secret matches its digest, false otherwise
+     */
+    public boolean matches(ApiKeyEntry entry, String secret) {
+        if(!enabled){
+            return false;
+        }
+        byte[] presented = digest(secret);
+        byte[] expected = entry == null ? UNKNOWN_KEY_DIGEST : entry.digest;
+        return MessageDigest.isEqual(presented, expected) && entry != null;
+    }
+
+    /**
+     * Rebuilds the index from the service users on a fixed delay. The keys of a service user are also
+     * refreshed as soon as the change stream reports a change to its document, so the scheduled refresh
+     * only matters when the change stream is disabled. A failed refresh keeps the current snapshot.
+     */
+    @Scheduled(fixedDelayString = "${application.security.api-key.refresh-interval:5m}")
+    public void refresh() {
+        if(!enabled){
+            return;
+        }
+        refreshLock.lock();
+        try{
+            Map<String, ApiKeyEntry> snapshot = new HashMap<>();
+            for (ServiceUser serviceUser : serviceUserRepository.findAll()) {
+                addKeys(snapshot, serviceUser);
+            }
+            entries = Map.copyOf(snapshot);
+            log.info("API key index rebuilt with {} keys", snapshot.size());
+        }catch (RuntimeException e){
+            log.warn("API key index refresh failed, serving the current snapshot: {}", e.getMessage());
+        }finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the keys of a single service user in the index with the keys its document holds now.
+     * The keys are removed if the document was deleted. A failed refresh keeps the current snapshot.
+     *
+     * @param serviceUserId the id of the service user document that changed
+     */
+    private void refresh(String serviceUserId) {
+        refreshLock.lock();
+        try{
+            Optional<ServiceUser> serviceUser = serviceUserRepository.findById(serviceUserId);
+            Map<String, ApiKeyEntry> snapshot = new HashMap<>(entries);
+            snapshot.values().removeIf(entry -> serviceUserId.equals(entry.serviceUserId));
+            serviceUser.ifPresent(changed -> addKeys(snapshot, changed));
+            entries = Map.copyOf(snapshot);
+            log.info("API keys of service user {} refreshed", serviceUserId);
+        }catch (RuntimeException e){
+            log.warn("API keys of service user {} could not be refreshed, serving the current snapshot: {}",
+                    serviceUserId, e.getMessage());
+        }finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Adds the keys held by the service user to the snapshot being built.
+     *
+     * @param snapshot the snapshot being built, keyed by key id
+     * @param serviceUser the service user holding the keys
+     */
+    private static void addKeys(Map<String, ApiKeyEntry> snapshot, ServiceUser serviceUser) {
+        if(serviceUser.getApiKeys() == null){
+            return;
+        }
+        for (ApiKey apiKey : serviceUser.getApiKeys()) {
+            ApiKeyEntry previous = snapshot.put(apiKey.getKeyId(), new ApiKeyEntry(
+                    serviceUser.getServiceUserId(),
+                    serviceUser.getServiceName(),
+                    Base64.getDecoder().decode(apiKey.getDigest()),
+                    apiKey.getExpiresAt()));
+            if(previous != null && !previous.serviceUserId.equals(serviceUser.getServiceUserId())){
+                log.warn("API key {} is held by more than one service user, only {} can use it",
+                        apiKey.getKeyId(), serviceUser.getServiceName());
+            }
+        }
+    }
+
+    /**
+     * Computes the HMAC digest of the secret part of an API key.
+     *
+     * @param secret the secret part of the API key
+     * @return the digest of the secret
+     */
+    private byte[] digest(String secret) {
+        try{
+            Mac mac = (Mac) macPrototype.clone();
+            return mac.doFinal(secret.getBytes(StandardCharsets.UTF_8));
+        }catch (CloneNotSupportedException e){
+            throw new IllegalStateException("API key HMAC could not be cloned", e);
+        }
+    }
+
+    /**
+     * Refreshes the keys of a service user when its document changes, so that a new or revoked key takes
+     * effect at once. Only the changed document is read; the index is rebuilt from the whole collection
+     * only when the change stream reports that changes may have been missed.
+     *
+     * @param event the change to the user or service user documents
+     */
+    private void onUserChange(UserChangeEvent event) {
+        if(!UserChangeEventSource.SERVICE_USERS_COLLECTION.equals(event.getCollection())){
+            return;
+        }
+        if(event.isCollectionWide()){
+            refresh();
+        }else {
+            refresh(event.getDocumentId());
+        }
+    }
+
+    /**
+     * An entry of the API key index.
+     */
+    @Getter
+    public static final class ApiKeyEntry {
+
+        /**
+         * The id of the service user document holding the key, used to replace the keys of the
+         * service user when its document changes.
+         */
+        @Getter(AccessLevel.NONE)
+        private final String serviceUserId;
+
+        /**
+         * The name of the service user holding the key.
+         */
+        private final String serviceName;
+
+        /**
+         * The HMAC digest of the secret part of the key.
+         */
+        @Getter(AccessLevel.NONE)
+        private final byte[] digest;
+
+        /**
+         * The instant after which the key can no longer be used, or null if it does not expire.
+         */
+        private final Instant expiresAt;
+
+        private ApiKeyEntry(String serviceUserId, String serviceName, byte[] digest, Instant expiresAt) {
+            this.serviceUserId = serviceUserId;
+            this.serviceName = serviceName;
+            this.digest = digest;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Checks if the key has expired.
+         *
+         * @return true if the key has an expiry that has passed, false otherwise
+         */
+        public boolean isExpired() {
+            return expiresAt != null && expiresAt.isBefore(Instant.now());
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.brihaspathee.artemis.auth.document.PermissionDictionary;
+import com.brihaspathee.artemis.auth.repository.PermissionDictionaryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 13:20
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ *
+ * Encodes the authorities of a token into its claims and decodes them back. By default the authorities are
+ * carried as a list of permission strings in the "authorities" claim. When the compact format is enabled, they
+ * are carried as a bitset over the permission dictionary shared by every instance of the service: the "pdv"
+ * claim holds the version of the dictionary the bitset was built with, and the "pdb" claim the Base64url
+ * encoded bitset. Both formats are always decoded, so the format can be switched without invalidating the
+ * tokens that were already issued.
+ * <p>
+ * The ids of the {@link PermissionRegistry} cannot be used for the bitset, since they are assigned by each
+ * instance in the order it meets the permissions, and do not survive a restart.
+ */
+@Slf4j
+@Component
+public class AuthorityClaimCodec {
+
+    /**
+     * The claim holding the list of permission strings.
+     */
+    static final String AUTHORITIES_CLAIM = "authorities";
+
+    /**
+     * The claim holding the version of the permission dictionary the compact bitset was built with.
+     */
+    static final String VERSION_CLAIM = "pdv";
+
+    /**
+     * The claim holding the compact bitset of the permissions.
+     */
+    static final String BITS_CLAIM = "pdb";
+
+    /**
+     * The id of the permission dictionary shared by every instance of the service.
+     */
+    private static final String DICTIONARY_ID = "permissions";
+
+    /**
+     * The name under which the metrics of the decoded authorities cache are published.
+     */
+    private static final String CACHE_NAME = "jwt-compact-authorities";
+
+    /**
+     * Repository used to load the permission dictionary and to append the permissions it does not hold yet.
+     */
+    private final PermissionDictionaryRepository permissionDictionaryRepository;
+
+    /**
+     * Indicates whether new tokens carry their authorities in the compact format.
+     */
+    @Getter
+    private final boolean compactEnabled;
+
+    /**
+     * The authorities decoded from each compact claim, keyed by version and bitset. Users holding the same
+     * permissions share a single immutable list, which also lets the {@link PermissionRegistry} reuse the
+     * bitset it compiled for the list instead of compiling it on every request.
+     */
+    private final Cache<String, List<SimpleGrantedAuthority>> decodedAuthorities;
+
+    /**
+     * The permission dictionary as last loaded. It is never modified; a new dictionary is swapped in when
+     * permissions are appended or a token built with a later version is decoded.
+     */
+    private volatile Dictionary dictionary = new Dictionary(List.of());
+
+    /**
+     * Serializes the loads and appends of the dictionary. A lock is used rather than a monitor because
+     * the database is called while holding it, which would pin the carrier thread of a virtual thread.
+     */
+    private final ReentrantLock dictionaryLock = new ReentrantLock();
+
+    /**
+     * Constructs an instance of AuthorityClaimCodec. The dictionary is loaded when it is first needed,
+     * so that the service starts when the database is not reachable.
+     *
+     * @param permissionDictionaryRepository the repository of the permission dictionary
+     * @param meterRegistry the registry where the statistics of the decoded authorities cache are published
+     * @param compactEnabled whether new tokens carry their authorities in the compact format
+     * @param maximumSize the maximum number of distinct compact claims whose authorities are cached
+     */
+    public AuthorityClaimCodec(PermissionDictionaryRepository permissionDictionaryRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${application.security.jwt.compact-authorities.enabled:false}") boolean compactEnabled,
+                               @Value("${application.security.jwt.compact-authorities.maximum-size:10000}") long maximumSize) {
+        this.permissionDictionaryRepository = permissionDictionaryRepository;
+        this.compactEnabled = compactEnabled;
+        this.decodedAuthorities = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, decodedAuthorities, CACHE_NAME);
+        log.info("Compact authorities claim enabled: {}", compactEnabled);
+    }
+
+    /**
+     * Returns the claims carrying the given authorities. When the compact format is enabled, the permissions
+     * the dictionary does not hold yet are appended to it first. If the dictionary cannot be updated, the
+     * authorities are carried as a list, so that a token can still be issued.
+     *
+     * @param authorities the permission strings of the user
+     * @return the claims to add to the token
+     */
+    public Map<String, Object> encode(List<String> authorities) {
+        if(!compactEnabled){
+            return Map.of(AUTHORITIES_CLAIM, authorities);
+        }
+        Dictionary current = dictionary;
+        if(!current.holdsAll(authorities)){
+            try{
+                current = append(authorities);
+            }catch (RuntimeException e){
+                log.warn("Permission dictionary could not be updated, issuing the authorities as a list: {}", e.getMessage());
+                return Map.of(AUTHORITIES_CLAIM, authorities);
+            }
+        }
+        BitSet bits = new BitSet(current.size());
+        for (String authority : authorities) {
+            bits.set(current.positions.get(authority));
+        }
+        return Map.of(VERSION_CLAIM, current.size(),
+                BITS_CLAIM, Base64.getUrlEncoder().withoutPadding().encodeToString(bits.toByteArray()));
+    }
+
+    /**
+     * Decodes the authorities carried in the given claims, in either format.
+     *
+     * @param claims the verified claims of a token
+     * @return the authorities of the token
+     * @throws MalformedJwtException if the compact claim refers to permissions the dictionary does not hold
+     */
+    public List<SimpleGrantedAuthority> decode(Claims claims) {
+        Number version = claims.get(VERSION_CLAIM, Number.class);
+        if(version == null){
+            List<?> rawList = claims.get(AUTHORITIES_CLAIM, List.class);
+            return rawList == null ? List.of() : rawList.stream()
+                    .map(Object::toString)
+                    .map(SimpleGrantedAuthority::new)
+                    .toList();
+        }
+        String bits = claims.get(BITS_CLAIM, String.class);
+        if(bits == null){
+            throw new MalformedJwtException("The compact authorities claim has no bitset");
+        }
+        return decodedAuthorities.get(version + "." + bits, key -> expand(version.intValue(), bits));
+    }
+
+    /**
+     * Expands a compact bitset into the authorities it holds, loading the dictionary again if the bitset
+     * was built with a later version than the one loaded.
+     *
+     * @param version the version of the dictionary the bitset was built with
+     * @param encodedBits the Base64url encoded bitset
+     * @return the authorities held in the bitset
+     */
+    private List<SimpleGrantedAuthority> expand(int version, String encodedBits) {
+        Dictionary current = dictionary;
+        if(current.size() < version){
+            current = load(version);
+        }
+        BitSet bits;
+        try{
+            bits = BitSet.valueOf(Base64.getUrlDecoder().decode(encodedBits));
+        }catch (IllegalArgumentException e){
+            throw new MalformedJwtException("The compact authorities claim is not valid Base64url", e);
+        }
+        if(bits.length() > version){
+            throw new MalformedJwtException("The compact authorities claim has bits beyond version " + version);
+        }
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>(bits.cardinality());
+        for (int position = bits.nextSetBit(0); position >= 0; position = bits.nextSetBit(position + 1)) {
+            authorities.add(new SimpleGrantedAuthority(current.permissions.get(position)));
+        }
+        return List.copyOf(authorities);
+    }
+
+    /**
+     * Loads the dictionary, unless another thread has loaded a version at least as recent meanwhile.
+     *
+     * @param version the version the dictionary must have reached
+     * @return the loaded dictionary
+     * @throws MalformedJwtException if the stored dictionary has not reached the version
+     */
+    private Dictionary load(int version) {
+        dictionaryLock.lock();
+        try{
+            if(dictionary.size() < version){
+                permissionDictionaryRepository.findById(DICTIONARY_ID).ifPresent(this::install);
+            }
+            if(dictionary.size() < version){
+                throw new MalformedJwtException("Unknown permission dictionary version " + version);
+            }
+            return dictionary;
+        }finally {
+            dictionaryLock.unlock();
+        }
+    }
+
+    /**
+     * Appends the permissions the dictionary does not hold yet and loads the updated dictionary.
+     * The dictionary is created by the first instance that issues a compact claim.
+     *
+     * @param authorities the permission strings that must be in the dictionary
+     * @return the updated dictionary
+     */
+    private Dictionary append(List<String> authorities) {
+        dictionaryLock.lock();
+        try{
+            if(dictionary.holdsAll(authorities)){
+                return dictionary;
+            }
+            Set<String> missing = new LinkedHashSet<>(authorities);
+            missing.removeAll(dictionary.positions.keySet());
+            permissionDictionaryRepository.addPermissions(DICTIONARY_ID, missing);
+            Optional<PermissionDictionary> stored = permissionDictionaryRepository.findById(DICTIONARY_ID);
+            if(stored.isEmpty()){
+                try{
+                    permissionDictionaryRepository.insert(PermissionDictionary.builder()
+                            .dictionaryId(DICTIONARY_ID)
+                            .permissions(List.copyOf(missing))
+                            .build());
+                }catch (DuplicateKeyException e){
+                    permissionDictionaryRepository.addPermissions(DICTIONARY_ID, missing);
+                }
+                stored = permissionDictionaryRepository.findById(DICTIONARY_ID);
+            }
+            stored.ifPresent(this::install);
+            if(!dictionary.holdsAll(authorities)){
+                throw new IllegalStateException("Permission dictionary does not hold the appended permissions");
+            }
+            log.info("Appended {} permissions to the permission dictionary, now at version {}", missing.size(),
+                    dictionary.size());
+            return dictionary;
+        }finally {
+            dictionaryLock.unlock();
+        }
+    }
+
+    /**
+     * Swaps in the given stored dictionary, unless it is older than the one loaded.
+     *
+     * @param stored the stored dictionary
+     */
+    private void install(PermissionDictionary stored) {
+        List<String> permissions = stored.getPermissions() == null ? List.of() : stored.getPermissions();
+        if(permissions.size() > dictionary.size()){
+            dictionary = new Dictionary(permissions);
+        }
+    }
+
+    /**
+     * An immutable version of the permission dictionary.
+     */
+    private static final class Dictionary {
+
+        /**
+         * The permissions, in the order of their bits.
+         */
+        private final List<String> permissions;
+
+        /**
+         * The bit of each permission.
+         */
+        private final Map<String, Integer> positions;
+
+        private Dictionary(List<String> permissions) {
+            this.permissions = List.copyOf(permissions);
+            Map<String, Integer> positions = new HashMap<>();
+            for (int position = 0; position < this.permissions.size(); position++) {
+                positions.putIfAbsent(this.permissions.get(position), position);
+            }
+            this.positions = Map.copyOf(positions);
+        }
+
+        /**
+         * Returns the version of the dictionary, which is the number of permissions it holds.
+         *
+         * @return the version of the dictionary
+         */
+        private int size() {
+            return permissions.size();
+        }
+
+        /**
+         * Checks if the dictionary holds every given permission.
+         *
+         * @param authorities the permission strings
+         * @return true if every permission has a bit in the dictionary
+         */
+        private boolean holdsAll(List<String> authorities) {
+            return positions.keySet().containsAll(authorities);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.brihaspathee.artemis.auth.service;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 18:30
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ */
+@Slf4j
+@Component
+public class BCryptCostCalibrator {
+
+    /**
+     * The password hashed while calibrating. Its value does not affect the time a hash takes.
+     */
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    /**
+     * The number of hashes timed while calibrating. The fastest of them is used, so that a
+     * garbage collection or a noisy neighbour during startup does not lower the chosen cost.
+     */
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    /**
+     * The bcrypt cost used to hash new passwords and to which existing hashes are upgraded on login.
+     */
+    @Getter
+    private final int targetCost;
+
+    /**
+     * Constructs an instance of BCryptCostCalibrator and chooses the target cost. When calibration is
+     * enabled, a hash is timed at the minimum cost on this host, and the target cost is the highest cost
+     * whose estimated time stays within the latency budget. Every increment of the cost doubles the time
+     * of a hash, so the estimate for cost c is the measured time multiplied by 2^(c - minimum cost).
+     *
+     * @param enabled whether the cost is calibrated on startup; when disabled the fixed cost is used
+     * @param fixedCost the cost used when calibration is disabled
+     * @param latencyBudget the longest time a single password hash should take on this host
+     * @param minimumCost the lowest cost that can be chosen, regardless of how slow the host is
+     * @param maximumCost the highest cost that can be chosen, regardless of how fast the host is
+     */
+    public BCryptCostCalibrator(@Value("${application.security.password-hashing.calibrate:true}") boolean enabled,
+                                @Value("${application.security.password-hashing.cost:12}") int fixedCost,
+                                @Value("${application.security.password-hashing.latency-budget:250ms}") Duration latencyBudget,
+                                @Value("${application.security.password-hashing.minimum-cost:10}") int minimumCost,
+                                @Value("${application.security.password-hashing.maximum-cost:14}") int maximumCost) {
+        if(!enabled){
+            this.targetCost = fixedCost;
+            log.info("BCrypt cost calibration disabled, using cost {}", fixedCost);
+            return;
+        }
+        long measured = measure(minimumCost);
+        this.targetCost = chooseCost(measured, minimumCost, latencyBudget.toNanos(), minimumCost, maximumCost);
+        log.info("BCrypt cost {} took {} ms on this host, target cost for a budget of {} ms is {}",
+                minimumCost, measured / 1_000_000, latencyBudget.toMillis(), targetCost);
+    }
+
+    /**
+     * Checks if the given hash should be replaced by a hash at the target cost. A hash is only ever raised
+     * to the target cost, never lowered: the target is calibrated on each host, so hosts of different speed
+     * would otherwise keep rewriting each other's hashes, and a slow host would weaken them.
+     *
+     * @param encodedPassword the stored hash of the password
+     * @return true if the hash is a bcrypt hash whose cost is below the target cost, false otherwise
+     */
+    public boolean needsRehash(String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        return cost > 0 && cost < targetCost;
+    }
+
+    /**
+     * Extracts the cost from a bcrypt hash, e.g. 12 for {@code $2a$12$...}.
+     *
+     * @param encodedPassword the bcrypt hash
+     * @return the cost of the hash, or -1 if the value is not a bcrypt hash
+     */
+    public static int costOf(String encodedPassword) {
+        if(encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+                || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$'){
+            return -1;
+        }
+        char tens = encodedPassword.charAt(4);
+        char units = encodedPassword.charAt(5);
+        if(!Character.isDigit(tens) || !Character.isDigit(units)){
+            return -1;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+
+    /**
+     * Chooses the highest cost whose estimated hash time stays within the budget.
+     *
+     * @param measuredNanos the time a hash took at the measured cost
+     * @param measuredCost the cost at which the hash was timed
+     * @param budgetNanos the longest time a hash should take
+     * @param minimumCost the lowest cost that can be chosen
+     * @param maximumCost the highest cost that can be chosen
+     * @return the chosen cost
+     */
+    static int chooseCost(long measuredNanos, int measuredCost, long budgetNanos, int minimumCost, int maximumCost) {
+        int cost = measuredCost;
+        long estimate = Math.max(1, measuredNanos);
+        while (cost < maximumCost && estimate * 2 <= budgetNanos) {
+            estimate *= 2;
+            cost++;
+        }
+        while (cost > minimumCost && estimate > budgetNanos) {
+            estimate /= 2;
+            cost--;
+        }
+        return cost;
+    }
+
+    /**
+     * Times a bcrypt hash at the given cost on this host.
+     *
+     * @param cost the cost of the hash
+     * @return the fastest of the timed hashes, in nanoseconds
+     */
+    private static long measure(int cost) {
+        // Warm up the hashing code before timing it
+        BCrypt.hashpw(CALIBRATION_PASSWORD, BCrypt.gensalt(cost));
+        long fastest = Long.MAX_VALUE;
+        for (int round = 0; round < CALIBRATION_ROUNDS; round++) {
+            String salt = BCrypt.gensalt(cost);
+            long startedAt = System.nanoTime();
+            BCrypt.hashpw(CALIBRATION_PASSWORD, salt);
+            fastest = Math.min(fastest, System.nanoTime() - startedAt);
+        }
+        return fastest;
+    }
+}
@@ -0,0 +1,121 @@
+package com.brihaspathee.artemis.auth.service;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 15:20
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ *
+ * A Bloom filter over string keys, used in front of an exact set so that the common case, a key that is not
+ * in the set, is answered with a few bit probes. A key is given as a prefix and a value, which are hashed as
+ * if they were concatenated, so that a lookup does not allocate the concatenated key.
+ */
+final class BloomFilter {
+
+    /**
+     * The offset basis of the 64-bit FNV-1a hash.
+     */
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    /**
+     * The prime of the 64-bit FNV-1a hash.
+     */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * The words of the bitset. The array is never modified once the filter is built.
+     */
+    private final long[] words;
+
+    /**
+     * The number of bits of the filter.
+     */
+    private final int bitCount;
+
+    /**
+     * The number of bits probed for each key.
+     */
+    private final int hashCount;
+
+    private BloomFilter(int bitCount, int hashCount) {
+        this.words = new long[(bitCount + 63) >>> 6];
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Creates an empty filter sized for the given number of keys and false positive rate.
+     *
+     * @param expectedKeys the number of keys the filter will hold
+     * @param falsePositiveRate the rate of the keys not in the filter that the filter reports as present
+     * @return the empty filter
+     */
+    static BloomFilter create(int expectedKeys, double falsePositiveRate) {
+        int keys = Math.max(expectedKeys, 1);
+        double log2 = Math.log(2);
+        int bitCount = (int) Math.max(64, Math.ceil(-keys * Math.log(falsePositiveRate) / (log2 * log2)));
+        int hashCount = (int) Math.max(1, Math.round((double) bitCount / keys * log2));
+        return new BloomFilter(bitCount, hashCount);
+    }
+
+    /**
+     * Adds the key to the filter. Keys are only added while the filter is built, before it is published.
+     *
+     * @param prefix the prefix of the key
+     * @param value the rest of the key
+     */
+    void put(String prefix, String value) {
+        long hash = hash(prefix, value);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int bit = ((first + i * second) & Integer.MAX_VALUE) % bitCount;
+            words[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Checks if the key may be in the filter. A false answer is exact; a true answer must be confirmed
+     * against the exact set.
+     *
+     * @param prefix the prefix of the key
+     * @param value the rest of the key
+     * @return false if the key is not in the filter, true if it may be
+     */
+    boolean mightContain(String prefix, String value) {
+        long hash = hash(prefix, value);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int bit = ((first + i * second) & Integer.MAX_VALUE) % bitCount;
+            if((words[bit >>> 6] & (1L << bit)) == 0){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hashes the concatenation of the prefix and the value with FNV-1a, and spreads the result with the
+     * finalizer of SplitMix64, so that both halves of the hash are well mixed.
+     *
+     * @param prefix the prefix of the key
+     * @param value the rest of the key
+     * @return the 64-bit hash of the key
+     */
+    private static long hash(String prefix, String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < prefix.length(); i++) {
+            hash = (hash ^ prefix.charAt(i)) * FNV_PRIME;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
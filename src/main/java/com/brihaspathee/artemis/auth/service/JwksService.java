@@ -0,0 +1,166 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 11:40
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ *
+ * Renders the public keys of the signing key ring as a JSON Web Key Set (RFC 7517), so that gateways and
+ * other services can verify the tokens themselves. The set is rendered once per snapshot of the ring, not
+ * once per request, and its ETag is a digest of the rendered body, so that every instance of the service
+ * returns the same ETag for the same keys.
+ */
+@Slf4j
+@Component
+public class JwksService {
+
+    /**
+     * The curve of the ES256 keys, the only asymmetric keys of the ring.
+     */
+    private static final String CURVE = "P-256";
+
+    /**
+     * The length in bytes of a coordinate of a point on the curve.
+     */
+    private static final int COORDINATE_LENGTH = 32;
+
+    /**
+     * The keys whose public keys are published.
+     */
+    private final SigningKeyRing signingKeyRing;
+
+    /**
+     * The application's object mapper used to render the key set.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The key set rendered from the latest snapshot of the ring.
+     */
+    private volatile Jwks jwks;
+
+    /**
+     * Constructs an instance of JwksService.
+     *
+     * @param signingKeyRing the keys whose public keys are published
+     * @param objectMapper the application's object mapper used to render the key set
+     */
+    public JwksService(SigningKeyRing signingKeyRing, ObjectMapper objectMapper) {
+        this.signingKeyRing = signingKeyRing;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the key set of the current public keys of the ring, rendering it again only when the ring
+     * has been refreshed since it was last rendered.
+     *
+     * @return the rendered key set and its ETag
+     */
+    public Jwks jwks() {
+        Map<String, PublicKey> publicKeys = signingKeyRing.publicKeys();
+        Jwks current = jwks;
+        if(current == null || current.publicKeys != publicKeys){
+            current = render(publicKeys);
+            jwks = current;
+        }
+        return current;
+    }
+
+    /**
+     * Renders the key set. The keys are ordered by key id, so that the same keys always render the same body.
+     *
+     * @param publicKeys the public keys, keyed by key id
+     * @return the rendered key set and its ETag
+     */
+    private Jwks render(Map<String, PublicKey> publicKeys) {
+        List<Map<String, String>> keys = new ArrayList<>(publicKeys.size());
+        new TreeMap<>(publicKeys).forEach((kid, publicKey) -> {
+            ECPublicKey ecPublicKey = (ECPublicKey) publicKey;
+            Map<String, String> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", CURVE);
+            jwk.put("kid", kid);
+            jwk.put("use", "sig");
+            jwk.put("alg", "ES256");
+            jwk.put("x", coordinate(ecPublicKey.getW().getAffineX()));
+            jwk.put("y", coordinate(ecPublicKey.getW().getAffineY()));
+            keys.add(jwk);
+        });
+        try{
+            byte[] body = objectMapper.writeValueAsBytes(Map.of("keys", keys));
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            String etag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+            log.debug("Rendered the JWKS with {} keys, ETag {}", keys.size(), etag);
+            return new Jwks(publicKeys, body, etag);
+        }catch (JsonProcessingException | NoSuchAlgorithmException e){
+            throw new IllegalStateException("JWKS could not be rendered", e);
+        }
+    }
+
+    /**
+     * Encodes a coordinate of a point on the curve as the unsigned, fixed length, Base64url value of a JWK.
+     *
+     * @param coordinate the coordinate
+     * @return the encoded coordinate
+     */
+    private static String coordinate(BigInteger coordinate) {
+        byte[] bytes = coordinate.toByteArray();
+        byte[] unsigned = new byte[COORDINATE_LENGTH];
+        int length = Math.min(bytes.length, COORDINATE_LENGTH);
+        System.arraycopy(bytes, bytes.length - length, unsigned, COORDINATE_LENGTH - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(unsigned);
+    }
+
+    /**
+     * A rendered key set.
+     */
+    @Getter
+    public static final class Jwks {
+
+        /**
+         * The public keys the key set was rendered from.
+         */
+        @Getter(AccessLevel.NONE)
+        private final Map<String, PublicKey> publicKeys;
+
+        /**
+         * The JSON body of the key set.
+         */
+        private final byte[] body;
+
+        /**
+         * The strong ETag of the key set, a digest of the body.
+         */
+        private final String etag;
+
+        private Jwks(Map<String, PublicKey> publicKeys, byte[] body, String etag) {
+            this.publicKeys = publicKeys;
+            this.body = body;
+            this.etag = etag;
+        }
+    }
+}
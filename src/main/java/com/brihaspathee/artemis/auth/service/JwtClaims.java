@@ -0,0 +1,115 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.brihaspathee.artemis.auth.document.SecurityStamped;
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 09:12
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ */
+@Getter
+public class JwtClaims {
+
+    /**
+     * The username carried in the "username" claim of the token.
+     * Refer to the generateToken method in {@link JwtService} to see how the username is set.
+     */
+    private final String username;
+
+    /**
+     * The account type carried in the "accountType" claim of the token.
+     * It is used to decide whether the user is looked up as a user account or a service account.
+     */
+    private final String accountType;
+
+    /**
+     * The id of the token carried in the standard "jti" claim, or null if the token was issued
+     * before tokens carried an id. It is the key under which the token is revoked.
+     */
+    private final String tokenId;
+
+    /**
+     * The instant at which the token was issued, taken from the standard "iat" claim, or null if the
+     * token has none.
+     */
+    private final Instant issuedAt;
+
+    /**
+     * The instant at which the token expires, taken from the standard "exp" claim.
+     */
+    private final Instant expiration;
+
+    /**
+     * The authorities carried in the token, decoded once into {@link SimpleGrantedAuthority} instances
+     * so that they can be reused by the caller. Refer to {@link AuthorityClaimCodec} for the claims
+     * they are carried in.
+     */
+    private final List<SimpleGrantedAuthority> authorities;
+
+    /**
+     * The security stamp of the account carried in the "stamp" claim of the token, or null if the
+     * token was issued before security stamps were embedded in tokens.
+     */
+    private final Long securityStamp;
+
+    /**
+     * The complete set of claims of the verified token, retained for callers that need
+     * claims other than the ones exposed above.
+     */
+    private final Claims claims;
+
+    /**
+     * Constructs a {@code JwtClaims} instance from the claims of a token whose signature
+     * has already been verified by {@link JwtService}.
+     *
+     * @param claims the verified claims of the token
+     * @param authorities the authorities decoded from the claims
+     */
+    JwtClaims(Claims claims, List<SimpleGrantedAuthority> authorities) {
+        this.claims = claims;
+        this.username = claims.get("username", String.class);
+        this.accountType = claims.get("accountType", String.class);
+        this.tokenId = claims.getId();
+        this.issuedAt = claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant();
+        this.expiration = claims.getExpiration().toInstant();
+        Number stamp = claims.get("stamp", Number.class);
+        this.securityStamp = stamp == null ? null : stamp.longValue();
+        this.authorities = authorities;
+    }
+
+    /**
+     * Checks if the token is expired.
+     *
+     * @return true if the token is expired, false otherwise
+     */
+    public boolean isExpired() {
+        return expiration.isBefore(Instant.now());
+    }
+
+    /**
+     * Checks if the token was issued to the given user and has not expired. If the token carries
+     * a security stamp, it must also match the current security stamp of the user.
+     *
+     * @param user the user details object containing the expected username
+     * @return true if the username in the token matches the user's username, the security stamp
+     *         is current and the token is not expired
+     */
+    public boolean isValidFor(UserDetails user) {
+        if(securityStamp != null && user instanceof SecurityStamped securityStamped
+                && securityStamp != securityStamped.getSecurityStamp()){
+            return false;
+        }
+        return username != null && username.equals(user.getUsername()) && !isExpired();
+    }
+}
@@ -1,10 +1,16 @@
 package com.brihaspathee.artemis.auth.service;
 
-import com.brihaspathee.artemis.auth.document.User;
+import com.brihaspathee.artemis.auth.document.SecurityStamped;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
@@ -16,6 +22,8 @@ import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Created in Intellij IDEA
@@ -31,23 +39,108 @@ import java.util.List;
 public class JwtService {
 
     /**
-     * Represents the secret key used for signing and verifying JWTs (JSON Web Tokens).
-     * The value is sourced from the application configuration property "application.security.jwt.security-key".
-     * This key is crucial for ensuring the integrity and authenticity of the generated tokens.
+     * The name of the timer recording how long it takes to sign a token.
      */
-    @Value("${application.security.jwt.secret-key}")
-    private String secretKey;
+    private static final String SIGN_TIMER = "artemis.auth.jwt.sign";
+
+    /**
+     * The name of the timer recording how long it takes to parse a token and verify its signature.
+     */
+    private static final String PARSE_TIMER = "artemis.auth.jwt.parse";
 
     /**
      * Represents the expiration duration for JWT tokens, defined in milliseconds.
      * The value is loaded from the application configuration property "application.security.jwt.expiration".
      * It determines the validity period after which the JWT token will expire.
      */
-    @Value("${application.security.jwt.expiration}")
-    private long expiration;
+    @Getter
+    private final long expiration;
+
+    /**
+     * The keys used for signing and verifying JWTs (JSON Web Tokens). Tokens are signed with the current
+     * key of the ring and carry its id in the "kid" header; they are verified with the key of that id.
+     */
+    private final SigningKeyRing signingKeyRing;
+
+    /**
+     * Encodes the authorities of a user into the claims of a token, as a list or in the compact format,
+     * and decodes them back from either format.
+     */
+    private final AuthorityClaimCodec authorityClaimCodec;
+
+    /**
+     * The parser used to verify and parse incoming JWTs. The parser is immutable and thread-safe,
+     * so a single instance, resolving the key of each token from the key ring, is shared by all requests.
+     */
+    private final JwtParser jwtParser;
+
+    /**
+     * The timer of the tokens that were signed.
+     */
+    private final Timer signTimer;
+
+    /**
+     * The timer of the tokens that were parsed and whose signature was valid.
+     */
+    private final Timer validParseTimer;
+
+    /**
+     * The timer of the tokens that were parsed but had expired.
+     */
+    private final Timer expiredParseTimer;
+
+    /**
+     * The timer of the tokens that could not be parsed or whose signature was not valid.
+     */
+    private final Timer invalidParseTimer;
+
+    /**
+     * Constructs an instance of JwtService, building the token parser on the signing key ring.
+     *
+     * @param signingKeyRing the keys used for signing and verifying JWTs
+     * @param authorityClaimCodec encodes and decodes the authorities claim
+     * @param expiration the validity period of the generated tokens in milliseconds
+     * @param meterRegistry the registry where the sign and parse timers are published
+     */
+    public JwtService(SigningKeyRing signingKeyRing,
+                      AuthorityClaimCodec authorityClaimCodec,
+                      @Value("${application.security.jwt.expiration}") long expiration,
+                      MeterRegistry meterRegistry) {
+        this.expiration = expiration;
+        this.signingKeyRing = signingKeyRing;
+        this.authorityClaimCodec = authorityClaimCodec;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return signingKeyRing.verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+        this.signTimer = Timer.builder(SIGN_TIMER)
+                .tag("outcome", "signed")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.validParseTimer = Timer.builder(PARSE_TIMER)
+                .tag("outcome", "valid")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.expiredParseTimer = Timer.builder(PARSE_TIMER)
+                .tag("outcome", "expired")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.invalidParseTimer = Timer.builder(PARSE_TIMER)
+                .tag("outcome", "invalid")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        log.info("JWT service initialized, tokens expire after {} ms", expiration);
+    }
 
     /**
      * Generates a JSON Web Token (JWT) based on the given user's details and account type.
+     * The token is signed with the current key of the signing key ring, whose id is set in the "kid" header.
+     * The authorities are carried as a list, or as a bitset over the permission dictionary when the compact
+     * format is enabled. Each token carries a random id in the "jti" claim, by which it can be revoked.
      *
      * @param user the user details for whom the token is being generated
      * @param accountType the account type associated with the user
@@ -55,20 +148,34 @@ public class JwtService {
      */
     public String generateToken(UserDetails user, String accountType) {
         log.info("Generating JWT for user: {}", user.getUsername());
-        log.info("Secret Key: {}", secretKey);
+        long startedAt = System.nanoTime();
         List<String> authorities = user.getAuthorities()
                 .stream()
                 .map(GrantedAuthority::getAuthority)
                 .toList();
-        return Jwts.builder()
+        Instant now = Instant.now();
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(user.getUsername())
-                .claim("authorities", authorities)
+                .addClaims(authorityClaimCodec.encode(authorities))
                 .claim("username", user.getUsername())
-                .claim("accountType", accountType)
-                .setIssuedAt(Date.from(Instant.now()))
-                .setExpiration(Date.from(Instant.now().plusMillis(8640000)))
-                .signWith(getSigningKey())
+                .claim("accountType", accountType);
+        /*
+         * The security stamp of the account is embedded in the token, so that the token
+         * can be invalidated by changing the stamp of the account
+         */
+        if(user instanceof SecurityStamped securityStamped){
+            builder.claim("stamp", securityStamped.getSecurityStamp());
+        }
+        SigningKeyRing.KeyEntry signingKey = signingKeyRing.signingKey();
+        String token = builder
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.getKid())
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plusMillis(expiration)))
+                .signWith(signingKey.getKey())
                 .compact();
+        signTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return token;
     }
 
     /**
@@ -81,8 +188,36 @@ public class JwtService {
      */
     public boolean validateToken(String token,
                                  UserDetails user) {
-        final String username = extractUsername(token);
-        return (username.equals(user.getUsername()) && !isTokenExpired(token));
+        return validateToken(verifyToken(token), user);
+    }
+
+    /**
+     * Validates already verified claims by checking if the username in the claims matches
+     * the provided user's username and ensuring the token has not expired.
+     * Use this overload when the token has already been parsed through {@link #verifyToken(String)},
+     * so that the signature is not checked a second time.
+     *
+     * @param claims the verified claims of the JWT token
+     * @param user the user details object containing the expected username
+     * @return true if the token is valid (matches the user's username and is not expired), false otherwise
+     */
+    public boolean validateToken(JwtClaims claims,
+                                 UserDetails user) {
+        return claims.isValidFor(user);
+    }
+
+    /**
+     * Parses the given token, verifies its signature and returns its claims.
+     * The token is parsed exactly once, so callers that need more than one claim
+     * (username, account type, expiry, authorities) should call this method once and
+     * reuse the returned {@link JwtClaims} instead of calling the individual extract methods.
+     *
+     * @param token the JWT token to be parsed and verified
+     * @return the verified claims of the token
+     */
+    public JwtClaims verifyToken(String token) {
+        Claims claims = extractAllClaims(token);
+        return new JwtClaims(claims, authorityClaimCodec.decode(claims));
     }
 
     /**
@@ -98,10 +233,7 @@ public class JwtService {
           We are extracting the username from the claim.
           Refer to generateToken method in this class to see how the username is set
          */
-        Claims claims = extractAllClaims(token);
-        String username = claims.get("username", String.class);
-//        String username = claims.getSubject();
-        return username;
+        return verifyToken(token).getUsername();
     }
 
     /**
@@ -112,34 +244,19 @@ public class JwtService {
      * @return a String representing the account type extracted from the token
      */
     public String extractAccountType(String token) {
-        Claims claims = extractAllClaims(token);
-        String accountType = claims.get("accountType", String.class);
-        return accountType;
+        return verifyToken(token).getAccountType();
     }
 
     /**
      * Extracts and converts the authorities from a given token into a list of {@code SimpleGrantedAuthority}.
-     * The authorities are retrieved from the token's claims under the key "authorities".
-     * The token must contain this key with the associated list of authorities for proper processing.
+     * The authorities are retrieved from the token's "authorities" claim, or decoded from its compact
+     * "pdv" and "pdb" claims, whichever the token was issued with.
      *
      * @param token the JWT token from which the authorities are to be extracted
      * @return a list of {@code SimpleGrantedAuthority} representing the authorities contained in the token
      */
     public List<SimpleGrantedAuthority> extractAuthorities(String token) {
-//        Claims claims = extractAllClaims(token);
-//        List<String> authorities = claims.get("authorities", List.class);
-//        return authorities.stream()
-//                .map(SimpleGrantedAuthority::new)
-//                .toList();
-        /*
-         * The authorities that are assigned to a user are set in the token as a claim with the key
-         * "authorities". Refer to the method generateToken in this class to see how the authorities are set
-         * in the token.
-         */
-        Claims claims = extractAllClaims(token);
-        List<?> rawList = claims.get("authorities", List.class);
-        List<String> authorities = rawList.stream().map(Object::toString).toList();
-        return authorities.stream().map(SimpleGrantedAuthority::new).toList();
+        return verifyToken(token).getAuthorities();
     }
 
     /**
@@ -149,35 +266,32 @@ public class JwtService {
      * @return true if the token is expired, false otherwise
      */
     public boolean isTokenExpired(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.getExpiration().before(Date.from(Instant.now()));
+        return verifyToken(token).isExpired();
     }
 
     /**
      * Extracts all claims present in the specified JSON Web Token (JWT).
      * This method parses the token, validates it using the signing key,
-     * and retrieves the claims embedded in the token's body.
+     * and retrieves the claims embedded in the token's body. The time taken is recorded
+     * with the outcome of the parse: valid, expired or invalid.
      *
      * @param token the JWT string that needs to be parsed and validated
      * @return the {@link Claims} object containing all claims extracted from the token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    /**
-     * Generates and returns the signing key used for creating and verifying JWTs (JSON Web Tokens).
-     * The method decodes a Base64-encoded secret key and uses it to create an HMAC SHA key.
-     *
-     * @return the signing {@link Key} derived from the secret key
-     */
-    private Key getSigningKey() {
-        log.info("Generating signing key for JWT with secret key: {}", secretKey);
-        byte[] keyBytes = Decoders.BASE64.decode("2b9e785bfd84af3bf177a19177b2a1dd27e971a8d3e7394e66f68d9701a2d6f1");
-        return Keys.hmacShaKeyFor(keyBytes);
+        long startedAt = System.nanoTime();
+        Timer timer = invalidParseTimer;
+        try{
+            Claims claims = jwtParser
+                    .parseClaimsJws(token)
+                    .getBody();
+            timer = validParseTimer;
+            return claims;
+        }catch (ExpiredJwtException e){
+            timer = expiredParseTimer;
+            throw e;
+        }finally {
+            timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
     }
 }
@@ -0,0 +1,111 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.brihaspathee.artemis.auth.ArtemisUserDetailsService;
+import com.brihaspathee.artemis.auth.document.ServiceUser;
+import com.brihaspathee.artemis.auth.document.User;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 18:45
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordRehashService {
+
+    /**
+     * Decides whether a stored hash has to be replaced by a hash at the calibrated cost.
+     */
+    private final BCryptCostCalibrator bCryptCostCalibrator;
+
+    /**
+     * The encoder used to hash the password at the calibrated cost.
+     */
+    private final PasswordEncoder passwordEncoder;
+
+    /**
+     * The executor on which the new hash is computed, away from the servlet thread.
+     */
+    private final PasswordVerificationService passwordVerificationService;
+
+    /**
+     * Used to replace the stored hash of the account in the database.
+     */
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Used to remove the account from the user cache once its hash is replaced.
+     */
+    private final ArtemisUserDetailsService artemisUserDetailsService;
+
+    /**
+     * Replaces the stored hash of the account by a hash at the calibrated cost if the cost of the stored
+     * hash is below it. Must only be called after the raw password was verified against the stored hash.
+     * The new hash is computed and persisted in the background, so the login is not delayed; if the
+     * executor is busy the rehash is skipped and tried again on the next login.
+     *
+     * @param userDetails the account whose password was verified
+     * @param accountType the type of the account
+     * @param rawPassword the verified raw password
+     */
+    public void rehashIfNeeded(UserDetails userDetails, String accountType, String rawPassword) {
+        String currentHash = userDetails.getPassword();
+        if(!bCryptCostCalibrator.needsRehash(currentHash)){
+            return;
+        }
+        boolean accepted = passwordVerificationService.tryExecute(() -> rehash(userDetails, accountType, rawPassword, currentHash));
+        if(!accepted){
+            log.debug("Password rehash for user {} skipped, the verification executor is busy", userDetails.getUsername());
+        }
+    }
+
+    /**
+     * Hashes the password at the calibrated cost and replaces the stored hash. The hash is only replaced
+     * if it is still the hash the password was verified against, so a password changed in the meantime
+     * is never overwritten.
+     *
+     * @param userDetails the account whose password was verified
+     * @param accountType the type of the account
+     * @param rawPassword the verified raw password
+     * @param currentHash the stored hash the password was verified against
+     */
+    private void rehash(UserDetails userDetails, String accountType, String rawPassword, String currentHash) {
+        try{
+            String newHash = passwordEncoder.encode(rawPassword);
+            UpdateResult result;
+            if(userDetails instanceof User user){
+                result = mongoTemplate.updateFirst(
+                        Query.query(Criteria.where("_id").is(user.getUserId()).and("password").is(currentHash)),
+                        new Update().set("password", newHash), User.class);
+            }else if(userDetails instanceof ServiceUser serviceUser){
+                result = mongoTemplate.updateFirst(
+                        Query.query(Criteria.where("_id").is(serviceUser.getServiceUserId()).and("servicePassword").is(currentHash)),
+                        new Update().set("servicePassword", newHash), ServiceUser.class);
+            }else {
+                return;
+            }
+            if(result.getModifiedCount() > 0){
+                artemisUserDetailsService.evict(userDetails.getUsername(), accountType);
+                log.info("Password of user {} rehashed from cost {} to cost {}", userDetails.getUsername(),
+                        BCryptCostCalibrator.costOf(currentHash), bCryptCostCalibrator.getTargetCost());
+            }
+        }catch (RuntimeException e){
+            log.warn("Password rehash for user {} failed: {}", userDetails.getUsername(), e.getMessage());
+        }
+    }
+}
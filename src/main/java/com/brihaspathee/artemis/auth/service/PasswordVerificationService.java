@@ -0,0 +1,196 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.brihaspathee.artemis.exception.PasswordVerificationRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 18:05
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ */
+@Slf4j
+@Service
+public class PasswordVerificationService {
+
+    /**
+     * The name of the timer measuring how long each password hash takes to verify, tagged with the outcome.
+     */
+    private static final String HASH_TIMER = "artemis.auth.password.verification";
+
+    /**
+     * The encoder used to verify the passwords. The single encoder declared in BeansConfig is
+     * shared by every verification instead of creating a new one per login.
+     */
+    private final PasswordEncoder passwordEncoder;
+
+    /**
+     * The executor running the password verifications. It has a fixed number of platform threads
+     * and a bounded queue, so that a login storm cannot use more than the configured share of the
+     * CPU, and logins beyond the queue capacity are rejected immediately instead of piling up on
+     * the servlet threads. The threads stay platform threads when request handling runs on virtual
+     * threads ({@code spring.threads.virtual.enabled}), since hashing is CPU-bound and gains nothing from
+     * being unmounted; the virtual request thread simply parks while it waits for the result.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * The longest time a login waits for its password to be verified, including the time spent in the queue.
+     */
+    private final Duration timeout;
+
+    /**
+     * The timer of the verifications that matched the password.
+     */
+    private final Timer matchedTimer;
+
+    /**
+     * The timer of the verifications that did not match the password.
+     */
+    private final Timer mismatchedTimer;
+
+    /**
+     * The number of verifications that were rejected because the queue was full or the wait timed out.
+     */
+    private final Counter rejectedCounter;
+
+    /**
+     * Constructs an instance of PasswordVerificationService.
+     *
+     * @param passwordEncoder the encoder used to verify the passwords
+     * @param meterRegistry the registry where the verification metrics are published
+     * @param threads the number of threads verifying passwords, defaults to the number of processors
+     * @param queueCapacity the number of verifications that can wait for a thread before new ones are rejected
+     * @param timeout the longest time a login waits for its password to be verified
+     */
+    public PasswordVerificationService(PasswordEncoder passwordEncoder,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${application.security.password-verification.threads:0}") int threads,
+                                       @Value("${application.security.password-verification.queue-capacity:64}") int queueCapacity,
+                                       @Value("${application.security.password-verification.timeout:5s}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-verification-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.matchedTimer = Timer.builder(HASH_TIMER)
+                .tag("outcome", "matched")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.mismatchedTimer = Timer.builder(HASH_TIMER)
+                .tag("outcome", "mismatched")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("artemis.auth.password.rejected")
+                .description("Password verifications rejected because the verification queue was full or timed out")
+                .register(meterRegistry);
+        Gauge.builder("artemis.auth.password.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password verifications waiting for a verification thread")
+                .register(meterRegistry);
+        Gauge.builder("artemis.auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password verifications in progress")
+                .register(meterRegistry);
+        log.info("Password verification executor started with {} threads and a queue of {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Verifies the raw password against the encoded password on the password verification executor.
+     * The calling thread waits for the result, but the hashing itself runs on the bounded pool, so
+     * that no more than the configured number of hashes run at the same time.
+     *
+     * @param rawPassword the password provided by the user
+     * @param encodedPassword the encoded password stored for the user
+     * @return true if the password matches, false otherwise
+     * @throws PasswordVerificationRejectedException if the verification queue is full, or the
+     *         verification does not complete within the configured timeout
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Future<Boolean> verification;
+        try{
+            verification = executor.submit(() -> verify(rawPassword, encodedPassword));
+        }catch (RejectedExecutionException e){
+            rejectedCounter.increment();
+            log.warn("Password verification rejected, {} verifications are queued", executor.getQueue().size());
+            throw new PasswordVerificationRejectedException("Too many concurrent logins, please retry later", e);
+        }
+        try{
+            return verification.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }catch (TimeoutException e){
+            verification.cancel(true);
+            rejectedCounter.increment();
+            log.warn("Password verification timed out after {}", timeout);
+            throw new PasswordVerificationRejectedException("Password verification timed out, please retry later", e);
+        }catch (InterruptedException e){
+            verification.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordVerificationRejectedException("Password verification was interrupted", e);
+        }catch (ExecutionException e){
+            if(e.getCause() instanceof RuntimeException runtimeException){
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        }
+    }
+
+    /**
+     * Runs a background task, such as rehashing a password, on the password verification executor.
+     * The task is dropped if the queue is full, so that background work never delays a login.
+     *
+     * @param task the task to be run
+     * @return true if the task was accepted, false if it was dropped
+     */
+    public boolean tryExecute(Runnable task) {
+        try{
+            executor.execute(task);
+            return true;
+        }catch (RejectedExecutionException e){
+            return false;
+        }
+    }
+
+    /**
+     * Verifies the password and records how long the hash took.
+     *
+     * @param rawPassword the password provided by the user
+     * @param encodedPassword the encoded password stored for the user
+     * @return true if the password matches, false otherwise
+     */
+    private boolean verify(CharSequence rawPassword, String encodedPassword) {
+        long startedAt = System.nanoTime();
+        boolean matched = passwordEncoder.matches(rawPassword, encodedPassword);
+        (matched ? matchedTimer : mismatchedTimer).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return matched;
+    }
+
+    /**
+     * Stops the password verification executor when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
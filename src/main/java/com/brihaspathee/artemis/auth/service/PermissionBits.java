@@ -0,0 +1,78 @@
+package com.brihaspathee.artemis.auth.service;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 16:20
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ */
+public final class PermissionBits {
+
+    /**
+     * A permission set that contains no permissions.
+     */
+    public static final PermissionBits EMPTY = new PermissionBits(new long[0]);
+
+    /**
+     * The words of the bitset. Bit {@code id % 64} of word {@code id / 64} is set when the
+     * permission with the given id of the {@link PermissionRegistry} is in the set.
+     * The array is never modified once the instance is created.
+     */
+    private final long[] words;
+
+    /**
+     * Constructs a {@code PermissionBits} instance over the given words. The array is owned by
+     * the new instance and must not be modified by the caller.
+     *
+     * @param words the words of the bitset
+     */
+    PermissionBits(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Checks if this set and the given set have at least one permission in common.
+     * The check is a word-wise AND over the shorter of the two bitsets and does not allocate.
+     *
+     * @param other the other permission set
+     * @return true if at least one permission is in both sets, false otherwise
+     */
+    public boolean intersects(PermissionBits other) {
+        long[] otherWords = other.words;
+        int length = Math.min(words.length, otherWords.length);
+        for (int i = 0; i < length; i++) {
+            if((words[i] & otherWords[i]) != 0){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the permission with the given id is in the set.
+     *
+     * @param id the id of the permission in the {@link PermissionRegistry}
+     * @return true if the permission is in the set, false otherwise
+     */
+    public boolean contains(int id) {
+        int word = id >>> 6;
+        return word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * Checks if the set contains no permissions.
+     *
+     * @return true if the set is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        for (long word : words) {
+            if(word != 0){
+                return false;
+            }
+        }
+        return true;
+    }
+}
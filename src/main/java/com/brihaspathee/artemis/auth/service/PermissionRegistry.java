@@ -0,0 +1,141 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 16:25
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ */
+@Slf4j
+@Component
+public class PermissionRegistry {
+
+    /**
+     * The id assigned to each permission string. Ids are dense and start at zero, so that the
+     * bitsets compiled from them stay as short as the number of distinct permissions allows.
+     * Ids are never reassigned, so a compiled bitset stays valid for the life of the application.
+     */
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    /**
+     * Serializes the assignment of new ids, so that no two permissions are given the same id.
+     * A lock is used rather than a monitor, so that a virtual thread waiting for it does not
+     * pin its carrier thread.
+     */
+    private final ReentrantLock assignmentLock = new ReentrantLock();
+
+    /**
+     * The bitsets compiled from the authority sets of the principals, keyed by the identity of the
+     * authority collection. User, ServiceUser and the verified token claims each hold on to a single
+     * immutable authority collection, so every request after the first one for the same principal
+     * is answered without compiling or allocating. Entries are dropped once the collection is
+     * no longer reachable, e.g. when the user is evicted from the user cache.
+     */
+    private final Cache<Collection<? extends GrantedAuthority>, PermissionBits> compiledAuthorities =
+            Caffeine.newBuilder()
+                    .weakKeys()
+                    .build();
+
+    /**
+     * Returns the id of the given permission, assigning the next free id if the permission
+     * has not been seen before.
+     *
+     * @param permission the permission string
+     * @return the dense integer id of the permission
+     */
+    public int idOf(String permission) {
+        Integer id = ids.get(permission);
+        if(id != null){
+            return id;
+        }
+        assignmentLock.lock();
+        try{
+            return ids.computeIfAbsent(permission, key -> ids.size());
+        }finally {
+            assignmentLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of permissions that have been assigned an id.
+     *
+     * @return the number of registered permissions
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Compiles the given permission strings into a bitset.
+     *
+     * @param permissions the permission strings
+     * @return the bitset holding the ids of the permissions
+     */
+    public PermissionBits compile(Collection<String> permissions) {
+        if(permissions == null || permissions.isEmpty()){
+            return PermissionBits.EMPTY;
+        }
+        int[] permissionIds = new int[permissions.size()];
+        int max = 0;
+        int i = 0;
+        for (String permission : permissions) {
+            int id = idOf(permission);
+            permissionIds[i++] = id;
+            max = Math.max(max, id);
+        }
+        return toBits(permissionIds, max);
+    }
+
+    /**
+     * Returns the bitset compiled from the given authorities. The bitset is compiled once per
+     * authority collection instance and reused for every later call with the same instance.
+     *
+     * @param authorities the authorities granted to a principal
+     * @return the bitset holding the ids of the permissions of the authorities
+     */
+    public PermissionBits compileAuthorities(Collection<? extends GrantedAuthority> authorities) {
+        if(authorities == null || authorities.isEmpty()){
+            return PermissionBits.EMPTY;
+        }
+        return compiledAuthorities.get(authorities, key -> {
+            int[] permissionIds = new int[key.size()];
+            int max = 0;
+            int i = 0;
+            for (GrantedAuthority authority : key) {
+                int id = idOf(authority.getAuthority());
+                permissionIds[i++] = id;
+                max = Math.max(max, id);
+            }
+            return toBits(permissionIds, max);
+        });
+    }
+
+    /**
+     * Builds a bitset with the given ids set.
+     *
+     * @param permissionIds the ids of the permissions
+     * @param max the largest of the ids
+     * @return the bitset
+     */
+    private static PermissionBits toBits(int[] permissionIds, int max) {
+        long[] words = new long[(max >>> 6) + 1];
+        for (int id : permissionIds) {
+            words[id >>> 6] |= 1L << id;
+        }
+        return new PermissionBits(words);
+    }
+}
@@ -0,0 +1,363 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.brihaspathee.artemis.auth.ArtemisUserDetailsService;
+import com.brihaspathee.artemis.auth.document.RefreshToken;
+import com.brihaspathee.artemis.auth.document.SecurityStamped;
+import com.brihaspathee.artemis.auth.document.ServiceUser;
+import com.brihaspathee.artemis.auth.repository.RefreshTokenRepository;
+import com.brihaspathee.artemis.exception.UserNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AccountStatusException;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 17:00
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ *
+ * Issues and exchanges the refresh tokens. A login returns a refresh token along with the access token; when
+ * the access token expires, the client exchanges the refresh token for a new access token and a new refresh
+ * token, instead of logging in again with its password. An exchange is an indexed lookup and a signature,
+ * where a login is a bcrypt verification.
+ * <p>
+ * Each refresh token is a random value, stored as its SHA-256 hash, and can be exchanged only once. Every
+ * refresh token rotated from the same login belongs to one family; if a refresh token is presented a second
+ * time, it was copied by someone, and the whole family is revoked, so that neither copy can be used again.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    /**
+     * The header carrying the refresh token in the responses of the login and of the refresh endpoint.
+     */
+    public static final String REFRESH_TOKEN_HEADER = "Refresh-Token";
+
+    /**
+     * The number of random bytes of a refresh token.
+     */
+    private static final int TOKEN_LENGTH = 32;
+
+    /**
+     * The name of the counter of the refresh token exchanges.
+     */
+    private static final String EXCHANGE_COUNTER = "artemis.auth.refresh-token.exchange";
+
+    /**
+     * Repository used to store, exchange and revoke the refresh tokens.
+     */
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    /**
+     * The service used to load the account of a refresh token, usually from the user cache.
+     */
+    private final ArtemisUserDetailsService artemisUserDetailsService;
+
+    /**
+     * The service used to mint the access token of a user account.
+     */
+    private final JwtService jwtService;
+
+    /**
+     * The cache used to vend the access token of a service account.
+     */
+    private final ServiceTokenVendingCache serviceTokenVendingCache;
+
+    /**
+     * The list checked for a revocation of the account made after the login of a refresh token.
+     */
+    private final TokenRevocationList tokenRevocationList;
+
+    /**
+     * Indicates whether refresh tokens are issued and exchanged.
+     */
+    @Getter
+    private final boolean enabled;
+
+    /**
+     * How long the refresh tokens of a login can be exchanged after the login. Rotating a refresh token does
+     * not extend it, so a stolen family cannot be kept alive by refreshing it.
+     */
+    private final Duration lifetime;
+
+    /**
+     * Checks that the account of a refresh token is still enabled, unlocked and unexpired.
+     */
+    private final AccountStatusUserDetailsChecker accountStatusChecker = new AccountStatusUserDetailsChecker();
+
+    /**
+     * Source of the refresh tokens.
+     */
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * The number of refresh tokens exchanged for a new access token.
+     */
+    private final Counter refreshedCounter;
+
+    /**
+     * The number of refresh tokens rejected because they were unknown, expired, or their account changed.
+     */
+    private final Counter rejectedCounter;
+
+    /**
+     * The number of refresh tokens presented after they were used, each of which revoked its family.
+     */
+    private final Counter reusedCounter;
+
+    /**
+     * Constructs an instance of RefreshTokenService.
+     *
+     * @param refreshTokenRepository the repository used to store, exchange and revoke the refresh tokens
+     * @param artemisUserDetailsService the service used to load the account of a refresh token
+     * @param jwtService the service used to mint the access token of a user account
+     * @param serviceTokenVendingCache the cache used to vend the access token of a service account
+     * @param tokenRevocationList the list checked for a revocation of the account
+     * @param meterRegistry the registry where the exchange counters are published
+     * @param enabled whether refresh tokens are issued and exchanged
+     * @param lifetime how long the refresh tokens of a login can be exchanged after the login
+     */
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               ArtemisUserDetailsService artemisUserDetailsService,
+                               JwtService jwtService,
+                               ServiceTokenVendingCache serviceTokenVendingCache,
+                               TokenRevocationList tokenRevocationList,
+                               MeterRegistry meterRegistry,
+                               @Value("${application.security.jwt.refresh-token.enabled:false}") boolean enabled,
+                               @Value("${application.security.jwt.refresh-token.lifetime:14d}") Duration lifetime) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.artemisUserDetailsService = artemisUserDetailsService;
+        this.jwtService = jwtService;
+        this.serviceTokenVendingCache = serviceTokenVendingCache;
+        this.tokenRevocationList = tokenRevocationList;
+        this.enabled = enabled;
+        this.lifetime = lifetime;
+        this.refreshedCounter = exchangeCounter(meterRegistry, "refreshed");
+        this.rejectedCounter = exchangeCounter(meterRegistry, "rejected");
+        this.reusedCounter = exchangeCounter(meterRegistry, "reused");
+        log.info("Refresh tokens enabled: {}, lifetime: {}", enabled, lifetime);
+    }
+
+    /**
+     * Issues the refresh token of a new login, starting a new family. A login does not fail if the refresh
+     * token cannot be stored; the client only has to log in again when its access token expires.
+     *
+     * @param user the authenticated account
+     * @param accountType the type of the account
+     * @return the refresh token, or null if refresh tokens are disabled or the refresh token could not be stored
+     */
+    public String issue(UserDetails user, String accountType) {
+        if(!enabled){
+            return null;
+        }
+        try{
+            Instant now = Instant.now();
+            return store(UUID.randomUUID().toString(), user.getUsername(), accountType, securityStamp(user),
+                    now, now);
+        }catch (RuntimeException e){
+            log.warn("Refresh token could not be issued for user {}: {}", user.getUsername(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Exchanges the refresh token for a new access token and a new refresh token of the same family. The
+     * account is loaded again, usually from the user cache, so that an account that was removed, disabled,
+     * locked or expired, or whose security stamp was rotated, cannot refresh its tokens. The account is also checked against the
+     * revocation list, so that a refresh token that was exchanged while its account was being revoked does
+     * not outlive the revocation.
+     *
+     * @param refreshToken the refresh token
+     * @return the new access token and refresh token
+     * @throws BadCredentialsException if the refresh token is unknown, expired or already used, or its
+     *         account was removed, revoked or its security stamp rotated
+     * @throws AccountStatusException if the account is disabled, locked or expired
+     */
+    public Grant refresh(String refreshToken) {
+        if(!enabled){
+            throw new BadCredentialsException("Refresh tokens are not enabled");
+        }
+        Instant now = Instant.now();
+        String tokenHash = hash(refreshToken);
+        RefreshToken stored = refreshTokenRepository.findById(tokenHash).orElse(null);
+        if(stored == null || !stored.getExpiresAt().isAfter(now)){
+            rejectedCounter.increment();
+            throw new BadCredentialsException("Invalid or expired refresh token");
+        }
+        if(stored.getUsedAt() != null || refreshTokenRepository.markUsed(tokenHash, now) == 0){
+            /*
+                The refresh token was already exchanged, so it has been copied; the family is revoked
+                so that the copy and the tokens rotated from the original cannot be used either
+             */
+            reusedCounter.increment();
+            refreshTokenRepository.deleteByFamilyId(stored.getFamilyId());
+            log.warn("Refresh token of user {} was used twice, its family is revoked", stored.getUsername());
+            throw new BadCredentialsException("Invalid or expired refresh token");
+        }
+        UserDetails user;
+        try{
+            user = artemisUserDetailsService.loadUserByUsernameAndAccountType(stored.getUsername(),
+                    stored.getAccountType());
+        }catch (UserNotFoundException e){
+            rejectedCounter.increment();
+            refreshTokenRepository.deleteByFamilyId(stored.getFamilyId());
+            throw new BadCredentialsException("Invalid or expired refresh token");
+        }
+        try{
+            accountStatusChecker.check(user);
+        }catch (AccountStatusException e){
+            rejectedCounter.increment();
+            refreshTokenRepository.deleteByFamilyId(stored.getFamilyId());
+            log.warn("Refresh token of user {} rejected: {}", stored.getUsername(), e.getMessage());
+            throw e;
+        }
+        if(securityStamp(user) != stored.getSecurityStamp()){
+            rejectedCounter.increment();
+            refreshTokenRepository.deleteByFamilyId(stored.getFamilyId());
+            log.warn("Refresh token of user {} rejected, the account has changed", stored.getUsername());
+            throw new BadCredentialsException("Invalid or expired refresh token");
+        }
+        // A refresh token stored before the login instant was carried over counts its family from its own issue
+        Instant familyIssuedAt = stored.getFamilyIssuedAt() != null ?
+                stored.getFamilyIssuedAt() : stored.getIssuedAt();
+        if(tokenRevocationList.isSubjectRevoked(stored.getUsername(), stored.getAccountType(), familyIssuedAt)){
+            rejectedCounter.increment();
+            refreshTokenRepository.deleteByFamilyId(stored.getFamilyId());
+            log.warn("Refresh token of user {} rejected, the tokens of the account are revoked", stored.getUsername());
+            throw new BadCredentialsException("Invalid or expired refresh token");
+        }
+        String accessToken = user instanceof ServiceUser serviceUser ?
+                serviceTokenVendingCache.tokenFor(serviceUser) :
+                jwtService.generateToken(user, stored.getAccountType());
+        String rotated = store(stored.getFamilyId(), stored.getUsername(), stored.getAccountType(),
+                stored.getSecurityStamp(), familyIssuedAt, now);
+        refreshedCounter.increment();
+        return new Grant(accessToken, rotated);
+    }
+
+    /**
+     * Deletes the refresh tokens that have expired. The used refresh tokens are kept until then, so that a
+     * second use is detected for as long as the refresh token could have been exchanged.
+     */
+    @Scheduled(fixedDelayString = "${application.security.jwt.refresh-token.cleanup-interval:1h}")
+    public void deleteExpired() {
+        if(!enabled){
+            return;
+        }
+        try{
+            refreshTokenRepository.deleteByExpiresAtBefore(Instant.now());
+        }catch (RuntimeException e){
+            log.warn("Expired refresh tokens could not be deleted: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Generates a refresh token and stores its hash.
+     *
+     * @param familyId the family of the refresh token
+     * @param username the username of the account
+     * @param accountType the type of the account
+     * @param securityStamp the security stamp of the account when the family was issued
+     * @param familyIssuedAt the instant of the login that started the family
+     * @param now the current instant
+     * @return the refresh token
+     */
+    private String store(String familyId, String username, String accountType, long securityStamp,
+                         Instant familyIssuedAt, Instant now) {
+        byte[] random = new byte[TOKEN_LENGTH];
+        secureRandom.nextBytes(random);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+        refreshTokenRepository.insert(RefreshToken.builder()
+                .tokenHash(hash(refreshToken))
+                .familyId(familyId)
+                .username(username)
+                .accountType(accountType)
+                .securityStamp(securityStamp)
+                .issuedAt(now)
+                .familyIssuedAt(familyIssuedAt)
+                .expiresAt(familyIssuedAt.plus(lifetime))
+                .build());
+        return refreshToken;
+    }
+
+    /**
+     * Hashes the refresh token with SHA-256.
+     *
+     * @param refreshToken the refresh token
+     * @return the Base64url encoded hash
+     */
+    private static String hash(String refreshToken) {
+        try{
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        }catch (NoSuchAlgorithmException e){
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Returns the security stamp of the account.
+     *
+     * @param user the account
+     * @return the security stamp, or 0 if the account has none
+     */
+    private static long securityStamp(UserDetails user) {
+        return user instanceof SecurityStamped securityStamped ? securityStamped.getSecurityStamp() : 0L;
+    }
+
+    /**
+     * Creates the counter of the exchanges with the given outcome.
+     *
+     * @param meterRegistry the registry where the counter is published
+     * @param outcome the outcome of the exchange
+     * @return the counter
+     */
+    private static Counter exchangeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(EXCHANGE_COUNTER)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The tokens returned by an exchange.
+     */
+    @Getter
+    public static final class Grant {
+
+        /**
+         * The new access token.
+         */
+        private final String accessToken;
+
+        /**
+         * The refresh token replacing the one that was exchanged.
+         */
+        private final String refreshToken;
+
+        private Grant(String accessToken, String refreshToken) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.brihaspathee.artemis.auth.ArtemisUserDetailsService;
+import com.brihaspathee.artemis.auth.document.SecurityStamped;
+import com.brihaspathee.artemis.auth.document.ServiceUser;
+import com.brihaspathee.artemis.auth.document.User;
+import com.brihaspathee.artemis.auth.event.UserChangeEvent;
+import com.brihaspathee.artemis.auth.event.interfaces.UserChangeEventSource;
+import com.brihaspathee.artemis.exception.UserNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 11:48
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ */
+@Slf4j
+@Service
+public class SecurityStampService {
+
+    /**
+     * The service used to load the current security stamp of an account that is not in the version table.
+     */
+    private final ArtemisUserDetailsService artemisUserDetailsService;
+
+    /**
+     * Used to change the security stamp of an account in the database.
+     */
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * The in-memory version table holding the current security stamp of recently seen accounts,
+     * keyed by account type and username. Entries are refreshed from the database once they are
+     * older than the configured time to live, which bounds how long a token stays valid on this
+     * node after the stamp of the account is changed on another node.
+     */
+    private final Cache<String, AccountStamp> versionTable;
+
+    /**
+     * Constructs an instance of SecurityStampService.
+     *
+     * @param artemisUserDetailsService the service used to load accounts from the database
+     * @param mongoTemplate the template used to update the security stamp of an account
+     * @param userChangeEventSource the source of the changes to the user and service user documents
+     * @param timeToLive how long a security stamp is trusted before it is read from the database again
+     * @param maximumSize the maximum number of accounts held in the version table
+     */
+    public SecurityStampService(ArtemisUserDetailsService artemisUserDetailsService,
+                                MongoTemplate mongoTemplate,
+                                UserChangeEventSource userChangeEventSource,
+                                @Value("${application.security.jwt.stateless.stamp-ttl:30s}") Duration timeToLive,
+                                @Value("${application.security.jwt.stateless.maximum-size:10000}") long maximumSize) {
+        this.artemisUserDetailsService = artemisUserDetailsService;
+        this.mongoTemplate = mongoTemplate;
+        this.versionTable = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+        userChangeEventSource.subscribe(this::onUserChange);
+    }
+
+    /**
+     * Checks if the security stamp carried by the token is the current security stamp of the account.
+     * The stamp is compared against the in-memory version table, and the database is read only
+     * if the account is not in the table.
+     *
+     * @param claims the verified claims of the token
+     * @return true if the token carries a security stamp that matches the current stamp of the account,
+     *         false if the stamp does not match, the token has no stamp or the account no longer exists
+     */
+    public boolean isCurrent(JwtClaims claims) {
+        Boolean current = isCurrentIfKnown(claims);
+        if(current != null){
+            return current;
+        }
+        try{
+            UserDetails userDetails = artemisUserDetailsService.loadUserByUsernameAndAccountType(
+                    claims.getUsername(), claims.getAccountType());
+            return isCurrent(claims, userDetails);
+        }catch (UserNotFoundException e){
+            log.warn("Security stamp not found for user {}", claims.getUsername());
+            return false;
+        }
+    }
+
+    /**
+     * Checks the security stamp carried by the token against the in-memory version table only, so that
+     * a caller that must not block can load the account itself when the table cannot answer.
+     *
+     * @param claims the verified claims of the token
+     * @return true if the stamp matches the current stamp of the account, false if it does not or the token
+     *         has no stamp, or null if the account is not in the version table
+     */
+    public Boolean isCurrentIfKnown(JwtClaims claims) {
+        if(claims.getSecurityStamp() == null){
+            return false;
+        }
+        AccountStamp currentStamp = versionTable.getIfPresent(key(claims.getUsername(), claims.getAccountType()));
+        return currentStamp == null ? null : currentStamp.stamp == claims.getSecurityStamp();
+    }
+
+    /**
+     * Checks the security stamp carried by the token against the account loaded by the caller, and records
+     * the stamp of the account in the version table.
+     *
+     * @param claims the verified claims of the token
+     * @param userDetails the account of the token, loaded from the user cache or the database
+     * @return true if the token carries a security stamp that matches the current stamp of the account
+     */
+    public boolean isCurrent(JwtClaims claims, UserDetails userDetails) {
+        if(claims.getSecurityStamp() == null){
+            return false;
+        }
+        AccountStamp currentStamp = AccountStamp.of(userDetails);
+        versionTable.put(key(claims.getUsername(), claims.getAccountType()), currentStamp);
+        return currentStamp.stamp == claims.getSecurityStamp();
+    }
+
+    /**
+     * Changes the security stamp of the account, which invalidates all the tokens that were issued
+     * to the account so far. The change takes effect immediately on this node and within the
+     * configured time to live on the other nodes.
+     *
+     * @param username the username of the account
+     * @param accountType the type of the account
+     */
+    public void rotateStamp(String username, String accountType) {
+        Query query = accountType.equals("USER-ACCOUNT") ?
+                Query.query(Criteria.where("username").is(username)) :
+                Query.query(Criteria.where("serviceName").is(username));
+        Class<?> documentClass = accountType.equals("USER-ACCOUNT") ? User.class : ServiceUser.class;
+        mongoTemplate.updateFirst(query, new Update().inc("securityStamp", 1), documentClass);
+        artemisUserDetailsService.evict(username, accountType);
+        evict(username, accountType);
+        log.info("Security stamp rotated for user {}", username);
+    }
+
+    /**
+     * Removes the account from the version table, so that its security stamp is read from the
+     * database the next time a token of the account is presented.
+     *
+     * @param username the username of the account
+     * @param accountType the type of the account
+     */
+    public void evict(String username, String accountType) {
+        versionTable.invalidate(key(username, accountType));
+    }
+
+    /**
+     * Removes the accounts affected by a change to the user or service user documents from the
+     * version table, so that a changed security stamp takes effect on the next request.
+     *
+     * @param event the change to the user or service user documents
+     */
+    private void onUserChange(UserChangeEvent event) {
+        versionTable.asMap().values().removeIf(accountStamp ->
+                accountStamp.collection.equals(event.getCollection()) &&
+                        (event.isCollectionWide() || event.getDocumentId().equals(accountStamp.documentId)));
+    }
+
+    /**
+     * Builds the key of the account in the version table.
+     *
+     * @param username the username of the account
+     * @param accountType the type of the account
+     * @return the key of the account
+     */
+    private static String key(String username, String accountType) {
+        return accountType + ":" + username;
+    }
+
+    /**
+     * An entry of the version table, holding the security stamp of an account together with the
+     * document it was read from, so that the entry can be removed when the document changes.
+     */
+    private static final class AccountStamp {
+
+        /**
+         * The collection holding the document of the account.
+         */
+        private final String collection;
+
+        /**
+         * The identifier of the document of the account.
+         */
+        private final String documentId;
+
+        /**
+         * The current security stamp of the account.
+         */
+        private final long stamp;
+
+        private AccountStamp(String collection, String documentId, long stamp) {
+            this.collection = collection;
+            this.documentId = documentId;
+            this.stamp = stamp;
+        }
+
+        /**
+         * Creates the entry of the version table for the given account.
+         *
+         * @param userDetails the account loaded from the database
+         * @return the entry of the version table
+         */
+        private static AccountStamp of(UserDetails userDetails) {
+            long stamp = userDetails instanceof SecurityStamped securityStamped ? securityStamped.getSecurityStamp() : 0L;
+            if(userDetails instanceof ServiceUser serviceUser){
+                return new AccountStamp(UserChangeEventSource.SERVICE_USERS_COLLECTION, serviceUser.getServiceUserId(), stamp);
+            }
+            String documentId = userDetails instanceof User user ? user.getUserId() : null;
+            return new AccountStamp(UserChangeEventSource.USERS_COLLECTION, documentId, stamp);
+        }
+    }
+}
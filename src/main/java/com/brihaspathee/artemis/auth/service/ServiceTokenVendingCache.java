@@ -0,0 +1,207 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.brihaspathee.artemis.auth.document.ServiceUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Collectors;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 20:05
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ */
+@Slf4j
+@Component
+public class ServiceTokenVendingCache {
+
+    /**
+     * The account type the vended tokens are issued for. Only service accounts are vended.
+     */
+    private static final String SERVICE_ACCOUNT = "SERVICE-ACCOUNT";
+
+    /**
+     * The service used to mint a new token when there is no token to vend.
+     */
+    private final JwtService jwtService;
+
+    /**
+     * The list of revoked tokens. A revoked token is never vended again, even if it has not expired.
+     */
+    private final TokenRevocationList tokenRevocationList;
+
+    /**
+     * Indicates whether tokens are vended. When disabled a new token is minted on every login.
+     */
+    private final boolean enabled;
+
+    /**
+     * A token is vended only while it has more than this much time left before it expires.
+     * Inside this window a new token is minted, so clients always receive a token with
+     * a useful remaining lifetime.
+     */
+    private final Duration refreshAhead;
+
+    /**
+     * The last token minted for each service principal, keyed by the service name, its security
+     * stamp and its authorities, so that a change to either of them mints a new token.
+     * Each entry expires when its token enters the refresh-ahead window.
+     */
+    private final Cache<String, VendedToken> tokens;
+
+    /**
+     * The number of logins answered with a previously minted token.
+     */
+    private final Counter reusedCounter;
+
+    /**
+     * The number of logins for which a new token was minted.
+     */
+    private final Counter mintedCounter;
+
+    /**
+     * Constructs an instance of ServiceTokenVendingCache.
+     *
+     * @param jwtService the service used to mint the tokens
+     * @param tokenRevocationList the list of revoked tokens
+     * @param meterRegistry the registry where the vending counters are published
+     * @param enabled whether tokens are vended
+     * @param refreshAhead how long before its expiry a token is no longer vended
+     * @param maximumSize the maximum number of service principals whose token is held
+     */
+    public ServiceTokenVendingCache(JwtService jwtService,
+                                    TokenRevocationList tokenRevocationList,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${application.security.jwt.token-vending.enabled:false}") boolean enabled,
+                                    @Value("${application.security.jwt.token-vending.refresh-ahead:15m}") Duration refreshAhead,
+                                    @Value("${application.security.jwt.token-vending.maximum-size:1000}") long maximumSize) {
+        this.jwtService = jwtService;
+        this.tokenRevocationList = tokenRevocationList;
+        this.enabled = enabled;
+        this.refreshAhead = refreshAhead;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new RefreshAheadExpiry())
+                .build();
+        this.reusedCounter = Counter.builder("artemis.auth.token.vending")
+                .tag("outcome", "reused")
+                .register(meterRegistry);
+        this.mintedCounter = Counter.builder("artemis.auth.token.vending")
+                .tag("outcome", "minted")
+                .register(meterRegistry);
+        log.info("Service token vending enabled: {}, refresh ahead: {}", enabled, refreshAhead);
+    }
+
+    /**
+     * Returns a token for the service user. If a token was minted for the same service, security
+     * stamp and authorities, and it is neither inside the refresh-ahead window nor revoked, that token
+     * is returned; otherwise a new token is minted. Concurrent logins of the same service share a
+     * single newly minted token.
+     *
+     * @param serviceUser the authenticated service user
+     * @return a signed token for the service user
+     */
+    public String tokenFor(ServiceUser serviceUser) {
+        if(!enabled){
+            return jwtService.generateToken(serviceUser, SERVICE_ACCOUNT);
+        }
+        VendedToken vended = tokens.asMap().compute(key(serviceUser), (key, existing) -> {
+            if(existing != null && existing.isVendable(refreshAhead)
+                    && !tokenRevocationList.isRevoked(existing.claims)){
+                reusedCounter.increment();
+                return existing;
+            }
+            mintedCounter.increment();
+            String token = jwtService.generateToken(serviceUser, SERVICE_ACCOUNT);
+            // The claims are kept to check the token against the revocation list before it is vended again
+            return new VendedToken(token, jwtService.verifyToken(token));
+        });
+        return vended.token;
+    }
+
+    /**
+     * Builds the key of the service principal. The authorities are sorted so that the key does not
+     * depend on the order in which they are stored.
+     *
+     * @param serviceUser the service user
+     * @return the key of the service principal
+     */
+    private static String key(ServiceUser serviceUser) {
+        String authorities = serviceUser.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+        return serviceUser.getServiceName() + ":" + serviceUser.getSecurityStamp() + ":" + authorities;
+    }
+
+    /**
+     * A token minted for a service principal.
+     */
+    private static final class VendedToken {
+
+        /**
+         * The signed token.
+         */
+        private final String token;
+
+        /**
+         * The verified claims of the token.
+         */
+        private final JwtClaims claims;
+
+        /**
+         * The instant at which the token expires.
+         */
+        private final Instant expiresAt;
+
+        private VendedToken(String token, JwtClaims claims) {
+            this.token = token;
+            this.claims = claims;
+            this.expiresAt = claims.getExpiration();
+        }
+
+        /**
+         * Checks if the token still has more than the refresh-ahead window left before it expires.
+         *
+         * @param refreshAhead the refresh-ahead window
+         * @return true if the token can be vended, false if a new token should be minted
+         */
+        private boolean isVendable(Duration refreshAhead) {
+            return Instant.now().plus(refreshAhead).isBefore(expiresAt);
+        }
+    }
+
+    /**
+     * Expires each entry when its token enters the refresh-ahead window.
+     */
+    private final class RefreshAheadExpiry implements Expiry<String, VendedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VendedToken vended, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), vended.expiresAt.minus(refreshAhead)).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VendedToken vended, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, vended, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VendedToken vended, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,531 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.brihaspathee.artemis.auth.document.SigningKey;
+import com.brihaspathee.artemis.auth.repository.SigningKeyRepository;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 09:30
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ *
+ * The keys used to sign and verify the JWTs. Every token carries the id of its key in the "kid" header,
+ * and is verified with a single map lookup of that id. One key signs new tokens; the keys it replaced keep
+ * verifying the tokens they signed until those tokens have expired, so a rotation never invalidates a
+ * token that is still in use.
+ * <p>
+ * When rotation is disabled, the ring holds only the configured secret key. When it is enabled, the keys
+ * are stored in the signing-keys collection, so that every instance of the service signs and verifies with
+ * the same keys. Each key is published ahead of the instant it starts signing, so that every instance has
+ * loaded it before any instance signs with it, and is retired once the tokens it signed last have expired.
+ * <p>
+ * With the ES256 algorithm the keys are EC key pairs, always stored and rotated, whose public keys are
+ * published in the JWKS so that other services can verify the tokens without calling this service.
+ */
+@Slf4j
+@Component
+public class SigningKeyRing {
+
+    /**
+     * The algorithms the ring can sign with.
+     */
+    private static final List<SignatureAlgorithm> SUPPORTED_ALGORITHMS = List.of(SignatureAlgorithm.HS256,
+            SignatureAlgorithm.ES256);
+
+    /**
+     * The cipher used to encrypt the stored key material.
+     */
+    private static final String KEY_WRAP_CIPHER = "AES/GCM/NoPadding";
+
+    /**
+     * The length in bytes of the initialization vector of the key wrap cipher.
+     */
+    private static final int KEY_WRAP_IV_LENGTH = 12;
+
+    /**
+     * The length in bits of the authentication tag of the key wrap cipher.
+     */
+    private static final int KEY_WRAP_TAG_LENGTH = 128;
+
+    /**
+     * Repository used to store and load the rotated keys.
+     */
+    private final SigningKeyRepository signingKeyRepository;
+
+    /**
+     * Indicates whether the keys are rotated. When disabled, HS256 tokens are signed with the configured secret key.
+     */
+    @Getter
+    private final boolean rotationEnabled;
+
+    /**
+     * The JWS algorithm of the keys that sign new tokens.
+     */
+    @Getter
+    private final SignatureAlgorithm algorithm;
+
+    /**
+     * Indicates whether the keys are stored in the signing-keys collection, which is the case when they are
+     * rotated or are asymmetric, since the public keys of an asymmetric algorithm must be the same everywhere.
+     */
+    private final boolean keysStored;
+
+    /**
+     * How long each rotated key signs new tokens before the next key replaces it.
+     */
+    private final Duration rotationInterval;
+
+    /**
+     * How long a replaced key keeps verifying tokens, at least the lifetime of a token.
+     */
+    private final Duration overlap;
+
+    /**
+     * How long before it starts signing a new key is published. It must be longer than the interval
+     * between two refreshes, so that every instance loads the key before it is used.
+     */
+    private final Duration publishAhead;
+
+    /**
+     * The configured secret key, which signs every token when rotation is disabled, and the tokens that were
+     * issued without a key id before rotation was enabled.
+     */
+    private final KeyEntry configuredKey;
+
+    /**
+     * The configured secret key is accepted until this instant once the keys are stored, so that the
+     * tokens issued before the first stored key was loaded can expire.
+     */
+    private final Instant configuredKeyAcceptedUntil;
+
+    /**
+     * The key used to encrypt the stored key material, derived from the configured secret key.
+     */
+    private final SecretKey wrappingKey;
+
+    /**
+     * Source of the rotated keys and of the initialization vectors of the key wrap cipher.
+     */
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * The current snapshot of the ring. The snapshot is never modified; every refresh builds a new
+     * snapshot and swaps it in, so signing and verifying never block.
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * Serializes the refreshes. A lock is used rather than a monitor because the refresh reads from
+     * the database while holding it, which would pin the carrier thread of a virtual thread.
+     */
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    /**
+     * Constructs an instance of SigningKeyRing. When the keys are stored they are loaded,
+     * and the first one published if there is none, before the first token is signed.
+     *
+     * @param signingKeyRepository the repository used to store and load the rotated keys
+     * @param secretKey the Base64-encoded configured secret key
+     * @param expiration the validity period of the tokens in milliseconds
+     * @param algorithm the JWS algorithm that signs new tokens, HS256 or ES256
+     * @param rotationEnabled whether the keys are rotated
+     * @param rotationInterval how long each rotated key signs new tokens
+     * @param overlap how long a replaced key keeps verifying tokens; the token lifetime is used if it is longer
+     * @param publishAhead how long before it starts signing a new key is published
+     */
+    public SigningKeyRing(SigningKeyRepository signingKeyRepository,
+                          @Value("${application.security.jwt.secret-key}") String secretKey,
+                          @Value("${application.security.jwt.expiration}") long expiration,
+                          @Value("${application.security.jwt.algorithm:HS256}") String algorithm,
+                          @Value("${application.security.jwt.key-rotation.enabled:false}") boolean rotationEnabled,
+                          @Value("${application.security.jwt.key-rotation.interval:24h}") Duration rotationInterval,
+                          @Value("${application.security.jwt.key-rotation.overlap:0s}") Duration overlap,
+                          @Value("${application.security.jwt.key-rotation.publish-ahead:5m}") Duration publishAhead) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.rotationEnabled = rotationEnabled;
+        this.algorithm = SignatureAlgorithm.forName(algorithm);
+        if(!SUPPORTED_ALGORITHMS.contains(this.algorithm)){
+            throw new IllegalStateException("application.security.jwt.algorithm must be one of " + SUPPORTED_ALGORITHMS);
+        }
+        this.keysStored = rotationEnabled || this.algorithm.isEllipticCurve();
+        this.rotationInterval = rotationInterval;
+        Duration tokenLifetime = Duration.ofMillis(expiration);
+        this.overlap = overlap.compareTo(tokenLifetime) > 0 ? overlap : tokenLifetime;
+        this.publishAhead = publishAhead;
+        byte[] secret = Decoders.BASE64.decode(secretKey);
+        this.configuredKey = new KeyEntry(fingerprint(secret), Keys.hmacShaKeyFor(secret));
+        this.configuredKeyAcceptedUntil = Instant.now().plus(this.overlap);
+        this.wrappingKey = deriveWrappingKey(secret);
+        this.snapshot = new Snapshot(Map.of(configuredKey.getKid(), configuredKey.getKey()), Map.of(), configuredKey);
+        if(keysStored){
+            if(publishAhead.isZero() || publishAhead.isNegative() || publishAhead.compareTo(rotationInterval) >= 0){
+                throw new IllegalStateException("application.security.jwt.key-rotation.publish-ahead must be positive and shorter than the rotation interval");
+            }
+            refresh(Instant.now());
+        }
+        log.info("JWT signing key ring initialized, signing with {}, rotation {}", this.algorithm,
+                keysStored ? "every " + rotationInterval : "disabled");
+    }
+
+    /**
+     * Returns the key that signs new tokens.
+     *
+     * @return the id and the key of the current signing key
+     */
+    public KeyEntry signingKey() {
+        return snapshot.current;
+    }
+
+    /**
+     * Returns the key with the given id, used to verify the signature of a token. Tokens issued without a
+     * key id are verified with the configured secret key, while it is accepted.
+     *
+     * @param kid the key id in the header of the token, or null if the token has none
+     * @return the key with the given id
+     * @throws SignatureException if no key with the given id is in the ring, e.g. because it was retired
+     */
+    public Key verificationKey(String kid) {
+        Key key = snapshot.verificationKeys.get(kid == null ? configuredKey.getKid() : kid);
+        if(key == null){
+            throw new SignatureException("Unknown or retired signing key: " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * Returns the public keys of the asymmetric keys in the ring, including the keys that have been published
+     * but have not started signing yet. Symmetric keys are never published.
+     *
+     * @return the public keys, keyed by key id
+     */
+    public Map<String, PublicKey> publicKeys() {
+        return snapshot.publicKeys;
+    }
+
+    /**
+     * Reloads the rotated keys on a fixed delay, publishing the next key once it is due,
+     * and swaps in a new snapshot. A failed refresh keeps the current snapshot.
+     */
+    @Scheduled(fixedDelayString = "${application.security.jwt.key-rotation.refresh-interval:1m}")
+    public void refresh() {
+        if(!keysStored){
+            return;
+        }
+        refresh(Instant.now());
+    }
+
+    /**
+     * Reloads the rotated keys as of the given instant. The next key is published once the current key
+     * has less than the publish-ahead left to sign; instances publishing at the same time derive the same
+     * key id, so only the first insert succeeds and the others load the key it stored. Only the keys of the
+     * configured algorithm are rotated; the keys of another algorithm keep verifying until they are retired,
+     * so that switching the algorithm does not invalidate the tokens that were already issued.
+     *
+     * @param now the current instant
+     */
+    void refresh(Instant now) {
+        refreshLock.lock();
+        try{
+            List<SigningKey> keys = signingKeyRepository.findByRetireAtAfter(now);
+            SigningKey latest = keys.stream()
+                    .filter(key -> algorithm.getValue().equals(key.getAlgorithm()))
+                    .max(Comparator.comparing(SigningKey::getSigningFrom)).orElse(null);
+            if(latest == null || !latest.getSigningFrom().plus(rotationInterval).minus(publishAhead).isAfter(now)){
+                publishNext(latest, now);
+                keys = signingKeyRepository.findByRetireAtAfter(now);
+            }
+            snapshot = buildSnapshot(keys, now);
+            signingKeyRepository.deleteByRetireAtBefore(now);
+        }catch (RuntimeException e){
+            log.warn("Signing key ring refresh failed, serving the current keys: {}", e.getMessage());
+        }finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Publishes the key that replaces the latest key. The new key starts signing when the latest key has
+     * signed for a full rotation interval, or at the start of the current interval if that has already
+     * passed, e.g. when the first key is published or the service was stopped for a while.
+     *
+     * @param latest the latest published key, or null if there is none
+     * @param now the current instant
+     */
+    private void publishNext(SigningKey latest, Instant now) {
+        Instant signingFrom = intervalStart(now);
+        if(latest != null && latest.getSigningFrom().plus(rotationInterval).isAfter(signingFrom)){
+            signingFrom = latest.getSigningFrom().plus(rotationInterval);
+        }
+        String kid = (algorithm.isEllipticCurve() ? "es-" : "hs-") + signingFrom.getEpochSecond();
+        String publicKey = null;
+        byte[] material;
+        if(algorithm.isEllipticCurve()){
+            KeyPair keyPair = Keys.keyPairFor(algorithm);
+            publicKey = Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+            material = keyPair.getPrivate().getEncoded();
+        }else {
+            material = Keys.secretKeyFor(algorithm).getEncoded();
+        }
+        try{
+            signingKeyRepository.insert(SigningKey.builder()
+                    .kid(kid)
+                    .algorithm(algorithm.getValue())
+                    .keyMaterial(wrap(kid, material))
+                    .publicKey(publicKey)
+                    .signingFrom(signingFrom)
+                    .retireAt(signingFrom.plus(rotationInterval).plus(publishAhead).plus(overlap))
+                    .build());
+            log.info("Published signing key {}, signing from {}", kid, signingFrom);
+        }catch (DuplicateKeyException e){
+            log.info("Signing key {} was published by another instance", kid);
+        }finally {
+            Arrays.fill(material, (byte) 0);
+        }
+    }
+
+    /**
+     * Builds the snapshot of the ring from the loaded keys. The current signing key is the latest key of the
+     * configured algorithm that has started signing; every loaded key verifies tokens, including the keys
+     * that have not started signing.
+     *
+     * @param keys the keys that are not yet retired
+     * @param now the current instant
+     * @return the snapshot of the ring
+     */
+    private Snapshot buildSnapshot(List<SigningKey> keys, Instant now) {
+        Map<String, Key> verificationKeys = new HashMap<>();
+        Map<String, PublicKey> publicKeys = new HashMap<>();
+        SigningKey currentKey = null;
+        for (SigningKey signingKey : keys) {
+            if(SignatureAlgorithm.forName(signingKey.getAlgorithm()).isEllipticCurve()){
+                PublicKey publicKey = decodePublicKey(signingKey);
+                verificationKeys.put(signingKey.getKid(), publicKey);
+                publicKeys.put(signingKey.getKid(), publicKey);
+            }else {
+                verificationKeys.put(signingKey.getKid(),
+                        Keys.hmacShaKeyFor(unwrap(signingKey.getKid(), signingKey.getKeyMaterial())));
+            }
+            if(algorithm.getValue().equals(signingKey.getAlgorithm())
+                    && !signingKey.getSigningFrom().isAfter(now)
+                    && (currentKey == null || signingKey.getSigningFrom().isAfter(currentKey.getSigningFrom()))){
+                currentKey = signingKey;
+            }
+        }
+        KeyEntry current = currentKey == null ? configuredKey : new KeyEntry(currentKey.getKid(),
+                algorithm.isEllipticCurve() ? decodePrivateKey(currentKey) : verificationKeys.get(currentKey.getKid()));
+        if(current == configuredKey || now.isBefore(configuredKeyAcceptedUntil)){
+            verificationKeys.put(configuredKey.getKid(), configuredKey.getKey());
+        }
+        return new Snapshot(Map.copyOf(verificationKeys), Map.copyOf(publicKeys), current);
+    }
+
+    /**
+     * Decodes the public key of a stored EC key pair.
+     *
+     * @param signingKey the stored key
+     * @return the public key
+     */
+    private static PublicKey decodePublicKey(SigningKey signingKey) {
+        try{
+            return KeyFactory.getInstance("EC")
+                    .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(signingKey.getPublicKey())));
+        }catch (GeneralSecurityException e){
+            throw new IllegalStateException("Public key of signing key " + signingKey.getKid() + " could not be decoded", e);
+        }
+    }
+
+    /**
+     * Decrypts and decodes the private key of a stored EC key pair.
+     *
+     * @param signingKey the stored key
+     * @return the private key
+     */
+    private PrivateKey decodePrivateKey(SigningKey signingKey) {
+        byte[] material = unwrap(signingKey.getKid(), signingKey.getKeyMaterial());
+        try{
+            return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(material));
+        }catch (GeneralSecurityException e){
+            throw new IllegalStateException("Private key of signing key " + signingKey.getKid() + " could not be decoded", e);
+        }finally {
+            Arrays.fill(material, (byte) 0);
+        }
+    }
+
+    /**
+     * Returns the start of the rotation interval the given instant falls in. Intervals are aligned to the
+     * epoch, so that every instance computes the same start.
+     *
+     * @param instant the instant
+     * @return the start of the rotation interval
+     */
+    private Instant intervalStart(Instant instant) {
+        long intervalSeconds = rotationInterval.toSeconds();
+        return Instant.ofEpochSecond(Math.floorDiv(instant.getEpochSecond(), intervalSeconds) * intervalSeconds);
+    }
+
+    /**
+     * Encrypts the key material for storage. The key id is bound to the ciphertext, so that the material
+     * of one key cannot be stored under the id of another.
+     *
+     * @param kid the id of the key
+     * @param material the key material
+     * @return the Base64-encoded initialization vector followed by the ciphertext
+     */
+    private String wrap(String kid, byte[] material) {
+        try{
+            byte[] iv = new byte[KEY_WRAP_IV_LENGTH];
+            secureRandom.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(KEY_WRAP_CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, wrappingKey, new GCMParameterSpec(KEY_WRAP_TAG_LENGTH, iv));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            byte[] ciphertext = cipher.doFinal(material);
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + ciphertext.length)
+                    .put(iv)
+                    .put(ciphertext)
+                    .array());
+        }catch (GeneralSecurityException e){
+            throw new IllegalStateException("Signing key could not be encrypted", e);
+        }
+    }
+
+    /**
+     * Decrypts the stored key material.
+     *
+     * @param kid the id of the key
+     * @param wrapped the Base64-encoded initialization vector followed by the ciphertext
+     * @return the key material
+     */
+    private byte[] unwrap(String kid, String wrapped) {
+        try{
+            byte[] decoded = Base64.getDecoder().decode(wrapped);
+            Cipher cipher = Cipher.getInstance(KEY_WRAP_CIPHER);
+            cipher.init(Cipher.DECRYPT_MODE, wrappingKey,
+                    new GCMParameterSpec(KEY_WRAP_TAG_LENGTH, decoded, 0, KEY_WRAP_IV_LENGTH));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            return cipher.doFinal(decoded, KEY_WRAP_IV_LENGTH, decoded.length - KEY_WRAP_IV_LENGTH);
+        }catch (GeneralSecurityException e){
+            throw new IllegalStateException("Signing key " + kid + " could not be decrypted", e);
+        }
+    }
+
+    /**
+     * Derives the key used to encrypt the stored key material from the configured secret key.
+     *
+     * @param secret the configured secret key
+     * @return the AES key
+     */
+    private static SecretKey deriveWrappingKey(byte[] secret) {
+        try{
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            return new SecretKeySpec(mac.doFinal("artemis-signing-key-wrap".getBytes(StandardCharsets.UTF_8)), "AES");
+        }catch (GeneralSecurityException e){
+            throw new IllegalStateException("Signing key wrapping key could not be derived", e);
+        }
+    }
+
+    /**
+     * Computes the key id of the configured secret key, a short digest of the key that is the same on
+     * every instance and does not reveal the key.
+     *
+     * @param secret the configured secret key
+     * @return the key id of the configured secret key
+     */
+    private static String fingerprint(byte[] secret) {
+        try{
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret);
+            return "cfg-" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 6));
+        }catch (GeneralSecurityException e){
+            throw new IllegalStateException("Signing key fingerprint could not be computed", e);
+        }
+    }
+
+    /**
+     * A key of the ring with its id.
+     */
+    @Getter
+    public static final class KeyEntry {
+
+        /**
+         * The id of the key, sent in the "kid" header of the tokens it signs.
+         */
+        private final String kid;
+
+        /**
+         * The key.
+         */
+        private final Key key;
+
+        private KeyEntry(String kid, Key key) {
+            this.kid = kid;
+            this.key = key;
+        }
+    }
+
+    /**
+     * An immutable snapshot of the ring.
+     */
+    private static final class Snapshot {
+
+        /**
+         * The keys that verify tokens, keyed by key id.
+         */
+        private final Map<String, Key> verificationKeys;
+
+        /**
+         * The public keys of the asymmetric keys, keyed by key id.
+         */
+        private final Map<String, PublicKey> publicKeys;
+
+        /**
+         * The key that signs new tokens.
+         */
+        private final KeyEntry current;
+
+        private Snapshot(Map<String, Key> verificationKeys, Map<String, PublicKey> publicKeys, KeyEntry current) {
+            this.verificationKeys = verificationKeys;
+            this.publicKeys = publicKeys;
+            this.current = current;
+        }
+    }
+}
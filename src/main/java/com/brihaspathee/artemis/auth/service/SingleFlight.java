@@ -0,0 +1,106 @@
+package com.brihaspathee.artemis.auth.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 20:30
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ *
+ * Coalesces concurrent lookups of the same key into a single call. The first caller for a key runs
+ * the lookup; callers that arrive while it is in flight wait for it and share its result or its
+ * exception. Nothing is cached: once the lookup completes, the next caller runs a new one.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the looked up values
+ */
+public final class SingleFlight<K, V> {
+
+    /**
+     * The lookups in flight, keyed by the key they look up.
+     */
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * The number of callers waiting for a lookup run by another caller.
+     */
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    /**
+     * Runs the lookup for the key, or waits for the lookup of the same key that is already in flight.
+     *
+     * @param key the key being looked up
+     * @param lookup the lookup run if no lookup of the key is in flight
+     * @return the result of the lookup
+     */
+    public V execute(K key, Supplier<V> lookup) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if(existing != null){
+            waiting.incrementAndGet();
+            try{
+                return await(existing);
+            }finally {
+                waiting.decrementAndGet();
+            }
+        }
+        try{
+            V value = lookup.get();
+            call.complete(value);
+            return value;
+        }catch (RuntimeException | Error e){
+            call.completeExceptionally(e);
+            throw e;
+        }finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Returns the number of lookups in flight.
+     *
+     * @return the number of keys being looked up
+     */
+    public int size() {
+        return inFlight.size();
+    }
+
+    /**
+     * Returns the number of callers waiting for a lookup run by another caller, i.e. the number of
+     * lookups saved by the coalescing at this moment.
+     *
+     * @return the number of waiting callers
+     */
+    public int waiting() {
+        return waiting.get();
+    }
+
+    /**
+     * Waits for a lookup run by another caller, rethrowing its exception as is.
+     *
+     * @param call the lookup in flight
+     * @return the result of the lookup
+     */
+    private static <V> V await(CompletableFuture<V> call) {
+        try{
+            return call.join();
+        }catch (CompletionException e){
+            if(e.getCause() instanceof RuntimeException runtimeException){
+                throw runtimeException;
+            }
+            if(e.getCause() instanceof Error error){
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
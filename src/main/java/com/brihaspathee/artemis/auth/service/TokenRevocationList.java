@@ -0,0 +1,373 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.brihaspathee.artemis.auth.document.RevokedToken;
+import com.brihaspathee.artemis.auth.repository.RefreshTokenRepository;
+import com.brihaspathee.artemis.auth.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 15:30
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ *
+ * The list of revoked tokens. A single token is revoked by its "jti" claim; every token of an account issued
+ * so far is revoked by revoking the subject. The revocations are stored in the revoked-tokens collection and
+ * held in memory as an exact map behind a Bloom filter, so that checking a token that is not revoked, which
+ * is nearly every token, costs a few bit probes and no map lookup. Only the tokens the filter reports as
+ * possibly revoked are looked up in the map.
+ * <p>
+ * The revocations made on other instances are loaded incrementally on a fixed delay, and a revocation is
+ * dropped, from memory and from the collection, once every token it applies to has expired.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    /**
+     * The prefix of the id of the revocation of a single token.
+     */
+    private static final String TOKEN_PREFIX = "token:";
+
+    /**
+     * The prefix of the id of the revocation of every token of an account.
+     */
+    private static final String SUBJECT_PREFIX = "subject:";
+
+    /**
+     * The name of the counter of the checks that reached the exact map.
+     */
+    private static final String CHECK_COUNTER = "artemis.auth.revocation.check";
+
+    /**
+     * Repository used to store and load the revocations.
+     */
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    /**
+     * Repository used to delete the refresh tokens of a revoked subject.
+     */
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    /**
+     * Indicates whether the tokens are checked against the list. When disabled, no token is revoked.
+     */
+    private final boolean enabled;
+
+    /**
+     * The lifetime of a token, after which the revocation of a subject no longer applies to any token.
+     */
+    private final Duration tokenLifetime;
+
+    /**
+     * The rate of the tokens that are not revoked that the Bloom filter reports as possibly revoked.
+     */
+    private final double falsePositiveRate;
+
+    /**
+     * How far before the last reload the next incremental reload looks, so that a revocation stored by an
+     * instance whose clock is behind is still loaded.
+     */
+    private final Duration clockSkew;
+
+    /**
+     * The number of checks of a revoked token.
+     */
+    private final Counter revokedCounter;
+
+    /**
+     * The number of checks the Bloom filter could not answer for a token that is not revoked.
+     */
+    private final Counter falsePositiveCounter;
+
+    /**
+     * The prefix of the subjects of each account type, so that checking a subject does not build its key
+     * unless the Bloom filter reports it as possibly revoked.
+     */
+    private final Map<String, String> subjectPrefixes = new ConcurrentHashMap<>();
+
+    /**
+     * The current snapshot of the list. The snapshot is never modified; every change builds a new
+     * snapshot and swaps it in, so the checks never block.
+     */
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * The instant of the last successful reload, or null before the list is first loaded.
+     */
+    private Instant loadedUntil;
+
+    /**
+     * Serializes the reloads and the revocations. A lock is used rather than a monitor because the
+     * database is called while holding it, which would pin the carrier thread of a virtual thread.
+     */
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    /**
+     * Constructs an instance of TokenRevocationList. The list is loaded on the first scheduled refresh,
+     * so that the service starts when the database is not reachable.
+     *
+     * @param revokedTokenRepository the repository used to store and load the revocations
+     * @param refreshTokenRepository the repository used to delete the refresh tokens of a revoked subject
+     * @param meterRegistry the registry where the check counters are published
+     * @param expiration the validity period of the tokens in milliseconds
+     * @param enabled whether the tokens are checked against the list
+     * @param falsePositiveRate the rate of the tokens that are not revoked that reach the exact map
+     * @param clockSkew how far before the last reload the next incremental reload looks
+     */
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               RefreshTokenRepository refreshTokenRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${application.security.jwt.expiration}") long expiration,
+                               @Value("${application.security.jwt.revocation.enabled:true}") boolean enabled,
+                               @Value("${application.security.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${application.security.jwt.revocation.clock-skew:30s}") Duration clockSkew) {
+        if(falsePositiveRate <= 0 || falsePositiveRate >= 1){
+            throw new IllegalStateException("application.security.jwt.revocation.false-positive-rate must be between 0 and 1");
+        }
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.enabled = enabled;
+        this.tokenLifetime = Duration.ofMillis(expiration);
+        this.falsePositiveRate = falsePositiveRate;
+        this.clockSkew = clockSkew;
+        this.revokedCounter = Counter.builder(CHECK_COUNTER)
+                .tag("outcome", "revoked")
+                .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder(CHECK_COUNTER)
+                .tag("outcome", "false_positive")
+                .register(meterRegistry);
+        log.info("Token revocation enabled: {}", enabled);
+    }
+
+    /**
+     * Checks if the token has been revoked, either by its id or by the revocation of its subject. A token of
+     * a revoked subject is revoked if it was issued before the revocation. Since the "iat" claim has a
+     * precision of one second, a token issued in the same second as the revocation cannot be ordered against
+     * it and is not revoked, so that a login right after the revocation is not rejected for its lifetime.
+     *
+     * @param claims the verified claims of the token
+     * @return true if the token has been revoked
+     */
+    public boolean isRevoked(JwtClaims claims) {
+        Snapshot current = snapshot;
+        if(!enabled || current.revocations.isEmpty()){
+            return false;
+        }
+        String tokenId = claims.getTokenId();
+        if(tokenId != null && current.filter.mightContain(TOKEN_PREFIX, tokenId)){
+            if(current.revocations.containsKey(TOKEN_PREFIX + tokenId)){
+                revokedCounter.increment();
+                return true;
+            }
+            falsePositiveCounter.increment();
+        }
+        return isSubjectRevoked(current, claims.getUsername(), claims.getAccountType(), claims.getIssuedAt(), true);
+    }
+
+    /**
+     * Checks if the subject has been revoked after the given instant, so that whatever was issued to it at
+     * that instant, such as the refresh tokens of a login, is revoked along with its access tokens. Unlike the
+     * "iat" claim, the instant is compared at its full precision.
+     *
+     * @param username the username of the account
+     * @param accountType the type of the account
+     * @param issuedAt the instant at which the token was issued, or null if it is not known
+     * @return true if the subject has been revoked after the instant
+     */
+    public boolean isSubjectRevoked(String username, String accountType, Instant issuedAt) {
+        Snapshot current = snapshot;
+        if(!enabled || current.revocations.isEmpty()){
+            return false;
+        }
+        return isSubjectRevoked(current, username, accountType, issuedAt, false);
+    }
+
+    /**
+     * Checks the revocation of the subject in the given snapshot.
+     *
+     * @param current the snapshot of the list
+     * @param username the username of the account
+     * @param accountType the type of the account
+     * @param issuedAt the instant at which the token was issued, or null if it is not known
+     * @param wholeSeconds whether the instant was truncated to the second, as the "iat" claim is, in which
+     *                     case only the instants before the second of the revocation are revoked
+     * @return true if the subject has been revoked after the instant
+     */
+    private boolean isSubjectRevoked(Snapshot current, String username, String accountType, Instant issuedAt,
+                                     boolean wholeSeconds) {
+        String subjectPrefix = subjectPrefix(accountType);
+        String subject = String.valueOf(username);
+        if(current.filter.mightContain(subjectPrefix, subject)){
+            RevokedToken revocation = current.revocations.get(subjectPrefix + subject);
+            if(revocation != null && (issuedAt == null || issuedAt.isBefore(wholeSeconds ?
+                    revocation.getRevokedAt().truncatedTo(ChronoUnit.SECONDS) : revocation.getRevokedAt()))){
+                revokedCounter.increment();
+                return true;
+            }
+            falsePositiveCounter.increment();
+        }
+        return false;
+    }
+
+    /**
+     * Revokes the token. The revocation takes effect immediately on this instance and on the next refresh
+     * on the other instances, and is dropped once the token has expired.
+     *
+     * @param claims the verified claims of the token
+     * @throws IllegalArgumentException if the token has no "jti" claim, because it was issued before
+     *         the tokens carried one; revoke its subject instead
+     */
+    public void revoke(JwtClaims claims) {
+        if(claims.getTokenId() == null){
+            throw new IllegalArgumentException("The token has no id, revoke the tokens of its subject instead");
+        }
+        store(RevokedToken.builder()
+                .revocationId(TOKEN_PREFIX + claims.getTokenId())
+                .revokedAt(Instant.now())
+                .expiresAt(claims.getExpiration())
+                .build());
+        log.info("Token {} of user {} revoked", claims.getTokenId(), claims.getUsername());
+    }
+
+    /**
+     * Revokes every token issued to the account so far, and deletes its refresh tokens so that they cannot be
+     * exchanged for new access tokens once the revocation has been dropped. Tokens issued after the revocation
+     * are not affected. The revocation takes effect immediately on this instance and on the next refresh on the
+     * other instances, and is dropped once the last token it applies to has expired.
+     *
+     * @param username the username of the account
+     * @param accountType the type of the account
+     */
+    public void revokeSubject(String username, String accountType) {
+        Instant now = Instant.now();
+        store(RevokedToken.builder()
+                .revocationId(subjectPrefix(accountType) + username)
+                .revokedAt(now)
+                // The "iat" claim is truncated to the second, so a token may expire up to a second later
+                .expiresAt(now.plus(tokenLifetime).plusSeconds(1))
+                .build());
+        refreshTokenRepository.deleteByUsernameAndAccountType(username, accountType);
+        log.info("Tokens of user {} revoked", username);
+    }
+
+    /**
+     * Reloads the revocations on a fixed delay and removes the ones whose tokens have all expired.
+     * A failed refresh keeps the current list.
+     */
+    @Scheduled(fixedDelayString = "${application.security.jwt.revocation.refresh-interval:30s}")
+    public void refresh() {
+        if(!enabled){
+            return;
+        }
+        refresh(Instant.now());
+    }
+
+    /**
+     * Reloads the revocations as of the given instant. The first load reads every revocation that still
+     * applies; later loads read only the revocations made since the last load, less the clock skew.
+     *
+     * @param now the current instant
+     */
+    void refresh(Instant now) {
+        refreshLock.lock();
+        try{
+            List<RevokedToken> loaded = loadedUntil == null ?
+                    revokedTokenRepository.findByExpiresAtAfter(now) :
+                    revokedTokenRepository.findByRevokedAtAfter(loadedUntil.minus(clockSkew));
+            Map<String, RevokedToken> revocations = new HashMap<>(snapshot.revocations);
+            boolean changed = revocations.values().removeIf(revocation -> !revocation.getExpiresAt().isAfter(now));
+            for (RevokedToken revocation : loaded) {
+                if(revocation.getExpiresAt().isAfter(now)){
+                    RevokedToken previous = revocations.put(revocation.getRevocationId(), revocation);
+                    changed |= previous == null || !previous.getRevokedAt().equals(revocation.getRevokedAt());
+                }
+            }
+            if(changed){
+                snapshot = new Snapshot(revocations, falsePositiveRate);
+                log.debug("Token revocation list reloaded, {} revocations", revocations.size());
+            }
+            loadedUntil = now;
+            revokedTokenRepository.deleteByExpiresAtBefore(now);
+        }catch (RuntimeException e){
+            log.warn("Token revocation list refresh failed, serving the current list: {}", e.getMessage());
+        }finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Stores the revocation and adds it to the list of this instance.
+     *
+     * @param revocation the revocation
+     */
+    private void store(RevokedToken revocation) {
+        refreshLock.lock();
+        try{
+            revokedTokenRepository.save(revocation);
+            Map<String, RevokedToken> revocations = new HashMap<>(snapshot.revocations);
+            revocations.put(revocation.getRevocationId(), revocation);
+            snapshot = new Snapshot(revocations, falsePositiveRate);
+        }finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the prefix of the ids of the revocations of the accounts of the given type.
+     *
+     * @param accountType the type of the account
+     * @return the prefix, to which the username of the account is appended
+     */
+    private String subjectPrefix(String accountType) {
+        return subjectPrefixes.computeIfAbsent(String.valueOf(accountType),
+                type -> SUBJECT_PREFIX + type + ":");
+    }
+
+    /**
+     * An immutable snapshot of the list.
+     */
+    private static final class Snapshot {
+
+        /**
+         * The snapshot of an empty list.
+         */
+        private static final Snapshot EMPTY = new Snapshot(Map.of(), 0.5);
+
+        /**
+         * The revocations, keyed by revocation id.
+         */
+        private final Map<String, RevokedToken> revocations;
+
+        /**
+         * The Bloom filter of the revocation ids.
+         */
+        private final BloomFilter filter;
+
+        private Snapshot(Map<String, RevokedToken> revocations, double falsePositiveRate) {
+            this.revocations = Map.copyOf(revocations);
+            this.filter = BloomFilter.create(revocations.size(), falsePositiveRate);
+            // The filter hashes the prefix and the value as one string, so the id need not be split
+            for (String revocationId : this.revocations.keySet()) {
+                filter.put("", revocationId);
+            }
+        }
+    }
+}
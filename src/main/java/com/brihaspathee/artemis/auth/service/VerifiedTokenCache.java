@@ -0,0 +1,135 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 10:40
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    /**
+     * The name under which the cache metrics (hits, misses, evictions and size) are published
+     * through the actuator metrics endpoint, e.g. /actuator/metrics/cache.gets?tag=cache:jwt-verified-tokens
+     */
+    private static final String CACHE_NAME = "jwt-verified-tokens";
+
+    /**
+     * The service used to verify the signature and parse the claims of tokens that are not in the cache.
+     */
+    private final JwtService jwtService;
+
+    /**
+     * Indicates whether the cache is enabled. When disabled every token is verified by the JwtService.
+     */
+    private final boolean enabled;
+
+    /**
+     * The cache of verified claims, keyed by the SHA-256 digest of the raw token.
+     * The cache is bounded in size and each entry expires when the token itself expires.
+     */
+    private final Cache<String, JwtClaims> cache;
+
+    /**
+     * Constructs an instance of VerifiedTokenCache.
+     *
+     * @param jwtService the service used to verify tokens on a cache miss
+     * @param meterRegistry the registry where the cache statistics are published
+     * @param enabled whether verified tokens should be cached
+     * @param maximumSize the maximum number of verified tokens held in the cache
+     */
+    public VerifiedTokenCache(JwtService jwtService,
+                              MeterRegistry meterRegistry,
+                              @Value("${application.security.jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${application.security.jwt.cache.maximum-size:10000}") long maximumSize) {
+        this.jwtService = jwtService;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("Verified token cache enabled: {}, maximum size: {}", enabled, maximumSize);
+    }
+
+    /**
+     * Returns the verified claims of the given token. If the token was verified before and has not
+     * expired, the claims are returned from the cache without checking the signature or parsing
+     * the token again. Otherwise, the token is verified by the JwtService and the result is cached.
+     * Tokens that fail verification are never cached.
+     *
+     * @param token the JWT token to be verified
+     * @return the verified claims of the token
+     */
+    public JwtClaims verify(String token) {
+        if(!enabled){
+            return jwtService.verifyToken(token);
+        }
+        String key = digest(token);
+        JwtClaims claims = cache.getIfPresent(key);
+        if(claims == null){
+            claims = jwtService.verifyToken(token);
+            cache.put(key, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Computes the key of the token in the cache. A digest is used instead of the token itself
+     * so that the cache does not hold on to bearer credentials.
+     *
+     * @param token the JWT token
+     * @return the Base64-encoded SHA-256 digest of the token
+     */
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Expires each cache entry at the expiry ("exp" claim) of the token it was created for.
+     */
+    private static class TokenExpiry implements Expiry<String, JwtClaims> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), claims.getExpiration()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
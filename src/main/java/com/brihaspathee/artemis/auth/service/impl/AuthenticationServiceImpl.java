@@ -1,22 +1,30 @@
 package com.brihaspathee.artemis.auth.service.impl;
 
 import com.brihaspathee.artemis.auth.document.User;
+import com.brihaspathee.artemis.auth.service.PermissionBits;
+import com.brihaspathee.artemis.auth.service.PermissionRegistry;
 import com.brihaspathee.artemis.auth.service.interfaces.AuthenticationService;
-import com.brihaspathee.artemis.dto.auth.AuthorityDto;
 import com.brihaspathee.artemis.dto.auth.AuthorizationRequest;
+import com.brihaspathee.artemis.dto.auth.BatchAuthorizationRequest;
+import com.brihaspathee.artemis.dto.auth.BatchAuthorizationResponse;
+import com.brihaspathee.artemis.dto.auth.ResourceAccessDecision;
 import com.brihaspathee.artemis.dto.auth.UserDto;
-import com.brihaspathee.artemis.dto.resource.ResourceDto;
 import com.brihaspathee.artemis.exception.AccessDeniedException;
 import com.brihaspathee.artemis.mapper.interfaces.UserMapper;
 import com.brihaspathee.artemis.services.interfaces.ResourceManagementService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Created in Intellij IDEA
@@ -29,9 +37,30 @@ import java.util.List;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AuthenticationServiceImpl implements AuthenticationService {
 
+    /**
+     * The name of the timer recording how long it takes to decide whether a user may access a resource,
+     * once the permissions of the resource have been looked up.
+     */
+    private static final String DECISION_TIMER = "artemis.auth.authorization.decision";
+
+    /**
+     * The name of the timer recording how long it takes to decide a batch authorization request,
+     * including the lookup of the permissions of the resources.
+     */
+    private static final String BATCH_TIMER = "artemis.auth.authorization.batch";
+
+    /**
+     * The name of the counter of the decisions taken for the resources of batch authorization requests.
+     */
+    private static final String BATCH_DECISION_COUNTER = "artemis.auth.authorization.batch.decisions";
+
+    /**
+     * The name of the timer recording how long it takes to map the authorized user into the returned UserDto.
+     */
+    private static final String MAPPING_TIMER = "artemis.auth.user.mapping";
+
     /**
      * Service responsible for managing and retrieving resource details required
      * for authorization and access control.
@@ -45,6 +74,83 @@ public class AuthenticationServiceImpl implements AuthenticationService {
      */
     private final UserMapper userMapper;
 
+    /**
+     * Registry used to compile the authorities of the user into a bitset, so that they can be
+     * checked against the precompiled permissions of the resource with a few word-wise ANDs.
+     */
+    private final PermissionRegistry permissionRegistry;
+
+    /**
+     * The timer of the decisions that granted access to the resource.
+     */
+    private final Timer grantedTimer;
+
+    /**
+     * The timer of the decisions that denied access to the resource.
+     */
+    private final Timer deniedTimer;
+
+    /**
+     * The timer of the decisions that denied access because the resource was not found.
+     */
+    private final Timer resourceNotFoundTimer;
+
+    /**
+     * The timer of the batch authorization requests.
+     */
+    private final Timer batchTimer;
+
+    /**
+     * The number of resources of batch authorization requests the user was granted access to.
+     */
+    private final Counter batchGrantedCounter;
+
+    /**
+     * The number of resources of batch authorization requests the user was denied access to.
+     */
+    private final Counter batchDeniedCounter;
+
+    /**
+     * The number of resources of batch authorization requests that were not found.
+     */
+    private final Counter batchResourceNotFoundCounter;
+
+    /**
+     * The timer of the mappings of users into a UserDto.
+     */
+    private final Timer userMappingTimer;
+
+    /**
+     * The timer of the mappings of service users, and other principals, into a UserDto.
+     */
+    private final Timer serviceUserMappingTimer;
+
+    /**
+     * Constructs an instance of AuthenticationServiceImpl.
+     *
+     * @param resourceManagementService the service used to look up the permissions of the resources
+     * @param userMapper the mapper used to convert the authorized user into a UserDto
+     * @param permissionRegistry the registry used to compile the authorities of the user
+     * @param meterRegistry the registry where the decision timers and counters are published
+     */
+    public AuthenticationServiceImpl(ResourceManagementService resourceManagementService,
+                                     UserMapper userMapper,
+                                     PermissionRegistry permissionRegistry,
+                                     MeterRegistry meterRegistry) {
+        this.resourceManagementService = resourceManagementService;
+        this.userMapper = userMapper;
+        this.permissionRegistry = permissionRegistry;
+        this.grantedTimer = timer(meterRegistry, DECISION_TIMER, "outcome", "granted");
+        this.deniedTimer = timer(meterRegistry, DECISION_TIMER, "outcome", "denied");
+        this.resourceNotFoundTimer = timer(meterRegistry, DECISION_TIMER, "outcome", "resource_not_found");
+        this.batchTimer = timer(meterRegistry, BATCH_TIMER, "outcome", "completed");
+        this.batchGrantedCounter = batchDecisionCounter(meterRegistry, "granted");
+        this.batchDeniedCounter = batchDecisionCounter(meterRegistry, "denied");
+        this.batchResourceNotFoundCounter = batchDecisionCounter(meterRegistry, "resource_not_found");
+        this.userMappingTimer = timer(meterRegistry, MAPPING_TIMER, "principal", "user");
+        this.serviceUserMappingTimer = timer(meterRegistry, MAPPING_TIMER, "principal", "service");
+    }
+
     /**
      * Validates if the user has access to a specific resource by comparing
      * user authorities with the resource's required authorities.
@@ -56,34 +162,144 @@ public class AuthenticationServiceImpl implements AuthenticationService {
      */
     @Override
     public UserDto validateResourceAccess(UserDetails userDetails, AuthorizationRequest authorizationRequest) {
-        List<String> userAuthorities = userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+        PermissionBits resourceAuthorities = resourceManagementService.getResourcePermissionBits(authorizationRequest.getResourceUri());
+        return validateResourceAccess(userDetails, authorizationRequest.getResourceUri(), resourceAuthorities);
+    }
+
+    /**
+     * Validates if the user has access to a resource by comparing the user authorities with the
+     * permissions of the resource, which the caller has already looked up. The time taken is recorded
+     * with the outcome of the decision.
+     *
+     * @param userDetails the details of the user, including authorities, requesting access to the resource
+     * @param resourceUri the URI of the resource being accessed
+     * @param resourceAuthorities the bitset of the permissions of the resource, or null if the resource is not found
+     * @return a UserDto object representing the validated user details if access is allowed
+     * @throws AccessDeniedException if the resource is not found or the user does not have the required permissions
+     */
+    @Override
+    public UserDto validateResourceAccess(UserDetails userDetails, String resourceUri, PermissionBits resourceAuthorities) {
+        long startedAt = System.nanoTime();
+        Collection<? extends GrantedAuthority> userAuthorities = userDetails.getAuthorities();
         log.info("User authorities: {}", userAuthorities);
-        ResourceDto resourceDto = resourceManagementService.getResourceDetails(authorizationRequest.getResourceUri());
-        List<String> resourceAuthorities = resourceDto.getAuthorities().stream().map(AuthorityDto::getPermission).toList();
-        log.info("Resource authorities: {}", resourceAuthorities);
+        if(resourceAuthorities == null) {
+            log.warn("Resource not found: {}", resourceUri);
+            resourceNotFoundTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            throw new AccessDeniedException("User is not authorized to access the resource");
+        }
         if(!isUserAuthorized(resourceAuthorities, userAuthorities)) {
+            deniedTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
             throw new AccessDeniedException("User is not authorized to access the resource");
         }
+        grantedTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return toUserDto(userDetails);
+    }
+
+    /**
+     * Decides whether the user has access to each of the resources in the batch authorization request.
+     * The authorities of the user are compiled once and the permissions of all the resources are
+     * looked up together, instead of once per resource.
+     *
+     * @param userDetails the details of the user, including authorities, requesting access to the resources
+     * @param batchAuthorizationRequest the request containing the URIs of the resources being accessed
+     * @return a BatchAuthorizationResponse with the user details and a decision per resource, in the requested order
+     */
+    @Override
+    public BatchAuthorizationResponse validateResourceAccess(UserDetails userDetails,
+                                                             BatchAuthorizationRequest batchAuthorizationRequest) {
+        long startedAt = System.nanoTime();
+        List<String> resourceUris = batchAuthorizationRequest.getResourceUris();
+        log.info("Validating access to {} resources for user: {}", resourceUris.size(), userDetails.getUsername());
+        PermissionBits userAuthorities = permissionRegistry.compileAuthorities(userDetails.getAuthorities());
+        Map<String, PermissionBits> resourceAuthorities = resourceManagementService.getResourcePermissionBits(resourceUris);
+        List<ResourceAccessDecision> decisions = new ArrayList<>(resourceUris.size());
+        for (String resourceUri : resourceUris) {
+            PermissionBits permissionBits = resourceAuthorities.get(resourceUri);
+            boolean authorized = false;
+            if(permissionBits == null){
+                log.warn("Resource not found: {}", resourceUri);
+                batchResourceNotFoundCounter.increment();
+            }else {
+                authorized = userAuthorities.intersects(permissionBits);
+                (authorized ? batchGrantedCounter : batchDeniedCounter).increment();
+            }
+            decisions.add(ResourceAccessDecision.builder()
+                    .resourceUri(resourceUri)
+                    .authorized(authorized)
+                    .build());
+        }
+        batchTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return BatchAuthorizationResponse.builder()
+                .user(toUserDto(userDetails))
+                .decisions(decisions)
+                .build();
+    }
+
+    /**
+     * Converts the details of the authorized user into the UserDto returned to the caller,
+     * recording how long the mapping took.
+     *
+     * @param userDetails the details of the authorized user
+     * @return the UserDto of the user
+     */
+    private UserDto toUserDto(UserDetails userDetails) {
+        long startedAt = System.nanoTime();
         if(userDetails instanceof User user) {
             log.info("User: {}", user);
             log.info("User's Authorities: {}", user.getAuthorities());
             log.info("User's username: {}", user.getUsername());
 //            log.info("User's serviceId: {}", user.getServiceId());
 //            log.info("User's account type: {}", user.getAccountType());
-            return userMapper.toDto(user);
+            UserDto userDto = userMapper.toDto(user);
+            userMappingTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            return userDto;
         }
-        return UserDto.builder().username(userDetails.getUsername()).build();
+        UserDto userDto = UserDto.builder().username(userDetails.getUsername()).build();
+        serviceUserMappingTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return userDto;
     }
 
     /**
      * Determines whether a user is authorized to access a resource by comparing
      * the authorities required for the resource with the authorities possessed by the user.
+     * Both sides are compared as bitsets; the bitset of the user is compiled once per
+     * authority set and reused, so the check does not allocate.
      *
-     * @param resourceAuthorities a list of authority strings required to access the resource
-     * @param userAuthorities a list of authority strings that the user possesses
+     * @param resourceAuthorities the bitset of the permissions required to access the resource
+     * @param userAuthorities the authorities that the user possesses
      * @return true if the user has at least one authority that matches the required authorities, false otherwise
      */
-    private boolean isUserAuthorized(List<String> resourceAuthorities, List<String> userAuthorities) {
-        return !Collections.disjoint(resourceAuthorities, userAuthorities);
+    private boolean isUserAuthorized(PermissionBits resourceAuthorities, Collection<? extends GrantedAuthority> userAuthorities) {
+        return permissionRegistry.compileAuthorities(userAuthorities).intersects(resourceAuthorities);
+    }
+
+    /**
+     * Builds a timer with the given name and tag.
+     *
+     * @param meterRegistry the registry where the timer is published
+     * @param name the name of the timer
+     * @param tagKey the key of the tag
+     * @param tagValue the value of the tag
+     * @return the registered timer
+     */
+    private static Timer timer(MeterRegistry meterRegistry, String name, String tagKey, String tagValue) {
+        return Timer.builder(name)
+                .tag(tagKey, tagValue)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the counter of the decisions of batch authorization requests with the given outcome.
+     *
+     * @param meterRegistry the registry where the counter is published
+     * @param outcome the outcome of the decisions counted
+     * @return the registered counter
+     */
+    private static Counter batchDecisionCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(BATCH_DECISION_COUNTER)
+                .tag("outcome", outcome)
+                .description("Decisions taken for the resources of batch authorization requests")
+                .register(meterRegistry);
     }
 }
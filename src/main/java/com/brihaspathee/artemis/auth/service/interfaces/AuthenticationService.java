@@ -1,6 +1,9 @@
 package com.brihaspathee.artemis.auth.service.interfaces;
 
+import com.brihaspathee.artemis.auth.service.PermissionBits;
 import com.brihaspathee.artemis.dto.auth.AuthorizationRequest;
+import com.brihaspathee.artemis.dto.auth.BatchAuthorizationRequest;
+import com.brihaspathee.artemis.dto.auth.BatchAuthorizationResponse;
 import com.brihaspathee.artemis.dto.auth.UserDto;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -24,4 +27,26 @@ public interface AuthenticationService {
      * @return a UserDto containing the validated user information and their access permissions
      */
     UserDto validateResourceAccess(UserDetails userDetails, AuthorizationRequest authorizationRequest);
+
+    /**
+     * Validates whether the user has access to a resource whose permissions have already been looked up.
+     * Used by the reactive validate path, which looks up the permissions of the resource without blocking.
+     *
+     * @param userDetails the details of the user requesting access
+     * @param resourceUri the URI of the resource
+     * @param resourcePermissions the bitset of the permissions of the resource, or null if the resource is not found
+     * @return a UserDto containing the validated user information
+     */
+    UserDto validateResourceAccess(UserDetails userDetails, String resourceUri, PermissionBits resourcePermissions);
+
+    /**
+     * Decides whether the user has access to each of the resources in the batch authorization request.
+     * Unlike {@link #validateResourceAccess(UserDetails, AuthorizationRequest)}, a resource the user is not
+     * authorized to access does not fail the request; it is reported as denied in the response.
+     *
+     * @param userDetails the details of the user requesting access
+     * @param batchAuthorizationRequest the request containing the URIs of the resources
+     * @return a BatchAuthorizationResponse containing the user information and a decision per resource
+     */
+    BatchAuthorizationResponse validateResourceAccess(UserDetails userDetails, BatchAuthorizationRequest batchAuthorizationRequest);
 }
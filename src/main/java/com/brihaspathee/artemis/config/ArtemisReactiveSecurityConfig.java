@@ -0,0 +1,84 @@
+package com.brihaspathee.artemis.config;
+
+import com.brihaspathee.artemis.auth.ArtemisAuthenticationEntryPoint;
+import com.brihaspathee.artemis.auth.ArtemisServerAuthenticationEntryPoint;
+import com.brihaspathee.artemis.auth.ReactiveArtemisUserDetailsService;
+import com.brihaspathee.artemis.auth.filter.ArtemisReactiveAuthenticationFilter;
+import com.brihaspathee.artemis.auth.service.JwtService;
+import com.brihaspathee.artemis.auth.service.SecurityStampService;
+import com.brihaspathee.artemis.auth.service.TokenRevocationList;
+import com.brihaspathee.artemis.auth.service.VerifiedTokenCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 22:20
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.config
+ * To change this template use File | Settings | File and Code Template
+ *
+ * Security configuration of the reactive validate path, active only when the service is started with
+ * {@code spring.main.web-application-type=reactive}. In that mode the service runs on Netty and serves
+ * the validate endpoint on a handful of event-loop threads; logins are served by the servlet deployment,
+ * which remains the default and is configured by {@link ArtemisSecurityConfig}.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ArtemisReactiveSecurityConfig {
+
+    /**
+     * Configures the reactive security filter chain. It mirrors the servlet chain: no session, no CSRF,
+     * the same public endpoints, and every other request authenticated by the JWT in its header.
+     *
+     * @param http the {@link ServerHttpSecurity} instance used to configure the reactive security chain
+     * @param userDetailsService the service used by the filter to load the user of the token without blocking
+     * @param jwtService the service used by the filter to validate the token against its user
+     * @param verifiedTokenCache the cache used by the filter to look up the claims of already verified tokens
+     * @param securityStampService the service used by the filter to check the security stamp of a token
+     * @param tokenRevocationList the list of revoked tokens checked by the filter
+     * @param authenticationEntryPoint the entry point of the servlet chain, whose pre-rendered 401 bodies are reused
+     * @param statelessTrust whether the principal should be built from the verified claims alone
+     * @return the reactive security filter chain
+     */
+    @Bean
+    SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                  ReactiveArtemisUserDetailsService userDetailsService,
+                                                  JwtService jwtService,
+                                                  VerifiedTokenCache verifiedTokenCache,
+                                                  SecurityStampService securityStampService,
+                                                  TokenRevocationList tokenRevocationList,
+                                                  ArtemisAuthenticationEntryPoint authenticationEntryPoint,
+                                                  @Value("${application.security.jwt.stateless.enabled:false}") boolean statelessTrust) {
+        ArtemisReactiveAuthenticationFilter authenticationFilter = new ArtemisReactiveAuthenticationFilter(
+                userDetailsService, jwtService, verifiedTokenCache, securityStampService, tokenRevocationList,
+                statelessTrust);
+        return http
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .cors(Customizer.withDefaults())
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers(ArtemisSecurityConfig.AUTH_WHITELIST).permitAll()
+                        .pathMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        .anyExchange().authenticated())
+                .addFilterAt(authenticationFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .exceptionHandling(exception ->
+                        exception.authenticationEntryPoint(new ArtemisServerAuthenticationEntryPoint(authenticationEntryPoint)))
+                .build();
+    }
+}
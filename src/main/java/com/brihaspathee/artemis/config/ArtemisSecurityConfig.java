@@ -4,7 +4,14 @@ import com.brihaspathee.artemis.auth.ArtemisAuthenticationEntryPoint;
 import com.brihaspathee.artemis.auth.ArtemisUserDetailsService;
 import com.brihaspathee.artemis.auth.filter.ArtemisAuthenticationFilter;
 import com.brihaspathee.artemis.auth.filter.LoginAuthenticationFilter;
+import com.brihaspathee.artemis.auth.provider.ApiKeyAuthenticationProvider;
 import com.brihaspathee.artemis.auth.provider.ArtemisAuthenticationProvider;
+import com.brihaspathee.artemis.auth.service.JwtService;
+import com.brihaspathee.artemis.auth.service.RefreshTokenService;
+import com.brihaspathee.artemis.auth.service.ServiceTokenVendingCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -32,6 +39,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  */
 @Configuration
 @EnableWebSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ArtemisSecurityConfig {
 
 
@@ -59,6 +67,12 @@ public class ArtemisSecurityConfig {
      */
     private final ArtemisAuthenticationProvider artemisAuthenticationProvider;
 
+    /**
+     * A reference to the {@link ApiKeyAuthenticationProvider} instance, which authenticates
+     * service users by their API key instead of their password.
+     */
+    private final ApiKeyAuthenticationProvider apiKeyAuthenticationProvider;
+
     /**
      * Constructs an instance of ArtemisSecurityConfig.
      *
@@ -66,14 +80,21 @@ public class ArtemisSecurityConfig {
      *                                     and processing of authentication tokens for incoming requests.
      * @param artemisAuthenticationProvider the authentication provider used to validate authentication
      *                                       requests and load user-specific details during authentication.
+     * @param apiKeyAuthenticationProvider the authentication provider used to authenticate service users
+     *                                     by their API key.
      */
     public ArtemisSecurityConfig(ArtemisAuthenticationFilter artemisAuthenticationFilter,
-                                 ArtemisAuthenticationProvider artemisAuthenticationProvider) {
+                                 ArtemisAuthenticationProvider artemisAuthenticationProvider,
+                                 ApiKeyAuthenticationProvider apiKeyAuthenticationProvider) {
         this.artemisAuthenticationFilter = artemisAuthenticationFilter;
         this.artemisAuthenticationProvider = artemisAuthenticationProvider;
+        this.apiKeyAuthenticationProvider = apiKeyAuthenticationProvider;
     }
 
-    private static final String[] AUTH_WHITELIST = {
+    /**
+     * The endpoints that are accessible without a token, shared with the reactive security chain.
+     */
+    static final String[] AUTH_WHITELIST = {
             "/swagger-resources/**",
 
             // -- Swagger UI v3 (OpenAPI)
@@ -84,7 +105,10 @@ public class ArtemisSecurityConfig {
             "/swagger-ui.html",
             "/v3/api-docs.yaml",
             "/api/v1/artemis/auth/public/**",
-            "/actuator/**",
+            // Only the probes are public; the metrics endpoint carries the timers and cache statistics
+            "/actuator/health",
+            "/actuator/health/**",
+            "/actuator/info",
             // other public endpoints of your API may be appended to this array
 //            "/artemis/jwt/authenticate",
 //            "/api/v1/artemis/welcome",
@@ -92,6 +116,11 @@ public class ArtemisSecurityConfig {
 //            "/api/v1/artemis/register",
     };
 
+    /**
+     * The account administration endpoints, accessible only to the callers holding the administration authority.
+     */
+    static final String ADMIN_ENDPOINTS = "/api/v1/artemis/auth/secured/admin/**";
+
     /**
      * Configures the security filter chain for the application. This method sets up
      * various security configurations, including session management, CSRF, CORS, request
@@ -102,14 +131,34 @@ public class ArtemisSecurityConfig {
      * @param http the {@link HttpSecurity} instance used to configure web-based security
      *             for specific HTTP requests, providing methods for enabling or disabling
      *             features like CSRF, CORS, session management, and request authorization
+     * @param authenticationManager the {@link AuthenticationManager} used by the login filter to
+     *                              authenticate the credentials in the login request
+     * @param jwtService the {@link JwtService} used by the login filter to generate the access token
+     * @param serviceTokenVendingCache the {@link ServiceTokenVendingCache} used by the login filter to vend
+     *                                 the access token of service users
+     * @param refreshTokenService the {@link RefreshTokenService} used by the login filter to issue the refresh token
+     * @param objectMapper the application's {@link ObjectMapper} used by the login filter to read the
+     *                     credentials and write the response
+     * @param authenticationEntryPoint the {@link ArtemisAuthenticationEntryPoint} that writes the response of
+     *                                 requests that fail authentication
+     * @param adminAuthority the authority required to call the account administration endpoints
      * @return a fully configured {@link SecurityFilterChain} instance that defines the
      *         application's security rules and filters
      * @throws Exception if any error occurs during the configuration of the security filter chain
      */
     @Bean
     SecurityFilterChain securityFilterChain(HttpSecurity http,
-                                            AuthenticationManager authenticationManager) throws Exception {
-        LoginAuthenticationFilter loginAuthenticationFilter = new LoginAuthenticationFilter(authenticationManager);
+                                            AuthenticationManager authenticationManager,
+                                            JwtService jwtService,
+                                            ServiceTokenVendingCache serviceTokenVendingCache,
+                                            RefreshTokenService refreshTokenService,
+                                            ObjectMapper objectMapper,
+                                            ArtemisAuthenticationEntryPoint authenticationEntryPoint,
+                                            @Value("${application.security.admin-authority:artemis.admin}")
+                                            String adminAuthority) throws Exception {
+        LoginAuthenticationFilter loginAuthenticationFilter =
+                new LoginAuthenticationFilter(authenticationManager, jwtService, serviceTokenVendingCache,
+                        refreshTokenService, objectMapper);
         loginAuthenticationFilter.setFilterProcessesUrl("/api/v1/artemis/auth/public/authenticate");
         http.sessionManagement(sesssion -> sesssion.sessionCreationPolicy(
                 SessionCreationPolicy.STATELESS))
@@ -118,11 +167,12 @@ public class ArtemisSecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(AUTH_WHITELIST).permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        .requestMatchers(ADMIN_ENDPOINTS).hasAuthority(adminAuthority)
                         .anyRequest().authenticated());
         http.addFilterAt(loginAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         http.addFilterAfter(artemisAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         http.exceptionHandling(exception ->
-                exception.authenticationEntryPoint(new ArtemisAuthenticationEntryPoint()));
+                exception.authenticationEntryPoint(authenticationEntryPoint));
         return http.build();
     }
 
@@ -140,8 +190,8 @@ public class ArtemisSecurityConfig {
 
     /**
      * Configures and provides an instance of {@link AuthenticationManager} for the application's
-     * security configuration. This method sets up the {@link AuthenticationManagerBuilder} with a
-     * custom authentication provider and builds the {@link AuthenticationManager}.
+     * security configuration. This method sets up the {@link AuthenticationManagerBuilder} with the
+     * password and API key authentication providers and builds the {@link AuthenticationManager}.
      *
      * @param http the {@link HttpSecurity} instance used for retrieving and configuring
      *             shared security objects, particularly the {@link AuthenticationManagerBuilder}.
@@ -153,6 +203,7 @@ public class ArtemisSecurityConfig {
     protected AuthenticationManager authenticationManager(HttpSecurity http) throws Exception {
         AuthenticationManagerBuilder authenticationManagerBuilder = http.getSharedObject(AuthenticationManagerBuilder.class);
         authenticationManagerBuilder.authenticationProvider(artemisAuthenticationProvider);
+        authenticationManagerBuilder.authenticationProvider(apiKeyAuthenticationProvider);
         return authenticationManagerBuilder.build();
     }
 }
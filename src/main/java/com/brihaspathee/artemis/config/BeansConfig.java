@@ -1,9 +1,17 @@
 package com.brihaspathee.artemis.config;
 
 import com.brihaspathee.artemis.auth.ArtemisUserDetailsService;
+import com.brihaspathee.artemis.auth.provider.ApiKeyAuthenticationProvider;
 import com.brihaspathee.artemis.auth.provider.ArtemisAuthenticationProvider;
+import com.brihaspathee.artemis.auth.service.ApiKeyIndex;
+import com.brihaspathee.artemis.auth.service.BCryptCostCalibrator;
+import com.brihaspathee.artemis.auth.service.PasswordRehashService;
+import com.brihaspathee.artemis.auth.service.PasswordVerificationService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
@@ -21,6 +29,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
  * To change this template use File | Settings | File and Code Template
  */
 @Configuration
+@EnableScheduling
+@EnableMongoAuditing
 public class BeansConfig {
 
     /**
@@ -30,23 +40,48 @@ public class BeansConfig {
      *
      * @param userDetailsService an instance of ArtemisUserDetailsService used to fetch
      *                           user details required for authentication
+     * @param passwordVerificationService the service used to verify the passwords on a bounded executor
+     * @param passwordRehashService the service used to upgrade the stored hashes to the calibrated cost
+     * @param meterRegistry the registry where the authentication timers are published
      * @return an instance of ArtemisAuthenticationProvider initialized with the provided
      *         ArtemisUserDetailsService
      */
     @Bean
-    public ArtemisAuthenticationProvider artemisAuthenticationProvider(ArtemisUserDetailsService userDetailsService) {
-        return new ArtemisAuthenticationProvider(userDetailsService);
+    public ArtemisAuthenticationProvider artemisAuthenticationProvider(ArtemisUserDetailsService userDetailsService,
+                                                                       PasswordVerificationService passwordVerificationService,
+                                                                       PasswordRehashService passwordRehashService,
+                                                                       MeterRegistry meterRegistry) {
+        return new ArtemisAuthenticationProvider(userDetailsService, passwordVerificationService,
+                passwordRehashService, meterRegistry);
+    }
+
+    /**
+     * Configures and provides a bean of type ApiKeyAuthenticationProvider.
+     * The ApiKeyAuthenticationProvider authenticates service users by their API key,
+     * next to the password based ArtemisAuthenticationProvider.
+     *
+     * @param apiKeyIndex the in-memory index of the API keys of the service users
+     * @param userDetailsService an instance of ArtemisUserDetailsService used to load the service user
+     *                           holding the API key
+     * @return an instance of ApiKeyAuthenticationProvider
+     */
+    @Bean
+    public ApiKeyAuthenticationProvider apiKeyAuthenticationProvider(ApiKeyIndex apiKeyIndex,
+                                                                     ArtemisUserDetailsService userDetailsService) {
+        return new ApiKeyAuthenticationProvider(apiKeyIndex, userDetailsService);
     }
 
     /**
      * Provides a bean of type {@link PasswordEncoder} for encoding passwords.
      * This method returns an instance of {@link BCryptPasswordEncoder}, which
      * is a commonly used implementation for securely hashing passwords.
+     * New hashes are created at the cost calibrated for this host on startup.
      *
+     * @param bCryptCostCalibrator the calibrator holding the bcrypt cost chosen for this host
      * @return an instance of {@link PasswordEncoder} configured with {@link BCryptPasswordEncoder}
      */
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(BCryptCostCalibrator bCryptCostCalibrator) {
+        return new BCryptPasswordEncoder(bCryptCostCalibrator.getTargetCost());
     }
 }
@@ -0,0 +1,66 @@
+package com.brihaspathee.artemis.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 19, October 2026
+ * Time: 12:40
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.config
+ * To change this template use File | Settings | File and Code Template
+ *
+ * Excludes the reactive MongoDB auto-configuration unless the service is started with
+ * {@code spring.main.web-application-type=reactive}. The reactive driver is on the classpath for the
+ * reactive validate path, and would otherwise start a second MongoClient, with its own connection pool
+ * and monitoring threads, in the servlet deployment, where nothing uses it.
+ */
+public class ReactiveMongoEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    /**
+     * The property listing the auto-configuration classes to exclude.
+     */
+    private static final String EXCLUDE_PROPERTY = "spring.autoconfigure.exclude";
+
+    /**
+     * The reactive MongoDB auto-configuration classes, only needed by the reactive validate path.
+     */
+    private static final List<String> REACTIVE_MONGO_AUTO_CONFIGURATIONS = List.of(
+            "org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration");
+
+    /**
+     * Adds the reactive MongoDB auto-configuration to the excluded auto-configuration, keeping the
+     * exclusions that are already configured, unless the application runs as a reactive web application.
+     *
+     * @param environment the environment, with the configuration files and the config server already loaded
+     * @param application the application, whose web application type is deduced from the classpath
+     */
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        WebApplicationType webApplicationType = environment.getProperty("spring.main.web-application-type",
+                WebApplicationType.class, application.getWebApplicationType());
+        if(webApplicationType == WebApplicationType.REACTIVE){
+            return;
+        }
+        // Bound rather than read, so that exclusions configured as a YAML list are kept as well
+        List<String> exclusions = new ArrayList<>(Binder.get(environment)
+                .bind(EXCLUDE_PROPERTY, Bindable.listOf(String.class))
+                .orElse(List.of()));
+        exclusions.addAll(REACTIVE_MONGO_AUTO_CONFIGURATIONS);
+        environment.getPropertySources().addFirst(new MapPropertySource("reactiveMongoExclusions",
+                Map.of(EXCLUDE_PROPERTY, String.join(",", exclusions))));
+    }
+}
@@ -7,9 +7,11 @@ import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.hibernate.validator.constraints.URL;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -83,6 +85,11 @@ public class Resource {
     /**
      * Represents the URI of the resource.
      *
+     * The URI is either matched exactly or is a pattern whose segments may be template
+     * variables such as {@code {id}}, a single-segment {@code *} or a multi-segment {@code **},
+     * e.g. {@code /members/{id}/claims/**}. See {@code ResourceUriMatcher} for the precedence
+     * between overlapping patterns.
+     *
      * This field must adhere to the following validation constraints:
      * - It cannot be null.
      * - It cannot be blank.
@@ -115,4 +122,14 @@ public class Resource {
      */
     @Size(min = 1,  message = "At least one authority is required")
     private List<Authority> authorities = new ArrayList<>();
+
+    /**
+     * Represents the instant at which the resource was last modified.
+     *
+     * This field is maintained by Spring Data auditing when the resource is saved, and
+     * should be set by any script that inserts or updates resources directly. It is used
+     * to refresh the in-memory resource index incrementally.
+     */
+    @LastModifiedDate
+    private Instant lastModified;
 }
@@ -0,0 +1,36 @@
+package com.brihaspathee.artemis.domain.repository;
+
+import com.brihaspathee.artemis.domain.document.Resource;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 21:40
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.domain.repository
+ * To change this template use File | Settings | File and Code Template
+ */
+@Repository
+public interface ReactiveResourceRepository extends ReactiveMongoRepository<Resource, String> {
+
+    /**
+     * Finds a resource based on its unique resource URI, without blocking the calling thread.
+     *
+     * @param resourceURI the URI of the resource to be retrieved; must not be null or blank
+     * @return a {@code Mono} emitting the {@code Resource} if found, or completing empty if not found
+     */
+    Mono<Resource> findByResourceUri(String resourceURI);
+
+    /**
+     * Finds the resources whose URI matches the given regular expression, without blocking the calling thread.
+     *
+     * @param regex the regular expression the resource URI must match
+     * @return a {@code Flux} of the resources whose URI matches the regular expression
+     */
+    Flux<Resource> findByResourceUriRegex(String regex);
+}
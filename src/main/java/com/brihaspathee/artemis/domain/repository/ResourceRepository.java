@@ -4,6 +4,9 @@ import com.brihaspathee.artemis.domain.document.Resource;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -25,4 +28,29 @@ public interface ResourceRepository extends MongoRepository<Resource, String> {
      * @return an {@code Optional} containing the {@code Resource} if found, or an empty {@code Optional} if not found
      */
     Optional<Resource> findByResourceUri(String resourceURI);
+
+    /**
+     * Finds the resources registered for any of the given resource URIs.
+     *
+     * @param resourceURIs the URIs of the resources to be retrieved
+     * @return the list of resources registered for the given URIs; URIs without a resource are left out
+     */
+    List<Resource> findByResourceUriIn(Collection<String> resourceURIs);
+
+    /**
+     * Finds the resources whose URI matches the given regular expression. Used to load the resources
+     * registered for URI patterns, e.g. {@code /members/{id}/claims/**}.
+     *
+     * @param regex the regular expression the resource URI must match
+     * @return the list of resources whose URI matches the regular expression
+     */
+    List<Resource> findByResourceUriRegex(String regex);
+
+    /**
+     * Finds the resources that were modified at or after the given instant.
+     *
+     * @param lastModified the instant from which the modified resources are retrieved
+     * @return the list of resources modified at or after the given instant
+     */
+    List<Resource> findByLastModifiedGreaterThanEqual(Instant lastModified);
 }
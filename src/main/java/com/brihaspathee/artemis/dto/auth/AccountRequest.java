@@ -0,0 +1,34 @@
+package com.brihaspathee.artemis.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 19, October 2026
+ * Time: 10:05
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.dto.auth
+ * To change this template use File | Settings | File and Code Template
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountRequest {
+
+    /**
+     * Represents the username of the account, or the service name of a service account.
+     * It cannot be blank.
+     */
+    @NotBlank(message = "Username cannot be blank")
+    private String username;
+
+    /**
+     * Represents the type of the account, "USER-ACCOUNT" or "SERVICE-ACCOUNT". It cannot be blank.
+     */
+    @NotBlank(message = "Account type cannot be blank")
+    private String accountType;
+}
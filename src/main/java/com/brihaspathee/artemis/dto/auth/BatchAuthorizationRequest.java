@@ -0,0 +1,37 @@
+package com.brihaspathee.artemis.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 16:55
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.dto.auth
+ * To change this template use File | Settings | File and Code Template
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAuthorizationRequest {
+
+    /**
+     * Represents the URIs of the resources the caller is requesting access to.
+     *
+     * This field must adhere to the following validation constraints:
+     * - The list cannot be empty.
+     * - The list cannot hold more than 100 resource URIs.
+     * - None of the resource URIs can be blank.
+     */
+    @NotEmpty(message = "At least one resource uri is required")
+    @Size(max = 100, message = "At most 100 resource uris can be validated in one request")
+    private List<@NotBlank(message = "Resource uri cannot be blank") String> resourceUris;
+}
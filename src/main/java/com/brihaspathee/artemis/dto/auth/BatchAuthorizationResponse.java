@@ -0,0 +1,33 @@
+package com.brihaspathee.artemis.dto.auth;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 16:59
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.dto.auth
+ * To change this template use File | Settings | File and Code Template
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAuthorizationResponse {
+
+    /**
+     * Represents the details of the caller the decisions were made for.
+     */
+    private UserDto user;
+
+    /**
+     * Represents the decision for each of the requested resources, in the order
+     * in which the resource URIs were requested.
+     */
+    private List<ResourceAccessDecision> decisions;
+}
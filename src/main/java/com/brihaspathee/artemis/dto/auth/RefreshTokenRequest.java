@@ -0,0 +1,28 @@
+package com.brihaspathee.artemis.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 16:50
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.dto.auth
+ * To change this template use File | Settings | File and Code Template
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenRequest {
+
+    /**
+     * Represents the refresh token returned in the "Refresh-Token" header of the login or of the
+     * previous refresh. It cannot be blank.
+     */
+    @NotBlank(message = "Refresh token cannot be blank")
+    private String refreshToken;
+}
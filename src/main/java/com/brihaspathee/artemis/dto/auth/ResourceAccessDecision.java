@@ -0,0 +1,33 @@
+package com.brihaspathee.artemis.dto.auth;
+
+import lombok.*;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 16:57
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.dto.auth
+ * To change this template use File | Settings | File and Code Template
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceAccessDecision {
+
+    /**
+     * Represents the URI of the resource the decision was made for.
+     */
+    private String resourceUri;
+
+    /**
+     * Indicates whether the caller is authorized to access the resource.
+     *
+     * A value of {@code false} is returned both when the caller does not hold any of the
+     * permissions of the resource and when the resource is not registered.
+     */
+    private boolean authorized;
+}
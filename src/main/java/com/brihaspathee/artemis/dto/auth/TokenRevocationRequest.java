@@ -0,0 +1,27 @@
+package com.brihaspathee.artemis.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 19, October 2026
+ * Time: 13:05
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.dto.auth
+ * To change this template use File | Settings | File and Code Template
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocationRequest {
+
+    /**
+     * Represents the access token to be revoked. It cannot be blank.
+     */
+    @NotBlank(message = "Token cannot be blank")
+    private String token;
+}
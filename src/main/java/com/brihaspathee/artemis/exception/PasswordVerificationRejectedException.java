@@ -0,0 +1,34 @@
+package com.brihaspathee.artemis.exception;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 18:02
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.exception
+ * To change this template use File | Settings | File and Code Template
+ */
+public class PasswordVerificationRejectedException extends AuthenticationServiceException {
+
+    /**
+     * Constructs a new PasswordVerificationRejectedException with the specified detail message.
+     *
+     * @param message the detail message that provides information about the exception.
+     */
+    public PasswordVerificationRejectedException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new PasswordVerificationRejectedException with the specified detail message and cause.
+     *
+     * @param message the detail message that provides information about the exception.
+     * @param cause the cause of the exception, which can be used to indicate the underlying issue.
+     */
+    public PasswordVerificationRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,89 @@
+package com.brihaspathee.artemis.services.impl;
+
+import com.brihaspathee.artemis.auth.document.Authority;
+import com.brihaspathee.artemis.auth.service.PermissionBits;
+import com.brihaspathee.artemis.auth.service.PermissionRegistry;
+import com.brihaspathee.artemis.domain.document.Resource;
+import com.brihaspathee.artemis.domain.repository.ReactiveResourceRepository;
+import com.brihaspathee.artemis.services.interfaces.ReactiveResourceManagementService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 21:55
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.services.impl
+ * To change this template use File | Settings | File and Code Template
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveResourceManagementServiceImpl implements ReactiveResourceManagementService {
+
+    /**
+     * Matches the URIs of the resources that are registered for a URI pattern, i.e. hold a
+     * template variable or a wildcard segment.
+     */
+    private static final String URI_PATTERN_REGEX = "[{*]";
+
+    /**
+     * Reactive repository used to read the resources until the in-memory index is loaded.
+     */
+    private final ReactiveResourceRepository resourceRepository;
+
+    /**
+     * The in-memory index of the resources. Once it is loaded, lookups are answered from memory
+     * on the calling thread, which never blocks.
+     */
+    private final ResourceIndex resourceIndex;
+
+    /**
+     * Registry used to compile the permissions of a resource read from the database into a bitset.
+     */
+    private final PermissionRegistry permissionRegistry;
+
+    /**
+     * Retrieves the permissions that grant access to the resource with the provided URI, compiled into a bitset.
+     * The bitset is precomputed in the in-memory index once it is loaded. Before that, the resource registered
+     * for exactly the given URI is read from the database, and if there is none the resources registered for
+     * URI patterns are read and matched.
+     *
+     * @param resourceURI the unique URI of the resource; must not be null or blank
+     * @return a Mono emitting the bitset of the permissions of the resource, or completing empty if the resource is not found
+     */
+    @Override
+    public Mono<PermissionBits> getResourcePermissionBits(String resourceURI) {
+        if(resourceIndex.isLoaded()){
+            ResourceIndex.ResourceEntry entry = resourceIndex.find(resourceURI);
+            return entry == null ? Mono.empty() : Mono.just(entry.getPermissionBits());
+        }
+        return resourceRepository.findByResourceUri(resourceURI)
+                .switchIfEmpty(Mono.defer(() -> resourceRepository.findByResourceUriRegex(URI_PATTERN_REGEX)
+                        .collectMap(Resource::getResourceUri)
+                        .mapNotNull(patterns -> ResourceUriMatcher.compile(patterns).match(resourceURI))))
+                .map(this::compilePermissions);
+    }
+
+    /**
+     * Compiles the permissions of the resource into a bitset.
+     *
+     * @param resource the resource read from the database
+     * @return the bitset of the permissions of the resource
+     */
+    private PermissionBits compilePermissions(Resource resource) {
+        Set<String> permissions = resource.getAuthorities().stream()
+                .map(Authority::getPermission)
+                .collect(Collectors.toUnmodifiableSet());
+        return permissionRegistry.compile(permissions);
+    }
+}
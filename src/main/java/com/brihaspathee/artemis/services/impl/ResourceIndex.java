@@ -0,0 +1,355 @@
+package com.brihaspathee.artemis.services.impl;
+
+import com.brihaspathee.artemis.auth.document.Authority;
+import com.brihaspathee.artemis.auth.service.PermissionBits;
+import com.brihaspathee.artemis.auth.service.PermissionRegistry;
+import com.brihaspathee.artemis.domain.document.Resource;
+import com.brihaspathee.artemis.domain.repository.ResourceRepository;
+import com.brihaspathee.artemis.dto.resource.ResourceDto;
+import com.brihaspathee.artemis.mapper.interfaces.ResourceMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 14:40
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.services.impl
+ * To change this template use File | Settings | File and Code Template
+ */
+@Slf4j
+@Component
+public class ResourceIndex {
+
+    /**
+     * Repository used to load the resources from the database.
+     */
+    private final ResourceRepository resourceRepository;
+
+    /**
+     * Mapper used to convert the loaded resources into the {@link ResourceDto} held in the index.
+     */
+    private final ResourceMapper resourceMapper;
+
+    /**
+     * Registry used to compile the permissions of each resource into a bitset when it is loaded.
+     */
+    private final PermissionRegistry permissionRegistry;
+
+    /**
+     * Indicates whether the index is loaded and refreshed. When disabled, the resources
+     * are read from the database on every lookup.
+     */
+    @Getter
+    private final boolean enabled;
+
+    /**
+     * The interval after which the index is rebuilt from the complete resource collection,
+     * which also picks up changes that are not visible to the incremental refresh.
+     */
+    private final Duration fullRefreshInterval;
+
+    /**
+     * The current snapshot of the index. The snapshot is never modified; every refresh builds a new
+     * snapshot and swaps it in, so lookups never block and always see a consistent index.
+     * The snapshot is null until the index is loaded for the first time.
+     */
+    private volatile Snapshot current;
+
+    /**
+     * The most recent modification instant seen in the loaded resources, from which the next
+     * incremental refresh reads the modified resources.
+     */
+    private Instant watermark;
+
+    /**
+     * The ids of the resource documents loaded into the index. Compared by count with the resource
+     * collection to detect documents that were deleted, or inserted without a modification instant.
+     * The index itself cannot be compared, as it holds a single entry for documents sharing a URI.
+     */
+    private Set<String> documentIds;
+
+    /**
+     * The instant at which the index was last rebuilt from the complete resource collection.
+     */
+    private Instant lastFullRefresh;
+
+    /**
+     * Serializes the refreshes. A lock is used rather than a monitor because the refresh reads from
+     * the database while holding it, which would pin the carrier thread of a virtual thread.
+     */
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    /**
+     * Constructs an instance of ResourceIndex.
+     *
+     * @param resourceRepository the repository used to load the resources
+     * @param resourceMapper the mapper used to convert the resources
+     * @param permissionRegistry the registry used to compile the permissions of the resources
+     * @param enabled whether the index is loaded and refreshed
+     * @param fullRefreshInterval the interval after which the index is rebuilt from the complete resource collection
+     */
+    public ResourceIndex(ResourceRepository resourceRepository,
+                         ResourceMapper resourceMapper,
+                         PermissionRegistry permissionRegistry,
+                         @Value("${application.security.resource-index.enabled:true}") boolean enabled,
+                         @Value("${application.security.resource-index.full-refresh-interval:10m}") Duration fullRefreshInterval) {
+        this.resourceRepository = resourceRepository;
+        this.resourceMapper = resourceMapper;
+        this.permissionRegistry = permissionRegistry;
+        this.enabled = enabled;
+        this.fullRefreshInterval = fullRefreshInterval;
+    }
+
+    /**
+     * Indicates whether the index has been loaded and can answer lookups.
+     *
+     * @return true if the index has been loaded, false otherwise
+     */
+    public boolean isLoaded() {
+        return current != null;
+    }
+
+    /**
+     * Finds the resource registered for the given URI in the current snapshot of the index.
+     * A resource registered for exactly the given URI wins over any pattern that matches it,
+     * see {@link ResourceUriMatcher} for the precedence between overlapping patterns.
+     *
+     * @param resourceUri the URI of the resource
+     * @return the entry of the resource, or null if no resource is registered for the URI
+     * @throws IllegalStateException if the index has not been loaded yet
+     */
+    public ResourceEntry find(String resourceUri) {
+        Snapshot snapshot = current;
+        if(snapshot == null){
+            throw new IllegalStateException("Resource index is not loaded");
+        }
+        return snapshot.find(resourceUri);
+    }
+
+    /**
+     * Finds the resources registered for the given URIs. All the URIs are looked up in the same
+     * snapshot of the index, so the result is consistent even if the index is refreshed meanwhile.
+     *
+     * @param resourceUris the URIs of the resources
+     * @return the entries of the resources keyed by URI; URIs without a registered resource are left out
+     * @throws IllegalStateException if the index has not been loaded yet
+     */
+    public Map<String, ResourceEntry> findAll(Collection<String> resourceUris) {
+        Snapshot snapshot = current;
+        if(snapshot == null){
+            throw new IllegalStateException("Resource index is not loaded");
+        }
+        Map<String, ResourceEntry> found = new HashMap<>();
+        for (String resourceUri : resourceUris) {
+            ResourceEntry entry = snapshot.find(resourceUri);
+            if(entry != null){
+                found.put(resourceUri, entry);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Refreshes the index on a fixed delay. The index is rebuilt from the complete resource collection
+     * when it is loaded for the first time or when the full refresh interval has elapsed. Otherwise the
+     * resources modified since the last refresh are read, and the index is rebuilt only if the number of
+     * resources in the database still does not match the number of documents loaded into the index (a
+     * resource was inserted without a modification instant or was deleted). A failed refresh keeps the
+     * current snapshot and is retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${application.security.resource-index.refresh-interval:30s}")
+    public void refresh() {
+        if(!enabled){
+            return;
+        }
+        refreshLock.lock();
+        try{
+            Snapshot snapshot = current;
+            if(snapshot == null || lastFullRefresh.plus(fullRefreshInterval).isBefore(Instant.now())){
+                rebuild();
+                return;
+            }
+            if(watermark != null){
+                refreshModified(snapshot.entries);
+            }
+            /*
+                Compared after the incremental refresh, so that the resources it picked up are counted
+                and only the changes it cannot see force a rebuild
+             */
+            if(resourceRepository.count() != documentIds.size()){
+                rebuild();
+            }
+        }catch (RuntimeException e){
+            log.warn("Resource index refresh failed, serving the current snapshot: {}", e.getMessage());
+        }finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the complete resource collection and swaps it in.
+     */
+    private void rebuild() {
+        Instant startedAt = Instant.now();
+        List<Resource> resources = resourceRepository.findAll();
+        Map<String, ResourceEntry> snapshot = new HashMap<>();
+        Set<String> loadedIds = new HashSet<>();
+        Instant latest = null;
+        for (Resource resource : resources) {
+            snapshot.put(resource.getResourceUri(), toEntry(resource));
+            loadedIds.add(resource.getResourceId());
+            latest = latest(latest, resource.getLastModified());
+        }
+        current = new Snapshot(snapshot);
+        documentIds = loadedIds;
+        watermark = latest;
+        lastFullRefresh = startedAt;
+        log.info("Resource index rebuilt with {} resources, {} of them uri patterns",
+                snapshot.size(), current.patterns.size());
+    }
+
+    /**
+     * Reads the resources modified since the last refresh and swaps in a snapshot that contains them.
+     * The current snapshot is swapped out only if at least one resource was modified.
+     *
+     * @param currentEntries the entries of the current snapshot of the index
+     */
+    private void refreshModified(Map<String, ResourceEntry> currentEntries) {
+        List<Resource> modified = resourceRepository.findByLastModifiedGreaterThanEqual(watermark);
+        Map<String, ResourceEntry> snapshot = new HashMap<>(currentEntries);
+        boolean changed = false;
+        Instant latest = watermark;
+        for (Resource resource : modified) {
+            documentIds.add(resource.getResourceId());
+            ResourceEntry previous = snapshot.get(resource.getResourceUri());
+            if(previous == null || !resource.getLastModified().equals(previous.getLastModified())){
+                // A resource whose URI changed is removed from its old URI by the next full refresh
+                snapshot.put(resource.getResourceUri(), toEntry(resource));
+                changed = true;
+            }
+            latest = latest(latest, resource.getLastModified());
+        }
+        watermark = latest;
+        if(changed){
+            current = new Snapshot(snapshot);
+            log.info("Resource index refreshed, {} resources modified", modified.size());
+        }
+    }
+
+    /**
+     * Converts the resource into an entry of the index, precomputing its permission set
+     * and the bitset compiled from it.
+     *
+     * @param resource the resource loaded from the database
+     * @return the entry of the index
+     */
+    private ResourceEntry toEntry(Resource resource) {
+        Set<String> permissions = resource.getAuthorities() == null ? Set.of() :
+                resource.getAuthorities().stream()
+                        .map(Authority::getPermission)
+                        .collect(Collectors.toUnmodifiableSet());
+        return new ResourceEntry(resourceMapper.toDto(resource), permissions,
+                permissionRegistry.compile(permissions), resource.getLastModified());
+    }
+
+    /**
+     * Returns the later of the two instants, either of which may be null.
+     *
+     * @param first the first instant
+     * @param second the second instant
+     * @return the later instant, or null if both are null
+     */
+    private static Instant latest(Instant first, Instant second) {
+        if(first == null){
+            return second;
+        }
+        return second == null || first.isAfter(second) ? first : second;
+    }
+
+    /**
+     * An immutable snapshot of the index: the entries keyed by their resource URI, and the entries
+     * registered for URI patterns compiled into a single matcher.
+     */
+    private static final class Snapshot {
+
+        /**
+         * The entries of the index keyed by resource URI, including the entries registered for patterns.
+         */
+        private final Map<String, ResourceEntry> entries;
+
+        /**
+         * The entries registered for URI patterns, compiled into a single matcher.
+         */
+        private final ResourceUriMatcher<ResourceEntry> patterns;
+
+        private Snapshot(Map<String, ResourceEntry> entries) {
+            this.entries = Map.copyOf(entries);
+            this.patterns = ResourceUriMatcher.compile(this.entries);
+        }
+
+        /**
+         * Finds the entry registered for exactly the given URI, or else the entry of the most
+         * specific pattern that matches it.
+         *
+         * @param resourceUri the URI of the resource
+         * @return the entry of the resource, or null if no resource matches the URI
+         */
+        private ResourceEntry find(String resourceUri) {
+            ResourceEntry entry = entries.get(resourceUri);
+            return entry != null ? entry : patterns.match(resourceUri);
+        }
+    }
+
+    /**
+     * An entry of the resource index.
+     */
+    @Getter
+    public static final class ResourceEntry {
+
+        /**
+         * The details of the resource. The instance is shared by every lookup and must not be modified.
+         */
+        private final ResourceDto resource;
+
+        /**
+         * The permissions that grant access to the resource, any one of which is sufficient.
+         */
+        private final Set<String> permissions;
+
+        /**
+         * The permissions that grant access to the resource, compiled into a bitset
+         * by the {@link PermissionRegistry}.
+         */
+        private final PermissionBits permissionBits;
+
+        /**
+         * The instant at which the resource was last modified, or null if it is not known.
+         */
+        private final Instant lastModified;
+
+        private ResourceEntry(ResourceDto resource, Set<String> permissions,
+                              PermissionBits permissionBits, Instant lastModified) {
+            this.resource = resource;
+            this.permissions = permissions;
+            this.permissionBits = permissionBits;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -1,15 +1,26 @@
 package com.brihaspathee.artemis.services.impl;
 
+import com.brihaspathee.artemis.auth.document.Authority;
+import com.brihaspathee.artemis.auth.service.PermissionBits;
+import com.brihaspathee.artemis.auth.service.PermissionRegistry;
+import com.brihaspathee.artemis.auth.service.SingleFlight;
 import com.brihaspathee.artemis.domain.document.Resource;
 import com.brihaspathee.artemis.domain.repository.ResourceRepository;
 import com.brihaspathee.artemis.dto.resource.ResourceDto;
 import com.brihaspathee.artemis.mapper.interfaces.ResourceMapper;
 import com.brihaspathee.artemis.services.interfaces.ResourceManagementService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Created in Intellij IDEA
@@ -22,9 +33,24 @@ import java.util.Optional;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ResourceManagementServiceImpl implements ResourceManagementService {
 
+    /**
+     * Matches the URIs of the resources that are registered for a URI pattern, i.e. hold a
+     * template variable or a wildcard segment.
+     */
+    private static final String URI_PATTERN_REGEX = "[{*]";
+
+    /**
+     * The name of the timer recording how long it takes to look up the permissions of a resource.
+     */
+    private static final String LOOKUP_TIMER = "artemis.auth.resource.lookup";
+
+    /**
+     * The name of the timer recording how long it takes to look up the permissions of a batch of resources.
+     */
+    private static final String BATCH_LOOKUP_TIMER = "artemis.auth.resource.batch.lookup";
+
     /**
      * Repository interface to perform CRUD operations and queries on the Resource entities stored in the database.
      * Acts as a data access layer for manipulating resource data.
@@ -38,15 +64,93 @@ public class ResourceManagementServiceImpl implements ResourceManagementService
      */
     private final ResourceMapper resourceMapper;
 
+    /**
+     * The in-memory index of the resources, used to answer lookups without reading the database
+     * once the index has been loaded.
+     */
+    private final ResourceIndex resourceIndex;
+
+    /**
+     * Registry used to compile the permissions of a resource read from the database into a bitset.
+     */
+    private final PermissionRegistry permissionRegistry;
+
+    /**
+     * Coalesces concurrent database lookups of the same resource URI, so that a hot resource requested
+     * on many threads at once before the index is loaded results in a single query.
+     */
+    private final SingleFlight<String, Optional<Resource>> resourceLookups = new SingleFlight<>();
+
+    /**
+     * The timer of the lookups that found the resource in the in-memory index.
+     */
+    private final Timer indexFoundTimer;
+
+    /**
+     * The timer of the lookups that did not find the resource in the in-memory index.
+     */
+    private final Timer indexNotFoundTimer;
+
+    /**
+     * The timer of the lookups that found the resource in the database.
+     */
+    private final Timer databaseFoundTimer;
+
+    /**
+     * The timer of the lookups that did not find the resource in the database.
+     */
+    private final Timer databaseNotFoundTimer;
+
+    /**
+     * The timer of the batch lookups answered from the in-memory index.
+     */
+    private final Timer indexBatchTimer;
+
+    /**
+     * The timer of the batch lookups answered from the database.
+     */
+    private final Timer databaseBatchTimer;
+
+    /**
+     * Constructs an instance of ResourceManagementServiceImpl.
+     *
+     * @param resourceRepository the repository used to read the resources before the index is loaded
+     * @param resourceMapper the mapper used to convert the resources read from the database
+     * @param resourceIndex the in-memory index of the resources
+     * @param permissionRegistry the registry used to compile the permissions of the resources
+     * @param meterRegistry the registry where the lookup timers are published
+     */
+    public ResourceManagementServiceImpl(ResourceRepository resourceRepository,
+                                         ResourceMapper resourceMapper,
+                                         ResourceIndex resourceIndex,
+                                         PermissionRegistry permissionRegistry,
+                                         MeterRegistry meterRegistry) {
+        this.resourceRepository = resourceRepository;
+        this.resourceMapper = resourceMapper;
+        this.resourceIndex = resourceIndex;
+        this.permissionRegistry = permissionRegistry;
+        this.indexFoundTimer = lookupTimer(meterRegistry, LOOKUP_TIMER, "index", "found");
+        this.indexNotFoundTimer = lookupTimer(meterRegistry, LOOKUP_TIMER, "index", "not_found");
+        this.databaseFoundTimer = lookupTimer(meterRegistry, LOOKUP_TIMER, "database", "found");
+        this.databaseNotFoundTimer = lookupTimer(meterRegistry, LOOKUP_TIMER, "database", "not_found");
+        this.indexBatchTimer = lookupTimer(meterRegistry, BATCH_LOOKUP_TIMER, "index", "completed");
+        this.databaseBatchTimer = lookupTimer(meterRegistry, BATCH_LOOKUP_TIMER, "database", "completed");
+    }
+
     /**
      * Retrieves the details of a resource based on the provided URI.
+     * The resource is read from the in-memory index once it is loaded, and from the database before that.
      *
      * @param resourceURI the unique URI of the resource to retrieve; must not be null or blank
      * @return a {@code ResourceDto} object containing the details of the resource, or null if the resource is not found
      */
     @Override
     public ResourceDto getResourceDetails(String resourceURI) {
-        Optional<Resource> optionalResource =  resourceRepository.findByResourceUri(resourceURI);
+        if(resourceIndex.isLoaded()){
+            ResourceIndex.ResourceEntry entry = resourceIndex.find(resourceURI);
+            return entry == null ? null : entry.getResource();
+        }
+        Optional<Resource> optionalResource =  findResource(resourceURI);
         if(optionalResource.isPresent()){
             Resource resource = optionalResource.get();
             return resourceMapper.toDto(resource);
@@ -54,4 +158,147 @@ public class ResourceManagementServiceImpl implements ResourceManagementService
             return null;
         }
     }
+
+    /**
+     * Retrieves the permissions that grant access to the resource with the provided URI.
+     * The permissions are read from the in-memory index once it is loaded, and from the database before that.
+     *
+     * @param resourceURI the unique URI of the resource; must not be null or blank
+     * @return an immutable set of the permissions of the resource, or null if the resource is not found
+     */
+    @Override
+    public Set<String> getResourcePermissions(String resourceURI) {
+        if(resourceIndex.isLoaded()){
+            ResourceIndex.ResourceEntry entry = resourceIndex.find(resourceURI);
+            return entry == null ? null : entry.getPermissions();
+        }
+        return findResource(resourceURI)
+                .map(resource -> resource.getAuthorities().stream()
+                        .map(Authority::getPermission)
+                        .collect(Collectors.toUnmodifiableSet()))
+                .orElse(null);
+    }
+
+    /**
+     * Retrieves the permissions that grant access to the resource with the provided URI, compiled into a bitset.
+     * The bitset is precomputed in the in-memory index once it is loaded, and compiled from the database before that.
+     * The time taken is recorded by source (index or database) and outcome.
+     *
+     * @param resourceURI the unique URI of the resource; must not be null or blank
+     * @return the bitset of the permissions of the resource, or null if the resource is not found
+     */
+    @Override
+    public PermissionBits getResourcePermissionBits(String resourceURI) {
+        long startedAt = System.nanoTime();
+        if(resourceIndex.isLoaded()){
+            ResourceIndex.ResourceEntry entry = resourceIndex.find(resourceURI);
+            PermissionBits permissionBits = entry == null ? null : entry.getPermissionBits();
+            (permissionBits == null ? indexNotFoundTimer : indexFoundTimer)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            return permissionBits;
+        }
+        Set<String> permissions = getResourcePermissions(resourceURI);
+        PermissionBits permissionBits = permissions == null ? null : permissionRegistry.compile(permissions);
+        (permissionBits == null ? databaseNotFoundTimer : databaseFoundTimer)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return permissionBits;
+    }
+
+    /**
+     * Retrieves the permissions of each of the resources with the provided URIs, compiled into bitsets.
+     * The resources are read from a single snapshot of the in-memory index once it is loaded, and with
+     * a single query to the database before that.
+     *
+     * @param resourceURIs the unique URIs of the resources
+     * @return the bitsets of the permissions keyed by resource URI; URIs of resources that are not found are left out
+     */
+    @Override
+    public Map<String, PermissionBits> getResourcePermissionBits(Collection<String> resourceURIs) {
+        long startedAt = System.nanoTime();
+        Map<String, PermissionBits> permissionBits = new HashMap<>();
+        if(resourceIndex.isLoaded()){
+            resourceIndex.findAll(resourceURIs).forEach((resourceURI, entry) ->
+                    permissionBits.put(resourceURI, entry.getPermissionBits()));
+            indexBatchTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            return permissionBits;
+        }
+        for (Resource resource : resourceRepository.findByResourceUriIn(resourceURIs)) {
+            permissionBits.put(resource.getResourceUri(), compilePermissions(resource));
+        }
+        if(permissionBits.size() < resourceURIs.size()){
+            ResourceUriMatcher<Resource> patterns = loadPatterns();
+            for (String resourceURI : resourceURIs) {
+                if(!permissionBits.containsKey(resourceURI)){
+                    Resource resource = patterns.match(resourceURI);
+                    if(resource != null){
+                        permissionBits.put(resourceURI, compilePermissions(resource));
+                    }
+                }
+            }
+        }
+        databaseBatchTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return permissionBits;
+    }
+
+    /**
+     * Finds the resource registered for the given URI in the database. A resource registered for exactly
+     * the given URI wins; otherwise the resources registered for URI patterns are loaded and matched.
+     * This path is only used until the in-memory index is loaded, which compiles the patterns once.
+     * Concurrent lookups of the same URI share a single set of queries.
+     *
+     * @param resourceURI the URI of the resource
+     * @return an {@code Optional} containing the resource, or an empty {@code Optional} if no resource matches the URI
+     */
+    private Optional<Resource> findResource(String resourceURI) {
+        return resourceLookups.execute(resourceURI, () -> {
+            Optional<Resource> resource = resourceRepository.findByResourceUri(resourceURI);
+            if(resource.isPresent()){
+                return resource;
+            }
+            return Optional.ofNullable(loadPatterns().match(resourceURI));
+        });
+    }
+
+    /**
+     * Loads the resources registered for URI patterns from the database and compiles them into a matcher.
+     *
+     * @return the matcher of the resources registered for URI patterns
+     */
+    private ResourceUriMatcher<Resource> loadPatterns() {
+        Map<String, Resource> patterns = new HashMap<>();
+        for (Resource resource : resourceRepository.findByResourceUriRegex(URI_PATTERN_REGEX)) {
+            patterns.put(resource.getResourceUri(), resource);
+        }
+        return ResourceUriMatcher.compile(patterns);
+    }
+
+    /**
+     * Compiles the permissions of the resource into a bitset.
+     *
+     * @param resource the resource read from the database
+     * @return the bitset of the permissions of the resource
+     */
+    private PermissionBits compilePermissions(Resource resource) {
+        Set<String> permissions = resource.getAuthorities().stream()
+                .map(Authority::getPermission)
+                .collect(Collectors.toUnmodifiableSet());
+        return permissionRegistry.compile(permissions);
+    }
+
+    /**
+     * Builds the timer of the resource lookups with the given source and outcome.
+     *
+     * @param meterRegistry the registry where the timer is published
+     * @param name the name of the timer
+     * @param source where the resources were looked up: index or database
+     * @param outcome the outcome of the lookup
+     * @return the registered timer
+     */
+    private static Timer lookupTimer(MeterRegistry meterRegistry, String name, String source, String outcome) {
+        return Timer.builder(name)
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,353 @@
+package com.brihaspathee.artemis.services.impl;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 17:10
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.services.impl
+ * To change this template use File | Settings | File and Code Template
+ *
+ * Matches resource URIs against a set of URI patterns compiled into a single segment trie.
+ * A pattern is made of segments separated by '/', where each segment is one of:
+ * <ul>
+ *     <li>a literal, which matches the same segment only</li>
+ *     <li>a template variable such as {@code {id}} or a single {@code *}, which matches exactly one segment</li>
+ *     <li>{@code **}, which matches zero or more segments</li>
+ * </ul>
+ * The cost of a lookup depends on the number of segments of the URI and not on the number
+ * of patterns. When more than one pattern matches a URI, the pattern that is more specific at the
+ * left-most segment where they differ wins: a literal beats a single-segment wildcard, which beats
+ * {@code **}. For example {@code /members/123/**} wins over {@code /members/{id}/claims/**} for
+ * {@code /members/123/claims/9}. Patterns that differ only in the names of their template variables
+ * are the same pattern; the one compiled last is kept.
+ * <p>
+ * URIs holding a dot segment ({@code .} or {@code ..}, also percent-encoded) or an encoded slash
+ * ({@code %2F}) never match a pattern. Such a URI may be resolved to a different path by the service
+ * that serves the resource, so matching it literally, e.g. {@code /public/../admin} against
+ * {@code /public/**}, would authorize access to the wrong resource.
+ *
+ * @param <T> the type of the value registered for each pattern
+ */
+@Slf4j
+public final class ResourceUriMatcher<T> {
+
+    /**
+     * The root of the trie.
+     */
+    private final Node<T> root;
+
+    /**
+     * The number of patterns compiled into the trie.
+     */
+    private final int size;
+
+    /**
+     * The number of {@code **} nodes in the trie, each of which is given an id below this number.
+     */
+    private final int anySegmentNodes;
+
+    private ResourceUriMatcher(Node<T> root, int size, int anySegmentNodes) {
+        this.root = root;
+        this.size = size;
+        this.anySegmentNodes = anySegmentNodes;
+    }
+
+    /**
+     * Checks if the given resource URI is a pattern, i.e. holds a template variable or a wildcard segment.
+     *
+     * @param resourceUri the resource URI
+     * @return true if the URI is a pattern, false if it can only be matched exactly
+     */
+    public static boolean isPattern(String resourceUri) {
+        return resourceUri != null && (resourceUri.indexOf('{') >= 0 || resourceUri.indexOf('*') >= 0);
+    }
+
+    /**
+     * Compiles the given patterns into a matcher. Keys that are not patterns are ignored,
+     * since they are looked up exactly by the caller.
+     *
+     * @param patterns the values keyed by their URI pattern
+     * @param <T> the type of the values
+     * @return the compiled matcher
+     */
+    public static <T> ResourceUriMatcher<T> compile(Map<String, T> patterns) {
+        Node<T> root = new Node<>();
+        int size = 0;
+        int[] anySegmentNodes = new int[1];
+        for (Map.Entry<String, T> pattern : patterns.entrySet()) {
+            if(!isPattern(pattern.getKey())){
+                continue;
+            }
+            Node<T> node = root;
+            for (String segment : pattern.getKey().split("/")) {
+                if(segment.isEmpty()){
+                    continue;
+                }
+                node = node.child(segment, anySegmentNodes);
+            }
+            if(node.value != null){
+                log.warn("Resource uri pattern {} overlaps an identical pattern and replaces it", pattern.getKey());
+            }else {
+                size++;
+            }
+            node.value = pattern.getValue();
+        }
+        return new ResourceUriMatcher<>(root, size, anySegmentNodes[0]);
+    }
+
+    /**
+     * Returns the number of patterns compiled into the matcher.
+     *
+     * @return the number of patterns
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the value of the most specific pattern that matches the given URI.
+     *
+     * @param resourceUri the URI to be matched
+     * @return the value of the matching pattern, or null if no pattern matches the URI
+     */
+    public T match(String resourceUri) {
+        if(size == 0 || resourceUri == null || !isMatchable(resourceUri)){
+            return null;
+        }
+        return new Search<T>(resourceUri, anySegmentNodes).match(root, 0);
+    }
+
+    /**
+     * Checks that the URI holds neither a dot segment nor an encoded slash or backslash, either of which
+     * may make the URI resolve to a different path than the segments it is matched by.
+     *
+     * @param uri the URI to be matched
+     * @return true if the URI can be matched, false if it must be rejected
+     */
+    private static boolean isMatchable(String uri) {
+        // The number of dots in the current segment, or -1 once the segment holds anything else
+        int dots = 0;
+        for (int i = 0; i < uri.length(); i++) {
+            char c = uri.charAt(i);
+            if(c == '/'){
+                if(dots == 1 || dots == 2){
+                    return false;
+                }
+                dots = 0;
+            }else if(c == '\\' || isEncoded(uri, i, "%2f") || isEncoded(uri, i, "%5c")){
+                return false;
+            }else if(c == '.' || isEncoded(uri, i, "%2e")){
+                i += c == '.' ? 0 : 2;
+                dots = dots < 0 ? -1 : dots + 1;
+            }else {
+                dots = -1;
+            }
+        }
+        return dots != 1 && dots != 2;
+    }
+
+    /**
+     * Checks if the URI holds the given percent-encoded character at the given position, in either case.
+     *
+     * @param uri the URI
+     * @param position the position of the URI
+     * @param encoded the percent-encoded character, in lower case
+     * @return true if the encoded character is found at the position
+     */
+    private static boolean isEncoded(String uri, int position, String encoded) {
+        return uri.charAt(position) == '%' && uri.regionMatches(true, position, encoded, 0, encoded.length());
+    }
+
+    /**
+     * Skips the slashes at the given position of the URI.
+     *
+     * @param uri the URI
+     * @param from the position from which the slashes are skipped
+     * @return the position of the first character that is not a slash, or the length of the URI
+     */
+    private static int skipSlashes(String uri, int from) {
+        int position = from;
+        while (position < uri.length() && uri.charAt(position) == '/') {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * The state of a single match of a URI. Records the {@code **} nodes that failed to match the
+     * remainder of the URI from a given position, so that no {@code **} node is tried twice at the same
+     * position. Without it a pattern with several {@code **} segments backtracks exponentially in the
+     * number of segments of a URI it does not match; with it a match costs at most the number of
+     * {@code **} nodes times the length of the URI.
+     *
+     * @param <T> the type of the values
+     */
+    private static final class Search<T> {
+
+        /**
+         * The URI to be matched.
+         */
+        private final String uri;
+
+        /**
+         * The number of {@code **} nodes in the trie.
+         */
+        private final int anySegmentNodes;
+
+        /**
+         * The failed ({@code **} node, position) pairs, created when the first {@code **} node is tried.
+         */
+        private BitSet failed;
+
+        private Search(String uri, int anySegmentNodes) {
+            this.uri = uri;
+            this.anySegmentNodes = anySegmentNodes;
+        }
+
+        /**
+         * Matches the remainder of the URI, starting at the given position, against the given node.
+         * The children of the node are tried in the order of precedence: literal, single segment, any segments.
+         *
+         * @param node the node of the trie reached so far
+         * @param from the position of the URI from which the next segment starts
+         * @return the value of the matching pattern, or null if no pattern matches
+         */
+        private T match(Node<T> node, int from) {
+            int start = skipSlashes(uri, from);
+            if(start == uri.length()){
+                if(node.value != null){
+                    return node.value;
+                }
+                // A trailing ** matches zero segments
+                return node.anySegments == null ? null : node.anySegments.value;
+            }
+            int end = uri.indexOf('/', start);
+            if(end < 0){
+                end = uri.length();
+            }
+            if(node.literals != null){
+                Node<T> literal = node.literals.get(uri.substring(start, end));
+                if(literal != null){
+                    T value = match(literal, end);
+                    if(value != null){
+                        return value;
+                    }
+                }
+            }
+            if(node.oneSegment != null){
+                T value = match(node.oneSegment, end);
+                if(value != null){
+                    return value;
+                }
+            }
+            if(node.anySegments != null){
+                // Let ** consume as few segments as possible, so that the segments after it get a chance to match
+                int position = start;
+                while (true) {
+                    T value = matchAnySegments(node.anySegments, position);
+                    if(value != null){
+                        return value;
+                    }
+                    if(position == uri.length()){
+                        break;
+                    }
+                    int next = uri.indexOf('/', skipSlashes(uri, position));
+                    position = next < 0 ? uri.length() : next;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Matches the remainder of the URI, starting at the given position, against the given {@code **}
+         * node, unless the same node already failed to match from the same position.
+         *
+         * @param anySegments the {@code **} node
+         * @param position the position of the URI from which the node is matched
+         * @return the value of the matching pattern, or null if no pattern matches
+         */
+        private T matchAnySegments(Node<T> anySegments, int position) {
+            if(failed == null){
+                failed = new BitSet(anySegmentNodes * (uri.length() + 1));
+            }
+            int state = anySegments.id * (uri.length() + 1) + position;
+            if(failed.get(state)){
+                return null;
+            }
+            T value = match(anySegments, position);
+            if(value == null){
+                failed.set(state);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * A node of the trie, reached after matching a number of segments.
+     *
+     * @param <T> the type of the values
+     */
+    private static final class Node<T> {
+
+        /**
+         * The children reached by a literal segment, or null if there are none.
+         */
+        private Map<String, Node<T>> literals;
+
+        /**
+         * The child reached by a template variable or a single {@code *}, or null if there is none.
+         */
+        private Node<T> oneSegment;
+
+        /**
+         * The child reached by {@code **}, or null if there is none.
+         */
+        private Node<T> anySegments;
+
+        /**
+         * The value of the pattern that ends at this node, or null if no pattern ends here.
+         */
+        private T value;
+
+        /**
+         * The id of the node among the {@code **} nodes of the trie, used to record the positions
+         * it failed to match from. Only set on {@code **} nodes.
+         */
+        private int id;
+
+        /**
+         * Returns the child for the given pattern segment, creating it if needed.
+         *
+         * @param segment the segment of the pattern
+         * @param anySegmentNodes the number of {@code **} nodes created so far, incremented if one is created
+         * @return the child node
+         */
+        private Node<T> child(String segment, int[] anySegmentNodes) {
+            if(segment.equals("**")){
+                if(anySegments == null){
+                    anySegments = new Node<>();
+                    anySegments.id = anySegmentNodes[0]++;
+                }
+                return anySegments;
+            }
+            if(segment.equals("*") || (segment.startsWith("{") && segment.endsWith("}"))){
+                if(oneSegment == null){
+                    oneSegment = new Node<>();
+                }
+                return oneSegment;
+            }
+            if(literals == null){
+                literals = new HashMap<>();
+            }
+            return literals.computeIfAbsent(segment, key -> new Node<>());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.brihaspathee.artemis.services.interfaces;
+
+import com.brihaspathee.artemis.auth.service.PermissionBits;
+import reactor.core.publisher.Mono;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 21:55
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.services.interfaces
+ * To change this template use File | Settings | File and Code Template
+ */
+public interface ReactiveResourceManagementService {
+
+    /**
+     * Retrieves the permissions that grant access to the resource with the provided URI, compiled into a bitset,
+     * without blocking the calling thread.
+     *
+     * @param resourceURI the unique URI of the resource
+     * @return a Mono emitting the bitset of the permissions of the resource, or completing empty if the resource is not found
+     */
+    Mono<PermissionBits> getResourcePermissionBits(String resourceURI);
+}
@@ -1,8 +1,12 @@
 package com.brihaspathee.artemis.services.interfaces;
 
+import com.brihaspathee.artemis.auth.service.PermissionBits;
 import com.brihaspathee.artemis.dto.resource.ResourceDto;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Created in Intellij IDEA
@@ -23,4 +27,31 @@ public interface ResourceManagementService {
      * @return a ResourceDto object containing the details of the resource
      */
     ResourceDto getResourceDetails(String resourceURI);
+
+    /**
+     * Retrieves the permissions that grant access to the resource with the provided URI.
+     * Any one of the returned permissions is sufficient to access the resource.
+     *
+     * @param resourceURI the unique URI of the resource
+     * @return an immutable set of the permissions of the resource, or null if the resource is not found
+     */
+    Set<String> getResourcePermissions(String resourceURI);
+
+    /**
+     * Retrieves the permissions that grant access to the resource with the provided URI,
+     * compiled into a bitset. Any one of the permissions is sufficient to access the resource.
+     *
+     * @param resourceURI the unique URI of the resource
+     * @return the bitset of the permissions of the resource, or null if the resource is not found
+     */
+    PermissionBits getResourcePermissionBits(String resourceURI);
+
+    /**
+     * Retrieves the permissions of each of the resources with the provided URIs, compiled into bitsets.
+     * The resources are looked up together instead of one at a time.
+     *
+     * @param resourceURIs the unique URIs of the resources
+     * @return the bitsets of the permissions keyed by resource URI; URIs of resources that are not found are left out
+     */
+    Map<String, PermissionBits> getResourcePermissionBits(Collection<String> resourceURIs);
 }
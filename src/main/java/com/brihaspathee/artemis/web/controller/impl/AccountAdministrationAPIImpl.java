@@ -0,0 +1,129 @@
+package com.brihaspathee.artemis.web.controller.impl;
+
+import com.brihaspathee.artemis.auth.service.JwtClaims;
+import com.brihaspathee.artemis.auth.service.JwtService;
+import com.brihaspathee.artemis.auth.service.SecurityStampService;
+import com.brihaspathee.artemis.auth.service.TokenRevocationList;
+import com.brihaspathee.artemis.dto.auth.AccountRequest;
+import com.brihaspathee.artemis.dto.auth.TokenRevocationRequest;
+import com.brihaspathee.artemis.web.controller.interfaces.AccountAdministrationAPI;
+import com.brihaspathee.artemis.web.response.ArtemisAPIResponse;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 19, October 2026
+ * Time: 10:20
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.web.controller.impl
+ * To change this template use File | Settings | File and Code Template
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AccountAdministrationAPIImpl implements AccountAdministrationAPI {
+
+    /**
+     * Rotates the security stamp of the accounts.
+     */
+    private final SecurityStampService securityStampService;
+
+    /**
+     * Revokes the tokens of the accounts, or single tokens.
+     */
+    private final TokenRevocationList tokenRevocationList;
+
+    /**
+     * Verifies the tokens to be revoked, so that only tokens issued by the service are revoked.
+     */
+    private final JwtService jwtService;
+
+    /**
+     * Rotates the security stamp of the account. The caller is checked for the administration authority
+     * by the security filter chain before the control reaches here.
+     *
+     * @param request the request identifying the account
+     * @return a ResponseEntity containing an ArtemisAPIResponse confirming the rotation
+     */
+    @Override
+    public ResponseEntity<ArtemisAPIResponse<Void>> rotateSecurityStamp(AccountRequest request) {
+        log.info("Rotating the security stamp of user: {}", request.getUsername());
+        securityStampService.rotateStamp(request.getUsername(), request.getAccountType());
+        ArtemisAPIResponse<Void> apiResponse = ArtemisAPIResponse.<Void>builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .reason("Security Stamp Rotated")
+                .message("Every token issued to the account is now invalid")
+                .developerMessage("Security stamp rotated")
+                .statusCode(HttpStatus.OK.value())
+                .build();
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    /**
+     * Revokes every token issued to the account so far. The caller is checked for the administration
+     * authority by the security filter chain before the control reaches here.
+     *
+     * @param request the request identifying the account
+     * @return a ResponseEntity containing an ArtemisAPIResponse confirming the revocation
+     */
+    @Override
+    public ResponseEntity<ArtemisAPIResponse<Void>> revokeAccountTokens(AccountRequest request) {
+        log.info("Revoking the tokens of user: {}", request.getUsername());
+        tokenRevocationList.revokeSubject(request.getUsername(), request.getAccountType());
+        ArtemisAPIResponse<Void> apiResponse = ArtemisAPIResponse.<Void>builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .reason("Tokens Revoked")
+                .message("Every token issued to the account so far is now invalid")
+                .developerMessage("Tokens of the account revoked")
+                .statusCode(HttpStatus.OK.value())
+                .build();
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    /**
+     * Revokes a single access token. The token is verified first, so that a forged or expired token is
+     * not written to the revocation list.
+     *
+     * @param request the request containing the token to be revoked
+     * @return a ResponseEntity containing an ArtemisAPIResponse confirming the revocation, or a 400 response
+     *         if the token is not valid or carries no token id
+     */
+    @Override
+    public ResponseEntity<ArtemisAPIResponse<Void>> revokeToken(TokenRevocationRequest request) {
+        try{
+            JwtClaims claims = jwtService.verifyToken(request.getToken());
+            tokenRevocationList.revoke(claims);
+        }catch (JwtException | IllegalArgumentException e){
+            ArtemisAPIResponse<Void> apiResponse = ArtemisAPIResponse.<Void>builder()
+                    .timestamp(LocalDateTime.now())
+                    .status(HttpStatus.BAD_REQUEST)
+                    .reason("Token Not Revoked")
+                    .message("The token is not valid or cannot be revoked on its own")
+                    .developerMessage(e.getMessage())
+                    .statusCode(HttpStatus.BAD_REQUEST.value())
+                    .build();
+            return ResponseEntity.badRequest().body(apiResponse);
+        }
+        ArtemisAPIResponse<Void> apiResponse = ArtemisAPIResponse.<Void>builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .reason("Token Revoked")
+                .message("The token is now invalid")
+                .developerMessage("Token revoked")
+                .statusCode(HttpStatus.OK.value())
+                .build();
+        return ResponseEntity.ok(apiResponse);
+    }
+}
@@ -3,18 +3,22 @@ package com.brihaspathee.artemis.web.controller.impl;
 import com.brihaspathee.artemis.auth.ArtemisAuthenticationToken;
 import com.brihaspathee.artemis.auth.document.User;
 import com.brihaspathee.artemis.auth.service.JwtService;
+import com.brihaspathee.artemis.auth.service.RefreshTokenService;
 import com.brihaspathee.artemis.dto.auth.AuthenticationRequest;
 import com.brihaspathee.artemis.dto.auth.AuthenticationResponse;
+import com.brihaspathee.artemis.dto.auth.RefreshTokenRequest;
 import com.brihaspathee.artemis.web.controller.interfaces.AuthenticationAPI;
 import com.brihaspathee.artemis.web.response.ArtemisAPIResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDateTime;
@@ -31,6 +35,7 @@ import java.time.LocalDateTime;
 @Slf4j
 @RestController
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AuthenticationAPIImpl implements AuthenticationAPI {
 
     /**
@@ -45,6 +50,11 @@ public class AuthenticationAPIImpl implements AuthenticationAPI {
      */
     private final JwtService jwtService;
 
+    /**
+     * Exchanges the refresh tokens for new access tokens.
+     */
+    private final RefreshTokenService refreshTokenService;
+
     /**
      * Authenticates a user based on the credentials provided in the authentication request.
      *
@@ -85,4 +95,44 @@ public class AuthenticationAPIImpl implements AuthenticationAPI {
 //                .build();
 //        return ResponseEntity.ok(apiResponse);
 //    }
+
+    /**
+     * Exchanges the refresh token for a new access token and a new refresh token. The account of the refresh
+     * token is loaded again, but its password is not checked.
+     *
+     * @param refreshTokenRequest the request containing the refresh token
+     * @return ResponseEntity containing an ArtemisAPIResponse with the new access token, or a 401 response
+     *         if the refresh token cannot be exchanged
+     */
+    @Override
+    public ResponseEntity<ArtemisAPIResponse<AuthenticationResponse>> refresh(RefreshTokenRequest refreshTokenRequest) {
+        RefreshTokenService.Grant grant;
+        try{
+            grant = refreshTokenService.refresh(refreshTokenRequest.getRefreshToken());
+        }catch (AuthenticationException e){
+            ArtemisAPIResponse<AuthenticationResponse> apiResponse = ArtemisAPIResponse.<AuthenticationResponse>builder()
+                    .status(HttpStatus.UNAUTHORIZED)
+                    .reason("Authentication Failed")
+                    .message("Invalid or expired refresh token")
+                    .developerMessage(e.getMessage())
+                    .timestamp(LocalDateTime.now())
+                    .build();
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(apiResponse);
+        }
+        AuthenticationResponse authenticationResponse = AuthenticationResponse.builder()
+                .token(grant.getAccessToken())
+                .build();
+        ArtemisAPIResponse<AuthenticationResponse> apiResponse = ArtemisAPIResponse.<AuthenticationResponse>builder()
+                .response(authenticationResponse)
+                .status(HttpStatus.OK)
+                .reason("Authentication Success")
+                .message("Access token successfully refreshed")
+                .developerMessage("Access token successfully refreshed")
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.ok()
+                .header("Authorization", "Bearer " + grant.getAccessToken())
+                .header(RefreshTokenService.REFRESH_TOKEN_HEADER, grant.getRefreshToken())
+                .body(apiResponse);
+    }
 }
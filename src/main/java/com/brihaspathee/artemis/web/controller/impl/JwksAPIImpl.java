@@ -0,0 +1,63 @@
+package com.brihaspathee.artemis.web.controller.impl;
+
+import com.brihaspathee.artemis.auth.service.JwksService;
+import com.brihaspathee.artemis.web.controller.interfaces.JwksAPI;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 12:00
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.web.controller.impl
+ * To change this template use File | Settings | File and Code Template
+ */
+@RestController
+public class JwksAPIImpl implements JwksAPI {
+
+    /**
+     * Renders the public keys of the signing key ring.
+     */
+    private final JwksService jwksService;
+
+    /**
+     * The caching headers of the key set. A key is published in the key set ahead of the instant it starts
+     * signing, so the key set may be cached for up to the publish-ahead of the key ring less the interval
+     * between its refreshes, and clients still have the key before they see a token signed with it.
+     */
+    private final CacheControl cacheControl;
+
+    /**
+     * Constructs an instance of JwksAPIImpl.
+     *
+     * @param jwksService renders the public keys of the signing key ring
+     * @param maxAge how long clients and shared caches may cache the key set
+     */
+    public JwksAPIImpl(JwksService jwksService,
+                       @Value("${application.security.jwt.jwks.max-age:2m}") Duration maxAge) {
+        this.jwksService = jwksService;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    /**
+     * Returns the JSON Web Key Set of the public keys of the signing key ring. The response carries a strong
+     * ETag, so that a client revalidating its cached copy with If-None-Match gets a 304 without a body as
+     * long as the keys have not changed.
+     *
+     * @return ResponseEntity containing the JSON Web Key Set
+     */
+    @Override
+    public ResponseEntity<byte[]> jwks() {
+        JwksService.Jwks jwks = jwksService.jwks();
+        return ResponseEntity.ok()
+                .eTag(jwks.getEtag())
+                .cacheControl(cacheControl)
+                .body(jwks.getBody());
+    }
+}
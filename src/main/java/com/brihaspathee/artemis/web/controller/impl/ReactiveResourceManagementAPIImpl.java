@@ -0,0 +1,78 @@
+package com.brihaspathee.artemis.web.controller.impl;
+
+import com.brihaspathee.artemis.auth.service.interfaces.AuthenticationService;
+import com.brihaspathee.artemis.dto.auth.AuthorizationRequest;
+import com.brihaspathee.artemis.dto.auth.UserDto;
+import com.brihaspathee.artemis.services.interfaces.ReactiveResourceManagementService;
+import com.brihaspathee.artemis.web.controller.interfaces.ReactiveResourceManagementAPI;
+import com.brihaspathee.artemis.web.response.ArtemisAPIResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 22:15
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.web.controller.impl
+ * To change this template use File | Settings | File and Code Template
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveResourceManagementAPIImpl implements ReactiveResourceManagementAPI {
+
+    /**
+     * Looks up the permissions of the resource without blocking.
+     */
+    private final ReactiveResourceManagementService resourceManagementService;
+
+    /**
+     * Compares the authorities of the user with the permissions of the resource, the same way
+     * the blocking validate endpoint does.
+     */
+    private final AuthenticationService authenticationService;
+
+    /**
+     * Validates if the authenticated user has the necessary authorities to access a specific resource.
+     * The user is resolved by the reactive authentication filter, the permissions of the resource are
+     * looked up without blocking and the decision is made by the AuthenticationService.
+     *
+     * @param userDetails the authenticated user's details, including their authorities
+     * @param request the authorization request containing information about the resource
+     * @return a Mono emitting a ResponseEntity containing an ArtemisAPIResponse with a UserDto object
+     */
+    @Override
+    public Mono<ResponseEntity<ArtemisAPIResponse<UserDto>>> validateResource(@AuthenticationPrincipal UserDetails userDetails,
+                                                                              @Valid @RequestBody AuthorizationRequest request) {
+        log.info("Validating resource access for user: {}", userDetails.getUsername());
+        return resourceManagementService.getResourcePermissionBits(request.getResourceUri())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .map(permissionBits -> authenticationService.validateResourceAccess(userDetails,
+                        request.getResourceUri(), permissionBits.orElse(null)))
+                .map(userDto -> ResponseEntity.ok(ArtemisAPIResponse.<UserDto>builder()
+                        .response(userDto)
+                        .timestamp(LocalDateTime.now())
+                        .status(HttpStatus.OK)
+                        .reason("Token Validation Success")
+                        .message("Token Successfully validated")
+                        .developerMessage("Token Successfully validated")
+                        .statusCode(HttpStatus.OK.value())
+                        .build()));
+    }
+}
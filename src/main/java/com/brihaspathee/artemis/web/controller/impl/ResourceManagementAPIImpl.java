@@ -2,6 +2,8 @@ package com.brihaspathee.artemis.web.controller.impl;
 
 import com.brihaspathee.artemis.auth.service.interfaces.AuthenticationService;
 import com.brihaspathee.artemis.dto.auth.AuthorizationRequest;
+import com.brihaspathee.artemis.dto.auth.BatchAuthorizationRequest;
+import com.brihaspathee.artemis.dto.auth.BatchAuthorizationResponse;
 import com.brihaspathee.artemis.dto.auth.UserDto;
 import com.brihaspathee.artemis.dto.resource.ResourceDto;
 import com.brihaspathee.artemis.web.controller.interfaces.ResourceManagementAPI;
@@ -9,6 +11,7 @@ import com.brihaspathee.artemis.web.response.ArtemisAPIResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -30,6 +33,7 @@ import java.time.LocalDateTime;
 @Slf4j
 @RestController
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ResourceManagementAPIImpl implements ResourceManagementAPI {
 
     /**
@@ -76,4 +80,31 @@ public class ResourceManagementAPIImpl implements ResourceManagementAPI {
                 .build();
         return ResponseEntity.ok(apiResponse);
     }
+
+    /**
+     * Validates the access of the authenticated user to several resources in a single request.
+     * The user is resolved once by the authentication filter and the resources are looked up together,
+     * so a composite request costs one round trip instead of one per resource. The response is returned
+     * with status 200 and carries a decision per resource, including the resources that are denied.
+     *
+     * @param userDetails the authenticated user's details, including their authorities
+     * @param request the batch authorization request containing the URIs of the resources
+     * @return a ResponseEntity containing an ArtemisAPIResponse with a BatchAuthorizationResponse object
+     */
+    @Override
+    public ResponseEntity<ArtemisAPIResponse<BatchAuthorizationResponse>> validateResources(@AuthenticationPrincipal UserDetails userDetails,
+                                                                                           @Valid @RequestBody BatchAuthorizationRequest request) {
+        log.info("Validating batch resource access for user: {}", userDetails.getUsername());
+        BatchAuthorizationResponse batchAuthorizationResponse = authenticationService.validateResourceAccess(userDetails, request);
+        ArtemisAPIResponse<BatchAuthorizationResponse> apiResponse = ArtemisAPIResponse.<BatchAuthorizationResponse>builder()
+                .response(batchAuthorizationResponse)
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .reason("Token Validation Success")
+                .message("Resource access decisions made")
+                .developerMessage("Resource access decisions made")
+                .statusCode(HttpStatus.OK.value())
+                .build();
+        return ResponseEntity.ok(apiResponse);
+    }
 }
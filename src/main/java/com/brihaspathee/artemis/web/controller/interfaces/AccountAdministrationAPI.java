@@ -0,0 +1,61 @@
+package com.brihaspathee.artemis.web.controller.interfaces;
+
+import com.brihaspathee.artemis.dto.auth.AccountRequest;
+import com.brihaspathee.artemis.dto.auth.TokenRevocationRequest;
+import com.brihaspathee.artemis.web.response.ArtemisAPIResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 19, October 2026
+ * Time: 10:10
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.web.controller.interfaces
+ * To change this template use File | Settings | File and Code Template
+ */
+@RequestMapping("/api/v1/artemis/auth/secured/admin")
+public interface AccountAdministrationAPI {
+
+    /**
+     * Rotates the security stamp of an account, which invalidates every token issued to the account so far.
+     * The endpoint is only accessible to callers holding the administration authority.
+     *
+     * @param request the request identifying the account
+     * @return ResponseEntity containing an ArtemisAPIResponse confirming the rotation
+     */
+    @PostMapping("/account/security-stamp/rotate")
+    ResponseEntity<ArtemisAPIResponse<Void>> rotateSecurityStamp(@Valid
+                                                                 @RequestBody
+                                                                 AccountRequest request);
+
+    /**
+     * Revokes every token issued to an account so far, without changing the account. Tokens issued to the
+     * account after the revocation are accepted. The endpoint is only accessible to callers holding the
+     * administration authority.
+     *
+     * @param request the request identifying the account
+     * @return ResponseEntity containing an ArtemisAPIResponse confirming the revocation
+     */
+    @PostMapping("/account/tokens/revoke")
+    ResponseEntity<ArtemisAPIResponse<Void>> revokeAccountTokens(@Valid
+                                                                 @RequestBody
+                                                                 AccountRequest request);
+
+    /**
+     * Revokes a single access token. The endpoint is only accessible to callers holding the
+     * administration authority.
+     *
+     * @param request the request containing the token to be revoked
+     * @return ResponseEntity containing an ArtemisAPIResponse confirming the revocation, or a 400 response
+     *         if the token is not valid or cannot be revoked on its own
+     */
+    @PostMapping("/token/revoke")
+    ResponseEntity<ArtemisAPIResponse<Void>> revokeToken(@Valid
+                                                         @RequestBody
+                                                         TokenRevocationRequest request);
+}
@@ -2,6 +2,7 @@ package com.brihaspathee.artemis.web.controller.interfaces;
 
 import com.brihaspathee.artemis.dto.auth.AuthenticationRequest;
 import com.brihaspathee.artemis.dto.auth.AuthenticationResponse;
+import com.brihaspathee.artemis.dto.auth.RefreshTokenRequest;
 import com.brihaspathee.artemis.web.response.ArtemisAPIResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -31,4 +32,17 @@ public interface AuthenticationAPI {
 //    ResponseEntity<ArtemisAPIResponse<AuthenticationResponse>> authenticate(@Valid
 //                                                                            @RequestBody
 //                                                                            AuthenticationRequest authenticationRequest);
+
+    /**
+     * Endpoint to exchange a refresh token for a new access token, without checking the password again.
+     * The refresh token can be exchanged only once; the refresh token replacing it is returned in the
+     * "Refresh-Token" header, along with the access token in the "Authorization" header and the body.
+     *
+     * @param refreshTokenRequest the request containing the refresh token
+     * @return ResponseEntity containing an ArtemisAPIResponse with the new access token
+     */
+    @PostMapping("/refresh")
+    ResponseEntity<ArtemisAPIResponse<AuthenticationResponse>> refresh(@Valid
+                                                                       @RequestBody
+                                                                       RefreshTokenRequest refreshTokenRequest);
 }
@@ -0,0 +1,32 @@
+package com.brihaspathee.artemis.web.controller.interfaces;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 11:55
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.web.controller.interfaces
+ * To change this template use File | Settings | File and Code Template
+ */
+@RequestMapping("/api/v1/artemis/auth/public")
+@Validated
+public interface JwksAPI {
+
+    /**
+     * Endpoint to return the public keys that verify the tokens issued by the service, as a JSON Web Key Set.
+     * The key set is returned as is rather than wrapped in an ArtemisAPIResponse, so that standard JWT
+     * libraries can read it.
+     *
+     * @return ResponseEntity containing the JSON Web Key Set, with its ETag and caching headers
+     */
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<byte[]> jwks();
+
+}
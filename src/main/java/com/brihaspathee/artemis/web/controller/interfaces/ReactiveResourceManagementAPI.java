@@ -0,0 +1,40 @@
+package com.brihaspathee.artemis.web.controller.interfaces;
+
+import com.brihaspathee.artemis.dto.auth.AuthorizationRequest;
+import com.brihaspathee.artemis.dto.auth.UserDto;
+import com.brihaspathee.artemis.web.response.ArtemisAPIResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import reactor.core.publisher.Mono;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 22:15
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.web.controller.interfaces
+ * To change this template use File | Settings | File and Code Template
+ */
+@RequestMapping("/api/v1/artemis/auth/secured")
+public interface ReactiveResourceManagementAPI {
+
+    /**
+     * Validates a given resource based on the authorization request and user details, without blocking.
+     * Served in place of {@link ResourceManagementAPI#validateResource} when the service runs on the reactive stack.
+     *
+     * @param userDetails the authenticated user details used for validation
+     * @param request the authorization request containing details to authorize the resource
+     * @return a Mono emitting a ResponseEntity containing an ArtemisAPIResponse with the validated UserDto
+     */
+    @PostMapping("/resource/validate")
+    Mono<ResponseEntity<ArtemisAPIResponse<UserDto>>> validateResource(
+            @AuthenticationPrincipal UserDetails userDetails, @Valid
+                                                                     @RequestBody
+                                                                     AuthorizationRequest request);
+}
@@ -1,6 +1,8 @@
 package com.brihaspathee.artemis.web.controller.interfaces;
 
 import com.brihaspathee.artemis.dto.auth.AuthorizationRequest;
+import com.brihaspathee.artemis.dto.auth.BatchAuthorizationRequest;
+import com.brihaspathee.artemis.dto.auth.BatchAuthorizationResponse;
 import com.brihaspathee.artemis.dto.auth.UserDto;
 import com.brihaspathee.artemis.dto.resource.ResourceDto;
 import com.brihaspathee.artemis.web.response.ArtemisAPIResponse;
@@ -36,4 +38,17 @@ public interface ResourceManagementAPI {
             @AuthenticationPrincipal UserDetails userDetails, @Valid
                                                                      @RequestBody
                                                                      AuthorizationRequest request);
+
+    /**
+     * Validates the access of the authenticated user to several resources in a single request.
+     *
+     * @param userDetails the authenticated user details used for validation
+     * @param request the batch authorization request containing the URIs of the resources
+     * @return ResponseEntity containing an ArtemisAPIResponse with a decision per resource
+     */
+    @PostMapping("/resource/validate/batch")
+    ResponseEntity<ArtemisAPIResponse<BatchAuthorizationResponse>> validateResources(
+            @AuthenticationPrincipal UserDetails userDetails, @Valid
+                                                                     @RequestBody
+                                                                     BatchAuthorizationRequest request);
 }
@@ -0,0 +1,13 @@
+package com.brihaspathee.artemis;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+class ReactiveAuthServiceApplicationTests {
+
+    @Test
+    void contextLoads() {
+    }
+
+}
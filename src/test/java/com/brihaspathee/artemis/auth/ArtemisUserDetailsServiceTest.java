@@ -0,0 +1,231 @@
+package com.brihaspathee.artemis.auth;
+
+import com.brihaspathee.artemis.auth.document.Authority;
+import com.brihaspathee.artemis.auth.document.Role;
+import com.brihaspathee.artemis.auth.document.ServiceUser;
+import com.brihaspathee.artemis.auth.document.User;
+import com.brihaspathee.artemis.auth.event.InMemoryUserChangeEventSource;
+import com.brihaspathee.artemis.auth.event.UserChangeEvent;
+import com.brihaspathee.artemis.auth.repository.ServiceUserRepository;
+import com.brihaspathee.artemis.auth.repository.UserRepository;
+import com.brihaspathee.artemis.exception.UserNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 13:25
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth
+ * To change this template use File | Settings | File and Code Template
+ */
+class ArtemisUserDetailsServiceTest {
+
+    private UserRepository userRepository;
+
+    private ServiceUserRepository serviceUserRepository;
+
+    private InMemoryUserChangeEventSource changeEventSource;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ArtemisUserDetailsService userDetailsService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        serviceUserRepository = mock(ServiceUserRepository.class);
+        changeEventSource = new InMemoryUserChangeEventSource();
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsService = new ArtemisUserDetailsService(userRepository, serviceUserRepository,
+                changeEventSource, meterRegistry, true, 100, Duration.ofMinutes(5));
+        user = User.builder()
+                .userId("67f07beff448b8ae3ec191b8")
+                .username("john.doe@gmail.com")
+                .roles(List.of(Role.builder()
+                        .roleName("ADMIN")
+                        .authorities(List.of(Authority.builder().permission("account.read").build()))
+                        .build()))
+                .build();
+        ServiceUser serviceUser = ServiceUser.builder()
+                .serviceUserId("67f07beff448b8ae3ec191b9")
+                .serviceName("account-service")
+                .authorities(List.of(Authority.builder().permission("account.read").build()))
+                .build();
+        when(userRepository.findByUsername("john.doe@gmail.com")).thenReturn(Optional.of(user));
+        when(serviceUserRepository.findServiceUserByServiceName("account-service")).thenReturn(Optional.of(serviceUser));
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromTheCache() {
+        userDetailsService.loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT");
+        userDetailsService.loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT");
+        userDetailsService.loadUserByUsernameAndAccountType("account-service", "SERVICE-ACCOUNT");
+        userDetailsService.loadUserByUsernameAndAccountType("account-service", "SERVICE-ACCOUNT");
+
+        verify(userRepository, times(1)).findByUsername("john.doe@gmail.com");
+        verify(serviceUserRepository, times(1)).findServiceUserByServiceName("account-service");
+    }
+
+    @Test
+    void lookupsAreTimedBySourceAndOutcome() {
+        userDetailsService.loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT");
+        userDetailsService.loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT");
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsernameAndAccountType("jane.doe@gmail.com", "USER-ACCOUNT"))
+                .isInstanceOf(UserNotFoundException.class);
+
+        assertThat(lookupCount("database", "found")).isEqualTo(1);
+        assertThat(lookupCount("cache", "found")).isEqualTo(1);
+        assertThat(lookupCount("database", "not_found")).isEqualTo(1);
+    }
+
+    private long lookupCount(String source, String outcome) {
+        return meterRegistry.get("artemis.auth.user.lookup")
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+
+    @Test
+    void changeToUserDocumentInvalidatesOnlyThatUser() {
+        userDetailsService.loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT");
+        userDetailsService.loadUserByUsernameAndAccountType("account-service", "SERVICE-ACCOUNT");
+
+        changeEventSource.publish(new UserChangeEvent("users", "67f07beff448b8ae3ec191b8", "update"));
+        userDetailsService.loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT");
+        userDetailsService.loadUserByUsernameAndAccountType("account-service", "SERVICE-ACCOUNT");
+
+        verify(userRepository, times(2)).findByUsername("john.doe@gmail.com");
+        verify(serviceUserRepository, times(1)).findServiceUserByServiceName("account-service");
+    }
+
+    @Test
+    void changeToUserDocumentInvalidatesTheUserCachedAgainAfterAnEviction() {
+        userDetailsService.loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT");
+        userDetailsService.evict("john.doe@gmail.com", "USER-ACCOUNT");
+        userDetailsService.loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT");
+
+        changeEventSource.publish(new UserChangeEvent("users", "67f07beff448b8ae3ec191b8", "update"));
+
+        assertThat(userDetailsService.getCached("john.doe@gmail.com", "USER-ACCOUNT")).isNull();
+        changeEventSource.publish(new UserChangeEvent("users", "67f07beff448b8ae3ec191b0", "update"));
+        userDetailsService.loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT");
+        assertThat(userDetailsService.getCached("john.doe@gmail.com", "USER-ACCOUNT")).isSameAs(user);
+    }
+
+    @Test
+    void changeToServiceUserDocumentInvalidatesThatServiceUser() {
+        userDetailsService.loadUserByUsernameAndAccountType("account-service", "SERVICE-ACCOUNT");
+
+        changeEventSource.publish(new UserChangeEvent("service-users", "67f07beff448b8ae3ec191b9", "delete"));
+        userDetailsService.loadUserByUsernameAndAccountType("account-service", "SERVICE-ACCOUNT");
+
+        verify(serviceUserRepository, times(2)).findServiceUserByServiceName("account-service");
+    }
+
+    @Test
+    void missedChangesInvalidateTheWholeCollection() {
+        userDetailsService.loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT");
+        userDetailsService.loadUserByUsernameAndAccountType("account-service", "SERVICE-ACCOUNT");
+
+        changeEventSource.publish(new UserChangeEvent("users", null, "resume"));
+        userDetailsService.loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT");
+        userDetailsService.loadUserByUsernameAndAccountType("account-service", "SERVICE-ACCOUNT");
+
+        verify(userRepository, times(2)).findByUsername("john.doe@gmail.com");
+        verify(serviceUserRepository, times(1)).findServiceUserByServiceName("account-service");
+        assertThat(userDetailsService.loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT")
+                .getUsername()).isEqualTo("john.doe@gmail.com");
+    }
+
+    @Test
+    void changeDuringTheDatabaseReadIsNotLostByTheCacheFill() {
+        when(userRepository.findByUsername("john.doe@gmail.com")).thenAnswer(invocation -> {
+            // The document changes after it has been read but before the lookup puts it into the cache
+            changeEventSource.publish(new UserChangeEvent("users", "67f07beff448b8ae3ec191b8", "update"));
+            return Optional.of(user);
+        });
+
+        userDetailsService.loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT");
+
+        assertThat(userDetailsService.getCached("john.doe@gmail.com", "USER-ACCOUNT")).isNull();
+        userDetailsService.loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT");
+        verify(userRepository, times(2)).findByUsername("john.doe@gmail.com");
+    }
+
+    @Test
+    void reactiveCacheFillIsDroppedIfTheCacheWasInvalidatedDuringTheRead() {
+        long generation = userDetailsService.invalidationGeneration();
+        changeEventSource.publish(new UserChangeEvent("users", "67f07beff448b8ae3ec191b8", "update"));
+
+        userDetailsService.cache("john.doe@gmail.com", "USER-ACCOUNT", user, generation);
+        assertThat(userDetailsService.getCached("john.doe@gmail.com", "USER-ACCOUNT")).isNull();
+
+        userDetailsService.cache("john.doe@gmail.com", "USER-ACCOUNT", user,
+                userDetailsService.invalidationGeneration());
+        assertThat(userDetailsService.getCached("john.doe@gmail.com", "USER-ACCOUNT")).isSameAs(user);
+    }
+
+    @Test
+    void concurrentLookupsOfTheSameUserShareOneQuery() throws Exception {
+        // Without the cache every lookup would reach the database, so only the coalescing can collapse them
+        ArtemisUserDetailsService uncachedService = new ArtemisUserDetailsService(userRepository,
+                serviceUserRepository, changeEventSource, new SimpleMeterRegistry(), false, 100, Duration.ofMinutes(5));
+        ServiceUser serviceUser = ServiceUser.builder()
+                .serviceUserId("67f07beff448b8ae3ec191b9")
+                .serviceName("account-service")
+                .build();
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(serviceUserRepository.findServiceUserByServiceName("account-service")).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await(5, TimeUnit.SECONDS);
+            return Optional.of(serviceUser);
+        });
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<UserDetails>> lookups = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                lookups.add(executor.submit(() ->
+                        uncachedService.loadUserByUsernameAndAccountType("account-service", "SERVICE-ACCOUNT")));
+            }
+            assertThat(queryStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            // The query is held until every other caller is waiting for it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (uncachedService.lookupsWaiting() < callers - 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertThat(uncachedService.lookupsWaiting()).isEqualTo(callers - 1);
+            releaseQuery.countDown();
+            for (Future<UserDetails> lookup : lookups) {
+                assertThat(lookup.get(5, TimeUnit.SECONDS)).isSameAs(serviceUser);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(serviceUserRepository, times(1)).findServiceUserByServiceName("account-service");
+    }
+}
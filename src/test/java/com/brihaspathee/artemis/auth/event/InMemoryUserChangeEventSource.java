@@ -0,0 +1,39 @@
+package com.brihaspathee.artemis.auth.event;
+
+import com.brihaspathee.artemis.auth.event.interfaces.UserChangeEventSource;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 13:20
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.event
+ * To change this template use File | Settings | File and Code Template
+ */
+public class InMemoryUserChangeEventSource implements UserChangeEventSource {
+
+    /**
+     * The listeners that are notified of the published events.
+     */
+    private final List<Consumer<UserChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void subscribe(Consumer<UserChangeEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Publishes the event to the listeners on the calling thread, the way the MongoDB change
+     * stream would publish a change to a user or service user document.
+     *
+     * @param event the event to be published
+     */
+    public void publish(UserChangeEvent event) {
+        listeners.forEach(listener -> listener.accept(event));
+    }
+}
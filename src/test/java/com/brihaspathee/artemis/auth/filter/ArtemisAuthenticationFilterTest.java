@@ -0,0 +1,152 @@
+package com.brihaspathee.artemis.auth.filter;
+
+import com.brihaspathee.artemis.auth.ArtemisUserDetailsService;
+import com.brihaspathee.artemis.auth.document.User;
+import com.brihaspathee.artemis.auth.event.InMemoryUserChangeEventSource;
+import com.brihaspathee.artemis.auth.repository.PermissionDictionaryRepository;
+import com.brihaspathee.artemis.auth.repository.SigningKeyRepository;
+import com.brihaspathee.artemis.auth.service.AuthorityClaimCodec;
+import com.brihaspathee.artemis.auth.service.JwtClaims;
+import com.brihaspathee.artemis.auth.service.JwtService;
+import com.brihaspathee.artemis.auth.service.SecurityStampService;
+import com.brihaspathee.artemis.auth.service.SigningKeyRing;
+import com.brihaspathee.artemis.auth.service.TokenRevocationList;
+import com.brihaspathee.artemis.auth.service.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 19, October 2026
+ * Time: 10:40
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.filter
+ * To change this template use File | Settings | File and Code Template
+ */
+class ArtemisAuthenticationFilterTest {
+
+    private static final String SECRET_KEY = "2b9e785bfd84af3bf177a19177b2a1dd27e971a8d3e7394e66f68d9701a2d6f1";
+
+    private ArtemisUserDetailsService artemisUserDetailsService;
+
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private SecurityStampService securityStampService;
+
+    private ArtemisAuthenticationFilter artemisAuthenticationFilter;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .userId("user-1")
+                .username("john.doe@gmail.com")
+                .securityStamp(3)
+                .build();
+        artemisUserDetailsService = mock(ArtemisUserDetailsService.class);
+        when(artemisUserDetailsService.loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT"))
+                .thenAnswer(invocation -> user);
+        verifiedTokenCache = mock(VerifiedTokenCache.class);
+        securityStampService = new SecurityStampService(artemisUserDetailsService, mock(MongoTemplate.class),
+                new InMemoryUserChangeEventSource(), Duration.ofSeconds(30), 100);
+        artemisAuthenticationFilter = new ArtemisAuthenticationFilter(artemisUserDetailsService,
+                mock(JwtService.class), verifiedTokenCache, securityStampService, mock(TokenRevocationList.class), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokenCarryingTheCurrentStampIsTrustedWithoutLoadingTheUserAgain() throws Exception {
+        when(verifiedTokenCache.verify("token")).thenReturn(claims(3L, false));
+
+        Authentication first = filter("token");
+        SecurityContextHolder.clearContext();
+        Authentication second = filter("token");
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("account.read");
+        verify(artemisUserDetailsService, times(1))
+                .loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT");
+    }
+
+    @Test
+    void tokenIsRejectedOnceTheStampIsRotated() throws Exception {
+        when(verifiedTokenCache.verify("token")).thenReturn(claims(3L, false));
+        assertThat(filter("token")).isNotNull();
+        SecurityContextHolder.clearContext();
+
+        securityStampService.rotateStamp("john.doe@gmail.com", "USER-ACCOUNT");
+        user.setSecurityStamp(4);
+
+        assertThat(filter("token")).isNull();
+    }
+
+    @Test
+    void expiredTokenIsRejectedEvenIfItsStampIsCurrent() throws Exception {
+        when(verifiedTokenCache.verify("token")).thenReturn(claims(3L, true));
+
+        assertThat(filter("token")).isNull();
+    }
+
+    @Test
+    void expiredTokenIsPassedOnUnauthenticated() throws Exception {
+        SigningKeyRing signingKeyRing = new SigningKeyRing(mock(SigningKeyRepository.class), SECRET_KEY, 8640000,
+                "HS256", false, Duration.ofHours(24), Duration.ZERO, Duration.ofMinutes(5));
+        AuthorityClaimCodec authorityClaimCodec = new AuthorityClaimCodec(mock(PermissionDictionaryRepository.class),
+                new SimpleMeterRegistry(), false, 100);
+        JwtService jwtService = new JwtService(signingKeyRing, authorityClaimCodec, -60000, new SimpleMeterRegistry());
+        user.setRoles(List.of());
+        String expired = jwtService.generateToken(user, "USER-ACCOUNT");
+        artemisAuthenticationFilter = new ArtemisAuthenticationFilter(artemisUserDetailsService, jwtService,
+                new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), true, 100), securityStampService,
+                mock(TokenRevocationList.class), true);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/artemis/auth/public/refresh");
+        request.addHeader("Authorization", "Bearer " + expired);
+        MockFilterChain filterChain = new MockFilterChain();
+
+        artemisAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        assertThat(filterChain.getRequest()).isSameAs(request);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(artemisUserDetailsService, never()).loadUserByUsernameAndAccountType(any(), any());
+    }
+
+    private Authentication filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/artemis/auth/secured/resource/validate");
+        request.addHeader("Authorization", "Bearer " + token);
+        artemisAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static JwtClaims claims(Long securityStamp, boolean expired) {
+        JwtClaims claims = mock(JwtClaims.class);
+        when(claims.getUsername()).thenReturn("john.doe@gmail.com");
+        when(claims.getAccountType()).thenReturn("USER-ACCOUNT");
+        when(claims.getSecurityStamp()).thenReturn(securityStamp);
+        when(claims.isExpired()).thenReturn(expired);
+        when(claims.getAuthorities()).thenReturn(List.of(new SimpleGrantedAuthority("account.read")));
+        return claims;
+    }
+}
@@ -0,0 +1,115 @@
+package com.brihaspathee.artemis.auth.filter;
+
+import com.brihaspathee.artemis.auth.ArtemisUserDetailsService;
+import com.brihaspathee.artemis.auth.ReactiveArtemisUserDetailsService;
+import com.brihaspathee.artemis.auth.document.User;
+import com.brihaspathee.artemis.auth.event.InMemoryUserChangeEventSource;
+import com.brihaspathee.artemis.auth.service.JwtClaims;
+import com.brihaspathee.artemis.auth.service.JwtService;
+import com.brihaspathee.artemis.auth.service.SecurityStampService;
+import com.brihaspathee.artemis.auth.service.TokenRevocationList;
+import com.brihaspathee.artemis.auth.service.VerifiedTokenCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 19, October 2026
+ * Time: 16:20
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.filter
+ * To change this template use File | Settings | File and Code Template
+ */
+class ArtemisReactiveAuthenticationFilterTest {
+
+    private ArtemisUserDetailsService artemisUserDetailsService;
+
+    private ReactiveArtemisUserDetailsService reactiveUserDetailsService;
+
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private ArtemisReactiveAuthenticationFilter artemisReactiveAuthenticationFilter;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .userId("user-1")
+                .username("john.doe@gmail.com")
+                .securityStamp(3)
+                .build();
+        artemisUserDetailsService = mock(ArtemisUserDetailsService.class);
+        reactiveUserDetailsService = mock(ReactiveArtemisUserDetailsService.class);
+        when(reactiveUserDetailsService.loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT"))
+                .thenAnswer(invocation -> Mono.just(user));
+        verifiedTokenCache = mock(VerifiedTokenCache.class);
+        SecurityStampService securityStampService = new SecurityStampService(artemisUserDetailsService,
+                mock(MongoTemplate.class), new InMemoryUserChangeEventSource(), Duration.ofSeconds(30), 100);
+        artemisReactiveAuthenticationFilter = new ArtemisReactiveAuthenticationFilter(reactiveUserDetailsService,
+                mock(JwtService.class), verifiedTokenCache, securityStampService, mock(TokenRevocationList.class),
+                true);
+    }
+
+    @Test
+    void stampMissingFromTheVersionTableIsLoadedWithoutBlocking() {
+        when(verifiedTokenCache.verify("token")).thenReturn(claims(3L));
+
+        Authentication first = filter("token");
+        Authentication second = filter("token");
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("account.read");
+        verify(reactiveUserDetailsService, times(1))
+                .loadUserByUsernameAndAccountType("john.doe@gmail.com", "USER-ACCOUNT");
+        verify(artemisUserDetailsService, never()).loadUserByUsernameAndAccountType(any(), any());
+    }
+
+    @Test
+    void tokenCarryingAStaleStampIsRejected() {
+        when(verifiedTokenCache.verify("token")).thenReturn(claims(2L));
+
+        assertThat(filter("token")).isNull();
+        verify(artemisUserDetailsService, never()).loadUserByUsernameAndAccountType(any(), any());
+    }
+
+    private Authentication filter(String token) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .post("/api/v1/artemis/auth/secured/resource/validate")
+                .header("Authorization", "Bearer " + token));
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+        WebFilterChain chain = filtered -> ReactiveSecurityContextHolder.getContext()
+                .doOnNext(context -> authentication.set(context.getAuthentication()))
+                .then();
+        artemisReactiveAuthenticationFilter.filter(exchange, chain).block();
+        return authentication.get();
+    }
+
+    private static JwtClaims claims(Long securityStamp) {
+        JwtClaims claims = mock(JwtClaims.class);
+        when(claims.getUsername()).thenReturn("john.doe@gmail.com");
+        when(claims.getAccountType()).thenReturn("USER-ACCOUNT");
+        when(claims.getSecurityStamp()).thenReturn(securityStamp);
+        when(claims.isExpired()).thenReturn(false);
+        when(claims.getAuthorities()).thenReturn(List.of(new SimpleGrantedAuthority("account.read")));
+        return claims;
+    }
+}
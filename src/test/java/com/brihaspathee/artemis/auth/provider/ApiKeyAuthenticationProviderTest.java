@@ -0,0 +1,125 @@
+package com.brihaspathee.artemis.auth.provider;
+
+import com.brihaspathee.artemis.auth.ApiKeyAuthenticationToken;
+import com.brihaspathee.artemis.auth.ArtemisAuthenticationToken;
+import com.brihaspathee.artemis.auth.ArtemisUserDetailsService;
+import com.brihaspathee.artemis.auth.document.ApiKey;
+import com.brihaspathee.artemis.auth.document.Authority;
+import com.brihaspathee.artemis.auth.document.ServiceUser;
+import com.brihaspathee.artemis.auth.event.InMemoryUserChangeEventSource;
+import com.brihaspathee.artemis.auth.event.UserChangeEvent;
+import com.brihaspathee.artemis.auth.event.interfaces.UserChangeEventSource;
+import com.brihaspathee.artemis.auth.repository.ServiceUserRepository;
+import com.brihaspathee.artemis.auth.service.ApiKeyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 19:50
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.provider
+ * To change this template use File | Settings | File and Code Template
+ */
+class ApiKeyAuthenticationProviderTest {
+
+    private static final String HMAC_SECRET = "2b9e785bfd84af3bf177a19177b2a1dd27e971a8d3e7394e66f68d9701a2d6f1";
+
+    private ServiceUserRepository serviceUserRepository;
+
+    private ArtemisUserDetailsService userDetailsService;
+
+    private InMemoryUserChangeEventSource changeEventSource;
+
+    private ApiKeyAuthenticationProvider provider;
+
+    private ServiceUser serviceUser;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serviceUserRepository = mock(ServiceUserRepository.class);
+        userDetailsService = mock(ArtemisUserDetailsService.class);
+        changeEventSource = new InMemoryUserChangeEventSource();
+        serviceUser = ServiceUser.builder()
+                .serviceUserId("67f07beff448b8ae3ec191b9")
+                .serviceName("account-service")
+                .accountNotExpired(true)
+                .accountNotLocked(true)
+                .credentialsNotExpired(true)
+                .enabled(true)
+                .authorities(List.of(Authority.builder().permission("account.read").build()))
+                .apiKeys(List.of(ApiKey.builder().keyId("k1").digest(digest("s3cret")).build()))
+                .build();
+        when(serviceUserRepository.findAll()).thenReturn(List.of(serviceUser));
+        when(serviceUserRepository.findById(serviceUser.getServiceUserId())).thenAnswer(invocation -> Optional.of(serviceUser));
+        when(userDetailsService.loadUserByUsernameAndAccountType("account-service", "SERVICE-ACCOUNT")).thenReturn(serviceUser);
+        ApiKeyIndex apiKeyIndex = new ApiKeyIndex(serviceUserRepository, changeEventSource, true, HMAC_SECRET);
+        apiKeyIndex.refresh();
+        provider = new ApiKeyAuthenticationProvider(apiKeyIndex, userDetailsService);
+    }
+
+    @Test
+    void validKeyAuthenticatesTheServiceUser() {
+        Authentication authentication = provider.authenticate(ApiKeyAuthenticationToken.parse("k1.s3cret"));
+
+        assertThat(authentication).isInstanceOf(ArtemisAuthenticationToken.class);
+        assertThat(authentication.getPrincipal()).isSameAs(serviceUser);
+        assertThat(((ArtemisAuthenticationToken) authentication).getAccountType()).isEqualTo("SERVICE-ACCOUNT");
+    }
+
+    @Test
+    void wrongSecretOrUnknownKeyIsRejected() {
+        assertThatThrownBy(() -> provider.authenticate(ApiKeyAuthenticationToken.parse("k1.wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> provider.authenticate(ApiKeyAuthenticationToken.parse("k2.s3cret")))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(userDetailsService, never()).loadUserByUsernameAndAccountType(anyString(), anyString());
+    }
+
+    @Test
+    void revokedKeyIsRejectedOnceTheServiceUserChanges() {
+        serviceUser.setApiKeys(List.of());
+        changeEventSource.publish(new UserChangeEvent(UserChangeEventSource.SERVICE_USERS_COLLECTION,
+                serviceUser.getServiceUserId(), "update"));
+
+        assertThatThrownBy(() -> provider.authenticate(ApiKeyAuthenticationToken.parse("k1.s3cret")))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(serviceUserRepository, times(1)).findAll();
+    }
+
+    @Test
+    void onlyTheChangedServiceUserIsReadUnlessChangesWereMissed() throws Exception {
+        serviceUser.setApiKeys(List.of(ApiKey.builder().keyId("k2").digest(digest("n3w")).build()));
+        changeEventSource.publish(new UserChangeEvent(UserChangeEventSource.SERVICE_USERS_COLLECTION,
+                serviceUser.getServiceUserId(), "update"));
+
+        assertThat(provider.authenticate(ApiKeyAuthenticationToken.parse("k2.n3w")).getPrincipal()).isSameAs(serviceUser);
+        assertThatThrownBy(() -> provider.authenticate(ApiKeyAuthenticationToken.parse("k1.s3cret")))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(serviceUserRepository, times(1)).findAll();
+
+        changeEventSource.publish(new UserChangeEvent(UserChangeEventSource.SERVICE_USERS_COLLECTION, null, "resume"));
+        verify(serviceUserRepository, times(2)).findAll();
+    }
+
+    private static String digest(String secret) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(Base64.getDecoder().decode(HMAC_SECRET), "HmacSHA256"));
+        return Base64.getEncoder().encodeToString(mac.doFinal(secret.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,137 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.brihaspathee.artemis.auth.document.Authority;
+import com.brihaspathee.artemis.auth.document.PermissionDictionary;
+import com.brihaspathee.artemis.auth.document.Role;
+import com.brihaspathee.artemis.auth.document.User;
+import com.brihaspathee.artemis.auth.repository.PermissionDictionaryRepository;
+import com.brihaspathee.artemis.auth.repository.SigningKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 14:05
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ */
+class AuthorityClaimCodecTest {
+
+    private static final String SECRET_KEY = "2b9e785bfd84af3bf177a19177b2a1dd27e971a8d3e7394e66f68d9701a2d6f1";
+
+    private static final List<String> PERMISSIONS = List.of(
+            "user.create", "user.read", "user.update", "user.delete",
+            "role.create", "role.read", "role.update", "role.delete",
+            "authority.create", "authority.read", "authority.update", "authority.delete",
+            "account.create", "account.read", "account.update", "account.delete");
+
+    private final Map<String, PermissionDictionary> dictionaries = new ConcurrentHashMap<>();
+
+    private PermissionDictionaryRepository permissionDictionaryRepository;
+
+    private SigningKeyRing signingKeyRing;
+
+    @BeforeEach
+    void setUp() {
+        permissionDictionaryRepository = mock(PermissionDictionaryRepository.class);
+        doAnswer(invocation -> {
+            Collection<String> permissions = invocation.getArgument(1);
+            dictionaries.computeIfPresent(invocation.getArgument(0), (dictionaryId, dictionary) -> {
+                List<String> appended = new ArrayList<>(dictionary.getPermissions());
+                permissions.stream().filter(permission -> !appended.contains(permission)).forEach(appended::add);
+                return new PermissionDictionary(dictionaryId, appended);
+            });
+            return null;
+        }).when(permissionDictionaryRepository).addPermissions(any(), any());
+        when(permissionDictionaryRepository.findById(any()))
+                .thenAnswer(invocation -> Optional.ofNullable(dictionaries.get(invocation.getArgument(0))));
+        when(permissionDictionaryRepository.insert(any(PermissionDictionary.class))).thenAnswer(invocation -> {
+            PermissionDictionary dictionary = invocation.getArgument(0);
+            dictionaries.putIfAbsent(dictionary.getDictionaryId(), dictionary);
+            return dictionary;
+        });
+        signingKeyRing = new SigningKeyRing(mock(SigningKeyRepository.class), SECRET_KEY, 8640000, "HS256", false,
+                Duration.ofHours(24), Duration.ZERO, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void compactTokensAreDecodedByOtherInstances() {
+        JwtService issuer = jwtService(true);
+        JwtService verifier = jwtService(false);
+        User user = user(PERMISSIONS);
+
+        String compactToken = issuer.generateToken(user, "USER-ACCOUNT");
+        String plainToken = verifier.generateToken(user, "USER-ACCOUNT");
+
+        assertThat(compactToken.length()).isLessThan(plainToken.length());
+        assertThat(verifier.verifyToken(compactToken).getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrderElementsOf(PERMISSIONS);
+        assertThat(issuer.verifyToken(plainToken).getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrderElementsOf(PERMISSIONS);
+    }
+
+    @Test
+    void permissionsAddedLaterExtendTheDictionary() {
+        JwtService first = jwtService(true);
+        JwtService second = jwtService(true);
+        String firstToken = first.generateToken(user(PERMISSIONS.subList(0, 4)), "USER-ACCOUNT");
+        String secondToken = second.generateToken(user(List.of("user.read", "report.export")), "USER-ACCOUNT");
+
+        assertThat(dictionaries.get("permissions").getPermissions())
+                .containsExactlyInAnyOrder("user.create", "user.read", "user.update", "user.delete", "report.export")
+                .endsWith("report.export");
+        assertThat(first.verifyToken(secondToken).getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("user.read", "report.export");
+        assertThat(second.verifyToken(firstToken).getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrderElementsOf(PERMISSIONS.subList(0, 4));
+    }
+
+    @Test
+    void tokensWithTheSamePermissionsShareTheDecodedAuthorities() {
+        JwtService jwtService = jwtService(true);
+        String firstToken = jwtService.generateToken(user(PERMISSIONS), "USER-ACCOUNT");
+        String secondToken = jwtService.generateToken(user(PERMISSIONS), "SERVICE-ACCOUNT");
+
+        assertThat(jwtService.verifyToken(secondToken).getAuthorities())
+                .isSameAs(jwtService.verifyToken(firstToken).getAuthorities());
+    }
+
+    private JwtService jwtService(boolean compactEnabled) {
+        AuthorityClaimCodec authorityClaimCodec = new AuthorityClaimCodec(permissionDictionaryRepository,
+                new SimpleMeterRegistry(), compactEnabled, 100);
+        return new JwtService(signingKeyRing, authorityClaimCodec, 8640000, new SimpleMeterRegistry());
+    }
+
+    private static User user(List<String> permissions) {
+        return User.builder()
+                .username("john.doe@gmail.com")
+                .roles(List.of(Role.builder()
+                        .roleName("ADMIN")
+                        .authorities(permissions.stream()
+                                .map(permission -> Authority.builder().permission(permission).build())
+                                .toList())
+                        .build()))
+                .build();
+    }
+}
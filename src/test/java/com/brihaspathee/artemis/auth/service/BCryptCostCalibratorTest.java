@@ -0,0 +1,51 @@
+package com.brihaspathee.artemis.auth.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 18:55
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ */
+class BCryptCostCalibratorTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void chooseCostDoublesTheEstimateForEveryIncrement() {
+        // 60 ms at cost 10 -> 120 ms at 11 -> 240 ms at 12 -> 480 ms at 13
+        assertThat(BCryptCostCalibrator.chooseCost(60 * MILLIS, 10, 250 * MILLIS, 10, 14)).isEqualTo(12);
+        assertThat(BCryptCostCalibrator.chooseCost(60 * MILLIS, 10, 500 * MILLIS, 10, 14)).isEqualTo(13);
+    }
+
+    @Test
+    void chooseCostStaysWithinTheConfiguredBounds() {
+        assertThat(BCryptCostCalibrator.chooseCost(1 * MILLIS, 10, 10_000 * MILLIS, 10, 14)).isEqualTo(14);
+        assertThat(BCryptCostCalibrator.chooseCost(900 * MILLIS, 10, 250 * MILLIS, 10, 14)).isEqualTo(10);
+    }
+
+    @Test
+    void costIsReadFromTheStoredHash() {
+        assertThat(BCryptCostCalibrator.costOf("$2a$12$.JOeREsYXYUd7nb9T3GbWeyKz1cNfyAKTi4z6OgWKabDNv0QF8d5q")).isEqualTo(12);
+        assertThat(BCryptCostCalibrator.costOf("{noop}password")).isEqualTo(-1);
+        assertThat(BCryptCostCalibrator.costOf(null)).isEqualTo(-1);
+    }
+
+    @Test
+    void onlyBcryptHashesBelowTheTargetCostNeedARehash() {
+        BCryptCostCalibrator calibrator = new BCryptCostCalibrator(false, 11, Duration.ofMillis(250), 10, 14);
+
+        assertThat(calibrator.needsRehash("$2a$10$.JOeREsYXYUd7nb9T3GbWeyKz1cNfyAKTi4z6OgWKabDNv0QF8d5q")).isTrue();
+        assertThat(calibrator.needsRehash("$2a$11$.JOeREsYXYUd7nb9T3GbWeyKz1cNfyAKTi4z6OgWKabDNv0QF8d5q")).isFalse();
+        assertThat(calibrator.needsRehash("$2a$12$.JOeREsYXYUd7nb9T3GbWeyKz1cNfyAKTi4z6OgWKabDNv0QF8d5q")).isFalse();
+        assertThat(calibrator.needsRehash("{noop}password")).isFalse();
+    }
+}
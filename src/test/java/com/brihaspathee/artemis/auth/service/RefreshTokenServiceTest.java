@@ -0,0 +1,222 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.brihaspathee.artemis.auth.ArtemisUserDetailsService;
+import com.brihaspathee.artemis.auth.document.Authority;
+import com.brihaspathee.artemis.auth.document.RefreshToken;
+import com.brihaspathee.artemis.auth.document.Role;
+import com.brihaspathee.artemis.auth.document.User;
+import com.brihaspathee.artemis.auth.repository.PermissionDictionaryRepository;
+import com.brihaspathee.artemis.auth.repository.RefreshTokenRepository;
+import com.brihaspathee.artemis.auth.repository.RevokedTokenRepository;
+import com.brihaspathee.artemis.auth.repository.SigningKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 17:30
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ */
+class RefreshTokenServiceTest {
+
+    private static final String SECRET_KEY = "2b9e785bfd84af3bf177a19177b2a1dd27e971a8d3e7394e66f68d9701a2d6f1";
+
+    private static final long EXPIRATION = Duration.ofMinutes(15).toMillis();
+
+    private final Map<String, RefreshToken> storedTokens = new ConcurrentHashMap<>();
+
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private ArtemisUserDetailsService artemisUserDetailsService;
+
+    private JwtService jwtService;
+
+    private TokenRevocationList tokenRevocationList;
+
+    private RefreshTokenService refreshTokenService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        when(refreshTokenRepository.insert(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken refreshToken = invocation.getArgument(0);
+            storedTokens.put(refreshToken.getTokenHash(), refreshToken);
+            return refreshToken;
+        });
+        when(refreshTokenRepository.findById(any()))
+                .thenAnswer(invocation -> Optional.ofNullable(storedTokens.get(invocation.getArgument(0))));
+        when(refreshTokenRepository.markUsed(any(), any())).thenAnswer(invocation -> {
+            RefreshToken refreshToken = storedTokens.get(invocation.getArgument(0));
+            if(refreshToken == null || refreshToken.getUsedAt() != null){
+                return 0L;
+            }
+            refreshToken.setUsedAt(invocation.getArgument(1));
+            return 1L;
+        });
+        doAnswer(invocation -> {
+            String familyId = invocation.getArgument(0);
+            storedTokens.values().removeIf(refreshToken -> refreshToken.getFamilyId().equals(familyId));
+            return null;
+        }).when(refreshTokenRepository).deleteByFamilyId(any());
+        doAnswer(invocation -> {
+            String username = invocation.getArgument(0);
+            String accountType = invocation.getArgument(1);
+            storedTokens.values().removeIf(refreshToken -> refreshToken.getUsername().equals(username)
+                    && refreshToken.getAccountType().equals(accountType));
+            return null;
+        }).when(refreshTokenRepository).deleteByUsernameAndAccountType(any(), any());
+        user = User.builder()
+                .username("john.doe@gmail.com")
+                .securityStamp(3)
+                .accountNotExpired(true)
+                .accountNotLocked(true)
+                .credentialsNotExpired(true)
+                .enabled(true)
+                .roles(List.of(Role.builder()
+                        .roleName("ADMIN")
+                        .authorities(List.of(Authority.builder().permission("account.read").build()))
+                        .build()))
+                .build();
+        artemisUserDetailsService = mock(ArtemisUserDetailsService.class);
+        when(artemisUserDetailsService.loadUserByUsernameAndAccountType(eq("john.doe@gmail.com"), eq("USER-ACCOUNT")))
+                .thenAnswer(invocation -> user);
+        SigningKeyRing signingKeyRing = new SigningKeyRing(mock(SigningKeyRepository.class), SECRET_KEY, EXPIRATION,
+                "HS256", false, Duration.ofHours(24), Duration.ZERO, Duration.ofMinutes(5));
+        AuthorityClaimCodec authorityClaimCodec = new AuthorityClaimCodec(mock(PermissionDictionaryRepository.class),
+                new SimpleMeterRegistry(), false, 100);
+        jwtService = new JwtService(signingKeyRing, authorityClaimCodec, EXPIRATION, new SimpleMeterRegistry());
+        tokenRevocationList = new TokenRevocationList(mock(RevokedTokenRepository.class), refreshTokenRepository,
+                new SimpleMeterRegistry(), EXPIRATION, true, 0.01, Duration.ofSeconds(30));
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, artemisUserDetailsService, jwtService,
+                mock(ServiceTokenVendingCache.class), tokenRevocationList, new SimpleMeterRegistry(), true,
+                Duration.ofDays(14));
+    }
+
+    @Test
+    void refreshTokenIsExchangedForAnAccessTokenAndRotated() {
+        String refreshToken = refreshTokenService.issue(user, "USER-ACCOUNT");
+
+        RefreshTokenService.Grant grant = refreshTokenService.refresh(refreshToken);
+
+        assertThat(storedTokens.values()).filteredOn(stored -> stored.getUsedAt() != null).hasSize(1);
+        assertThat(storedTokens.keySet()).doesNotContain(refreshToken, grant.getRefreshToken());
+        assertThat(grant.getRefreshToken()).isNotEqualTo(refreshToken);
+        JwtClaims claims = jwtService.verifyToken(grant.getAccessToken());
+        assertThat(claims.getUsername()).isEqualTo("john.doe@gmail.com");
+        assertThat(claims.getSecurityStamp()).isEqualTo(3L);
+        assertThat(refreshTokenService.refresh(grant.getRefreshToken()).getAccessToken()).isNotBlank();
+    }
+
+    @Test
+    void reusedRefreshTokenRevokesItsFamily() {
+        String refreshToken = refreshTokenService.issue(user, "USER-ACCOUNT");
+        String otherLogin = refreshTokenService.issue(user, "USER-ACCOUNT");
+        RefreshTokenService.Grant grant = refreshTokenService.refresh(refreshToken);
+
+        assertThatThrownBy(() -> refreshTokenService.refresh(refreshToken))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> refreshTokenService.refresh(grant.getRefreshToken()))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(refreshTokenService.refresh(otherLogin).getAccessToken()).isNotBlank();
+    }
+
+    @Test
+    void refreshTokenIsRejectedOnceTheSecurityStampIsRotatedOrItExpires() {
+        String refreshToken = refreshTokenService.issue(user, "USER-ACCOUNT");
+        user.setSecurityStamp(4);
+
+        assertThatThrownBy(() -> refreshTokenService.refresh(refreshToken))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(storedTokens).isEmpty();
+
+        String expired = refreshTokenService.issue(user, "USER-ACCOUNT");
+        storedTokens.values().forEach(stored -> stored.setExpiresAt(Instant.now().minusSeconds(1)));
+
+        assertThatThrownBy(() -> refreshTokenService.refresh(expired))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> refreshTokenService.refresh("not-a-refresh-token"))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void rotationKeepsTheExpiryOfTheLogin() {
+        String refreshToken = refreshTokenService.issue(user, "USER-ACCOUNT");
+        RefreshToken issued = storedTokens.values().iterator().next();
+
+        RefreshTokenService.Grant grant = refreshTokenService.refresh(refreshToken);
+
+        RefreshToken rotated = storedTokens.values().stream()
+                .filter(stored -> stored.getUsedAt() == null)
+                .findFirst().orElseThrow();
+        assertThat(rotated.getFamilyIssuedAt()).isEqualTo(issued.getIssuedAt());
+        assertThat(rotated.getExpiresAt()).isEqualTo(issued.getExpiresAt());
+
+        storedTokens.values().forEach(stored -> stored.setExpiresAt(Instant.now().minusSeconds(1)));
+        assertThatThrownBy(() -> refreshTokenService.refresh(grant.getRefreshToken()))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void revokingTheAccountRevokesItsRefreshTokens() {
+        String refreshToken = refreshTokenService.issue(user, "USER-ACCOUNT");
+
+        tokenRevocationList.revokeSubject("john.doe@gmail.com", "USER-ACCOUNT");
+
+        assertThat(storedTokens).isEmpty();
+        assertThatThrownBy(() -> refreshTokenService.refresh(refreshToken))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void refreshTokenStoredWhileTheAccountIsRevokedIsRejected() {
+        String refreshToken = refreshTokenService.issue(user, "USER-ACCOUNT");
+        doNothing().when(refreshTokenRepository).deleteByUsernameAndAccountType(any(), any());
+
+        tokenRevocationList.revokeSubject("john.doe@gmail.com", "USER-ACCOUNT");
+
+        assertThatThrownBy(() -> refreshTokenService.refresh(refreshToken))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(storedTokens).isEmpty();
+    }
+
+    @Test
+    void refreshTokenIsRejectedOnceTheAccountIsDisabledOrLocked() {
+        String refreshToken = refreshTokenService.issue(user, "USER-ACCOUNT");
+        user.setEnabled(false);
+
+        assertThatThrownBy(() -> refreshTokenService.refresh(refreshToken))
+                .isInstanceOf(DisabledException.class);
+        assertThat(storedTokens).isEmpty();
+
+        user.setEnabled(true);
+        user.setAccountNotLocked(false);
+        String locked = refreshTokenService.issue(user, "USER-ACCOUNT");
+
+        assertThatThrownBy(() -> refreshTokenService.refresh(locked))
+                .isInstanceOf(LockedException.class);
+        assertThat(storedTokens).isEmpty();
+    }
+}
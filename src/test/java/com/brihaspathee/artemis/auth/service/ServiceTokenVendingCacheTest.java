@@ -0,0 +1,116 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.brihaspathee.artemis.auth.document.Authority;
+import com.brihaspathee.artemis.auth.document.ServiceUser;
+import com.brihaspathee.artemis.auth.repository.PermissionDictionaryRepository;
+import com.brihaspathee.artemis.auth.repository.SigningKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 19, October 2026
+ * Time: 12:10
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ */
+class ServiceTokenVendingCacheTest {
+
+    private static final String SECRET_KEY = "2b9e785bfd84af3bf177a19177b2a1dd27e971a8d3e7394e66f68d9701a2d6f1";
+
+    private final Set<String> revokedTokenIds = ConcurrentHashMap.newKeySet();
+
+    private TokenRevocationList tokenRevocationList;
+
+    private ServiceUser serviceUser;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationList = mock(TokenRevocationList.class);
+        when(tokenRevocationList.isRevoked(any()))
+                .thenAnswer(invocation -> revokedTokenIds.contains(((JwtClaims) invocation.getArgument(0)).getTokenId()));
+        serviceUser = ServiceUser.builder()
+                .serviceUserId("67f07beff448b8ae3ec191b9")
+                .serviceName("account-service")
+                .securityStamp(1)
+                .authorities(List.of(Authority.builder().permission("account.read").build()))
+                .build();
+    }
+
+    @Test
+    void tokenIsReusedOutsideTheRefreshAheadWindow() {
+        ServiceTokenVendingCache vendingCache = vendingCache(jwtService(Duration.ofHours(1)));
+
+        String first = vendingCache.tokenFor(serviceUser);
+
+        assertThat(vendingCache.tokenFor(serviceUser)).isEqualTo(first);
+    }
+
+    @Test
+    void newTokenIsMintedInsideTheRefreshAheadWindow() {
+        // A token valid for less than the refresh-ahead window is inside the window as soon as it is minted
+        ServiceTokenVendingCache vendingCache = vendingCache(jwtService(Duration.ofMinutes(10)));
+
+        String first = vendingCache.tokenFor(serviceUser);
+
+        assertThat(vendingCache.tokenFor(serviceUser)).isNotEqualTo(first);
+    }
+
+    @Test
+    void newTokenIsMintedWhenTheStampOrTheAuthoritiesChange() {
+        JwtService jwtService = jwtService(Duration.ofHours(1));
+        ServiceTokenVendingCache vendingCache = vendingCache(jwtService);
+        String first = vendingCache.tokenFor(serviceUser);
+
+        serviceUser.setSecurityStamp(2);
+        String rotated = vendingCache.tokenFor(serviceUser);
+
+        assertThat(rotated).isNotEqualTo(first);
+        assertThat(jwtService.verifyToken(rotated).getSecurityStamp()).isEqualTo(2L);
+
+        serviceUser.setAuthorities(List.of(Authority.builder().permission("account.write").build()));
+        String regranted = vendingCache.tokenFor(serviceUser);
+
+        assertThat(regranted).isNotIn(first, rotated);
+        assertThat(jwtService.verifyToken(regranted).getAuthorities()).extracting("authority")
+                .containsExactly("account.write");
+    }
+
+    @Test
+    void revokedTokenIsNeverVendedAgain() {
+        JwtService jwtService = jwtService(Duration.ofHours(1));
+        ServiceTokenVendingCache vendingCache = vendingCache(jwtService);
+        String first = vendingCache.tokenFor(serviceUser);
+
+        revokedTokenIds.add(jwtService.verifyToken(first).getTokenId());
+        String second = vendingCache.tokenFor(serviceUser);
+
+        assertThat(second).isNotEqualTo(first);
+        assertThat(vendingCache.tokenFor(serviceUser)).isEqualTo(second);
+    }
+
+    private ServiceTokenVendingCache vendingCache(JwtService jwtService) {
+        return new ServiceTokenVendingCache(jwtService, tokenRevocationList, new SimpleMeterRegistry(), true,
+                Duration.ofMinutes(15), 100);
+    }
+
+    private static JwtService jwtService(Duration expiration) {
+        SigningKeyRing signingKeyRing = new SigningKeyRing(mock(SigningKeyRepository.class), SECRET_KEY,
+                expiration.toMillis(), "HS256", false, Duration.ofHours(24), Duration.ZERO, Duration.ofMinutes(5));
+        AuthorityClaimCodec authorityClaimCodec = new AuthorityClaimCodec(mock(PermissionDictionaryRepository.class),
+                new SimpleMeterRegistry(), false, 100);
+        return new JwtService(signingKeyRing, authorityClaimCodec, expiration.toMillis(), new SimpleMeterRegistry());
+    }
+}
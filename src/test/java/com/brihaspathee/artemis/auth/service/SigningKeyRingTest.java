@@ -0,0 +1,190 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.brihaspathee.artemis.auth.document.Authority;
+import com.brihaspathee.artemis.auth.document.Role;
+import com.brihaspathee.artemis.auth.document.SigningKey;
+import com.brihaspathee.artemis.auth.document.User;
+import com.brihaspathee.artemis.auth.repository.PermissionDictionaryRepository;
+import com.brihaspathee.artemis.auth.repository.SigningKeyRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 10:20
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ */
+class SigningKeyRingTest {
+
+    private static final String SECRET_KEY = "2b9e785bfd84af3bf177a19177b2a1dd27e971a8d3e7394e66f68d9701a2d6f1";
+
+    private static final long EXPIRATION = Duration.ofHours(2).toMillis();
+
+    private static final Instant START = Instant.parse("2026-10-18T10:00:00Z");
+
+    private final Map<String, SigningKey> storedKeys = new ConcurrentHashMap<>();
+
+    private SigningKeyRepository signingKeyRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        signingKeyRepository = mock(SigningKeyRepository.class);
+        when(signingKeyRepository.insert(any(SigningKey.class))).thenAnswer(invocation -> {
+            SigningKey signingKey = invocation.getArgument(0);
+            if(storedKeys.putIfAbsent(signingKey.getKid(), signingKey) != null){
+                throw new DuplicateKeyException(signingKey.getKid());
+            }
+            return signingKey;
+        });
+        when(signingKeyRepository.findByRetireAtAfter(any())).thenAnswer(invocation -> {
+            Instant now = invocation.getArgument(0);
+            return storedKeys.values().stream().filter(key -> key.getRetireAt().isAfter(now)).toList();
+        });
+        doAnswer(invocation -> {
+            Instant now = invocation.getArgument(0);
+            storedKeys.values().removeIf(key -> key.getRetireAt().isBefore(now));
+            return null;
+        }).when(signingKeyRepository).deleteByRetireAtBefore(any());
+        user = User.builder()
+                .username("john.doe@gmail.com")
+                .roles(List.of(Role.builder()
+                        .roleName("ADMIN")
+                        .authorities(List.of(Authority.builder().permission("account.read").build()))
+                        .build()))
+                .build();
+    }
+
+    @Test
+    void instancesStartingTogetherPublishASingleKey() {
+        SigningKeyRing first = newRing();
+        SigningKeyRing second = newRing();
+        refreshAll(START, first, second);
+
+        assertThat(storedKeys).hasSize(1);
+        assertThat(second.signingKey().getKid()).isEqualTo(first.signingKey().getKid());
+    }
+
+    @Test
+    void rotationDoesNotInvalidateTokensIssuedBeforeIt() {
+        SigningKeyRing firstRing = newRing();
+        SigningKeyRing secondRing = newRing();
+        refreshAll(START, firstRing, secondRing);
+        JwtService firstInstance = jwtService(firstRing);
+        JwtService secondInstance = jwtService(secondRing);
+        String previousKid = firstRing.signingKey().getKid();
+        String tokenBeforeRotation = firstInstance.generateToken(user, "USER-ACCOUNT");
+
+        // the next key is published ahead of time, and every instance switches to it at the same instant
+        refreshAll(START.plus(Duration.ofMinutes(56)), firstRing, secondRing);
+        assertThat(firstRing.signingKey().getKid()).isEqualTo(previousKid);
+        refreshAll(START.plus(Duration.ofHours(1)), firstRing, secondRing);
+        String tokenAfterRotation = secondInstance.generateToken(user, "USER-ACCOUNT");
+
+        assertThat(secondRing.signingKey().getKid()).isNotEqualTo(previousKid);
+        assertThat(kidOf(tokenBeforeRotation)).isEqualTo(previousKid);
+        assertThat(kidOf(tokenAfterRotation)).isEqualTo(secondRing.signingKey().getKid());
+        assertThat(secondInstance.verifyToken(tokenBeforeRotation).getUsername()).isEqualTo("john.doe@gmail.com");
+        assertThat(firstInstance.verifyToken(tokenBeforeRotation).getUsername()).isEqualTo("john.doe@gmail.com");
+        assertThat(firstInstance.verifyToken(tokenAfterRotation).getUsername()).isEqualTo("john.doe@gmail.com");
+    }
+
+    @Test
+    void keysAreRetiredOnceTheirTokensHaveExpired() {
+        SigningKeyRing ring = newRing();
+        ring.refresh(START);
+        JwtService jwtService = jwtService(ring);
+        String previousKid = ring.signingKey().getKid();
+        String token = jwtService.generateToken(user, "USER-ACCOUNT");
+
+        // the key signs for an hour, and is kept for the publish-ahead and the two hour token lifetime after that
+        ring.refresh(START.plus(Duration.ofHours(3)));
+        assertThat(jwtService.verifyToken(token).getUsername()).isEqualTo("john.doe@gmail.com");
+        ring.refresh(START.plus(Duration.ofHours(3)).plus(Duration.ofMinutes(6)));
+
+        assertThat(storedKeys).doesNotContainKey(previousKid);
+        assertThatThrownBy(() -> jwtService.verifyToken(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void es256TokensVerifyWithThePublishedKeySet() throws Exception {
+        SigningKeyRing ring = new SigningKeyRing(signingKeyRepository, SECRET_KEY, EXPIRATION, "ES256", false,
+                Duration.ofHours(1), Duration.ZERO, Duration.ofMinutes(5));
+        JwtService jwtService = jwtService(ring);
+        JwksService jwksService = new JwksService(ring, new ObjectMapper());
+        String token = jwtService.generateToken(user, "USER-ACCOUNT");
+
+        JwksService.Jwks jwks = jwksService.jwks();
+        JsonNode jwk = new ObjectMapper().readTree(jwks.getBody()).get("keys").get(0);
+        AlgorithmParameters curve = AlgorithmParameters.getInstance("EC");
+        curve.init(new ECGenParameterSpec("secp256r1"));
+        PublicKey publicKey = KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(
+                new ECPoint(new BigInteger(1, Base64.getUrlDecoder().decode(jwk.get("x").asText())),
+                        new BigInteger(1, Base64.getUrlDecoder().decode(jwk.get("y").asText()))),
+                curve.getParameterSpec(ECParameterSpec.class)));
+        Claims claims = Jwts.parserBuilder().setSigningKey(publicKey).build().parseClaimsJws(token).getBody();
+
+        assertThat(jwk.get("kid").asText()).isEqualTo(kidOf(token));
+        assertThat(claims.get("username")).isEqualTo("john.doe@gmail.com");
+        assertThat(jwtService.verifyToken(token).getUsername()).isEqualTo("john.doe@gmail.com");
+        assertThat(jwksService.jwks()).isSameAs(jwks);
+        assertThat(new JwksService(ring, new ObjectMapper()).jwks().getEtag()).isEqualTo(jwks.getEtag());
+    }
+
+    // scheduled rotation is left off so that the rings only refresh at the instants the tests give them
+    private SigningKeyRing newRing() {
+        return new SigningKeyRing(signingKeyRepository, SECRET_KEY, EXPIRATION, "HS256", false,
+                Duration.ofHours(1), Duration.ZERO, Duration.ofMinutes(5));
+    }
+
+    private static JwtService jwtService(SigningKeyRing ring) {
+        AuthorityClaimCodec authorityClaimCodec = new AuthorityClaimCodec(mock(PermissionDictionaryRepository.class),
+                new SimpleMeterRegistry(), false, 100);
+        return new JwtService(ring, authorityClaimCodec, EXPIRATION, new SimpleMeterRegistry());
+    }
+
+    private static void refreshAll(Instant now, SigningKeyRing... rings) {
+        for (SigningKeyRing ring : rings) {
+            ring.refresh(now);
+        }
+    }
+
+    private static String kidOf(String token) {
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+                StandardCharsets.UTF_8);
+        return header.replaceAll(".*\"kid\":\"([^\"]+)\".*", "$1");
+    }
+}
@@ -0,0 +1,148 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.brihaspathee.artemis.auth.document.RevokedToken;
+import com.brihaspathee.artemis.auth.repository.RefreshTokenRepository;
+import com.brihaspathee.artemis.auth.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 16:10
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ */
+class TokenRevocationListTest {
+
+    private static final long EXPIRATION = Duration.ofHours(2).toMillis();
+
+    private final Map<String, RevokedToken> storedRevocations = new ConcurrentHashMap<>();
+
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @BeforeEach
+    void setUp() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        when(revokedTokenRepository.save(any(RevokedToken.class))).thenAnswer(invocation -> {
+            RevokedToken revocation = invocation.getArgument(0);
+            storedRevocations.put(revocation.getRevocationId(), revocation);
+            return revocation;
+        });
+        when(revokedTokenRepository.findByExpiresAtAfter(any())).thenAnswer(invocation -> {
+            Instant now = invocation.getArgument(0);
+            return storedRevocations.values().stream().filter(revocation -> revocation.getExpiresAt().isAfter(now)).toList();
+        });
+        when(revokedTokenRepository.findByRevokedAtAfter(any())).thenAnswer(invocation -> {
+            Instant instant = invocation.getArgument(0);
+            return storedRevocations.values().stream().filter(revocation -> revocation.getRevokedAt().isAfter(instant)).toList();
+        });
+        doAnswer(invocation -> {
+            Instant now = invocation.getArgument(0);
+            storedRevocations.values().removeIf(revocation -> revocation.getExpiresAt().isBefore(now));
+            return null;
+        }).when(revokedTokenRepository).deleteByExpiresAtBefore(any());
+    }
+
+    @Test
+    void revokedTokenIsRejectedByOtherInstancesAfterRefresh() {
+        TokenRevocationList first = revocationList();
+        TokenRevocationList second = revocationList();
+        first.refresh(Instant.now());
+        second.refresh(Instant.now());
+        Instant now = Instant.now();
+        JwtClaims revoked = claims("john.doe@gmail.com", now);
+        JwtClaims other = claims("john.doe@gmail.com", now);
+
+        first.revoke(revoked);
+
+        assertThat(first.isRevoked(revoked)).isTrue();
+        assertThat(first.isRevoked(other)).isFalse();
+        assertThat(second.isRevoked(revoked)).isFalse();
+        second.refresh(Instant.now());
+        assertThat(second.isRevoked(revoked)).isTrue();
+        assertThat(second.isRevoked(other)).isFalse();
+    }
+
+    @Test
+    void subjectRevocationRejectsOnlyTheTokensIssuedBeforeIt() {
+        TokenRevocationList revocationList = revocationList();
+        Instant now = Instant.now();
+        JwtClaims issuedBefore = claims("john.doe@gmail.com", now.minusSeconds(60));
+        JwtClaims issuedAfter = claims("john.doe@gmail.com", now.plusSeconds(60));
+        JwtClaims otherSubject = claims("jane.doe@gmail.com", now.minusSeconds(60));
+
+        revocationList.revokeSubject("john.doe@gmail.com", "USER-ACCOUNT");
+
+        assertThat(revocationList.isRevoked(issuedBefore)).isTrue();
+        assertThat(revocationList.isRevoked(issuedAfter)).isFalse();
+        assertThat(revocationList.isRevoked(otherSubject)).isFalse();
+        TokenRevocationList restarted = revocationList();
+        restarted.refresh(Instant.now());
+        assertThat(restarted.isRevoked(issuedBefore)).isTrue();
+        assertThat(restarted.isRevoked(issuedAfter)).isFalse();
+    }
+
+    @Test
+    void tokenIssuedInTheSecondOfTheSubjectRevocationIsNotRevoked() {
+        TokenRevocationList revocationList = revocationList();
+
+        revocationList.revokeSubject("john.doe@gmail.com", "USER-ACCOUNT");
+        // The "iat" claim of a login right after the revocation is truncated to the second of the revocation
+        Instant reLogin = storedRevocations.values().iterator().next().getRevokedAt().truncatedTo(ChronoUnit.SECONDS);
+        JwtClaims issuedInTheSameSecond = claims("john.doe@gmail.com", reLogin);
+        JwtClaims issuedTheSecondBefore = claims("john.doe@gmail.com", reLogin.minusSeconds(1));
+
+        assertThat(revocationList.isRevoked(issuedInTheSameSecond)).isFalse();
+        assertThat(revocationList.isRevoked(issuedTheSecondBefore)).isTrue();
+    }
+
+    @Test
+    void revocationsAreDroppedOnceTheTokenHasExpired() {
+        TokenRevocationList revocationList = revocationList();
+        Instant now = Instant.now();
+        JwtClaims claims = claims("john.doe@gmail.com", now);
+        revocationList.revoke(claims);
+
+        revocationList.refresh(claims.getExpiration().minusSeconds(1));
+        assertThat(storedRevocations).hasSize(1);
+        assertThat(revocationList.isRevoked(claims)).isTrue();
+
+        revocationList.refresh(claims.getExpiration().plusSeconds(1));
+        assertThat(storedRevocations).isEmpty();
+        assertThat(revocationList.isRevoked(claims)).isFalse();
+    }
+
+    private TokenRevocationList revocationList() {
+        return new TokenRevocationList(revokedTokenRepository, mock(RefreshTokenRepository.class),
+                new SimpleMeterRegistry(), EXPIRATION, true, 0.01, Duration.ofSeconds(30));
+    }
+
+    private static JwtClaims claims(String username, Instant issuedAt) {
+        Claims claims = Jwts.claims()
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(Date.from(issuedAt))
+                .setExpiration(Date.from(issuedAt.plusMillis(EXPIRATION)));
+        claims.put("username", username);
+        claims.put("accountType", "USER-ACCOUNT");
+        return new JwtClaims(claims, List.of());
+    }
+}
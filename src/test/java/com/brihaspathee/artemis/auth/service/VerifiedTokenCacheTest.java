@@ -0,0 +1,97 @@
+package com.brihaspathee.artemis.auth.service;
+
+import com.brihaspathee.artemis.auth.document.Authority;
+import com.brihaspathee.artemis.auth.document.Role;
+import com.brihaspathee.artemis.auth.document.User;
+import com.brihaspathee.artemis.auth.repository.PermissionDictionaryRepository;
+import com.brihaspathee.artemis.auth.repository.SigningKeyRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 19, October 2026
+ * Time: 09:10
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.auth.service
+ * To change this template use File | Settings | File and Code Template
+ */
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET_KEY = "2b9e785bfd84af3bf177a19177b2a1dd27e971a8d3e7394e66f68d9701a2d6f1";
+
+    @Test
+    void entryExpiresAtTheExpiryOfTheToken() throws InterruptedException {
+        JwtService jwtService = mock(JwtService.class);
+        Instant expiration = Instant.now().plusSeconds(2);
+        when(jwtService.verifyToken("token")).thenReturn(claims(expiration));
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), true, 100);
+
+        verifiedTokenCache.verify("token");
+        verifiedTokenCache.verify("token");
+        verify(jwtService, times(1)).verifyToken("token");
+
+        Thread.sleep(Math.max(0, Duration.between(Instant.now(), expiration).toMillis()) + 100);
+        verifiedTokenCache.verify("token");
+        verify(jwtService, times(2)).verifyToken("token");
+    }
+
+    @Test
+    void tamperedTokenIsNotServedFromTheCache() {
+        JwtService jwtService = jwtService();
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), true, 100);
+        String token = jwtService.generateToken(user(), "USER-ACCOUNT");
+        assertThat(verifiedTokenCache.verify(token).getUsername()).isEqualTo("john.doe@gmail.com");
+
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("john.doe@gmail.com", "jane.doe@gmail.com");
+        String tampered = parts[0] + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+
+        assertThatThrownBy(() -> verifiedTokenCache.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThat(verifiedTokenCache.verify(token).getUsername()).isEqualTo("john.doe@gmail.com");
+    }
+
+    private static JwtClaims claims(Instant expiration) {
+        Claims claims = Jwts.claims()
+                .setIssuedAt(Date.from(Instant.now()))
+                .setExpiration(Date.from(expiration));
+        claims.put("username", "john.doe@gmail.com");
+        claims.put("accountType", "USER-ACCOUNT");
+        return new JwtClaims(claims, List.of());
+    }
+
+    private static JwtService jwtService() {
+        SigningKeyRing signingKeyRing = new SigningKeyRing(mock(SigningKeyRepository.class), SECRET_KEY, 8640000,
+                "HS256", false, Duration.ofHours(24), Duration.ZERO, Duration.ofMinutes(5));
+        AuthorityClaimCodec authorityClaimCodec = new AuthorityClaimCodec(mock(PermissionDictionaryRepository.class),
+                new SimpleMeterRegistry(), false, 100);
+        return new JwtService(signingKeyRing, authorityClaimCodec, 8640000, new SimpleMeterRegistry());
+    }
+
+    private static User user() {
+        return User.builder()
+                .username("john.doe@gmail.com")
+                .roles(List.of(Role.builder()
+                        .roleName("ADMIN")
+                        .authorities(List.of(Authority.builder().permission("account.read").build()))
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.brihaspathee.artemis.benchmark;
+
+import com.brihaspathee.artemis.dto.auth.AuthenticationResponse;
+import com.brihaspathee.artemis.dto.auth.UserDto;
+import com.brihaspathee.artemis.mapper.impl.AuthorityMapperImpl;
+import com.brihaspathee.artemis.mapper.impl.RoleMapperImpl;
+import com.brihaspathee.artemis.mapper.impl.UserMapperImpl;
+import com.brihaspathee.artemis.web.response.ArtemisAPIResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 23:45
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.benchmark
+ * To change this template use File | Settings | File and Code Template
+ *
+ * Measures the JSON serialization of the responses of the login and validate endpoints for the ADMIN
+ * user of db_scripts, with an object mapper configured the way Spring Boot configures the application's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    /**
+     * The writer of the responses, created once as the filters and message converters do.
+     */
+    private ObjectWriter writer;
+
+    /**
+     * The response of the validate endpoint.
+     */
+    private ArtemisAPIResponse<UserDto> validateResponse;
+
+    /**
+     * The response of the login endpoint, carrying a token of the ADMIN user.
+     */
+    private ArtemisAPIResponse<AuthenticationResponse> loginResponse;
+
+    /**
+     * Creates the writer and the responses.
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        writer = Jackson2ObjectMapperBuilder.json().build().writerFor(ArtemisAPIResponse.class);
+        UserDto userDto = new UserMapperImpl(new RoleMapperImpl(new AuthorityMapperImpl()))
+                .toDto(BenchmarkFixtures.adminUser());
+        validateResponse = ArtemisAPIResponse.<UserDto>builder()
+                .response(userDto)
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .reason("Token Validation Success")
+                .message("Token Successfully validated")
+                .developerMessage("Token Successfully validated")
+                .statusCode(HttpStatus.OK.value())
+                .build();
+        String token = BenchmarkFixtures.jwtService().generateToken(BenchmarkFixtures.adminUser(), "USER-ACCOUNT");
+        loginResponse = ArtemisAPIResponse.<AuthenticationResponse>builder()
+                .response(AuthenticationResponse.builder().token(token).build())
+                .status(HttpStatus.OK)
+                .reason("Authentication Success")
+                .message("User Successfully authenticated")
+                .developerMessage("User Successfully authenticated")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Serializes the response of the validate endpoint.
+     *
+     * @return the JSON body
+     * @throws JsonProcessingException if the response cannot be serialized
+     */
+    @Benchmark
+    public byte[] validateResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(validateResponse);
+    }
+
+    /**
+     * Serializes the response of the login endpoint.
+     *
+     * @return the JSON body
+     * @throws JsonProcessingException if the response cannot be serialized
+     */
+    @Benchmark
+    public byte[] loginResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(loginResponse);
+    }
+
+    /**
+     * Runs the benchmark from the IDE or the command line.
+     *
+     * @param args not used
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ApiResponseSerializationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
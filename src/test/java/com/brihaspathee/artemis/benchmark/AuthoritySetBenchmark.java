@@ -0,0 +1,114 @@
+package com.brihaspathee.artemis.benchmark;
+
+import com.brihaspathee.artemis.auth.document.Role;
+import com.brihaspathee.artemis.auth.document.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 14:05
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.benchmark
+ * To change this template use File | Settings | File and Code Template
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthoritySetBenchmark {
+
+    /**
+     * The number of roles assigned to the user.
+     */
+    @Param({"1", "4", "8"})
+    private int roleCount;
+
+    /**
+     * The number of permissions in each role. Neighbouring roles share half of their
+     * permissions, so the user ends up with duplicate permissions across roles.
+     */
+    @Param({"4", "16", "64"})
+    private int permissionsPerRole;
+
+    /**
+     * The user whose authorities are requested by every benchmark iteration.
+     */
+    private User user;
+
+    /**
+     * Creates the user of db_scripts with the configured roles and permissions, and requests the
+     * authorities once so that the precomputed set is in place, as it is for a user held in the user cache.
+     */
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user(roleCount, permissionsPerRole);
+        user.getAuthorities();
+    }
+
+    /**
+     * Builds the authorities of a user loaded for the first time, before the set is precomputed.
+     *
+     * @return the authorities of the user
+     */
+    @Benchmark
+    public Collection<? extends GrantedAuthority> firstAuthorities() {
+        return User.builder()
+                .username(user.getUsername())
+                .roles(user.getRoles())
+                .build()
+                .getAuthorities();
+    }
+
+    /**
+     * Builds the authorities the way User did before they were precomputed:
+     * a new granted authority per permission and a new set on every call.
+     *
+     * @return the authorities of the user
+     */
+    @Benchmark
+    public Collection<? extends GrantedAuthority> perCallAuthorities() {
+        return user.getRoles().stream()
+                .map(Role::getAuthorities)
+                .flatMap(List::stream)
+                .map(authority -> new SimpleGrantedAuthority(authority.getPermission()))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the precomputed authorities of the user.
+     *
+     * @return the authorities of the user
+     */
+    @Benchmark
+    public Collection<? extends GrantedAuthority> precomputedAuthorities() {
+        return user.getAuthorities();
+    }
+
+    /**
+     * Runs the benchmark from the IDE or the command line.
+     *
+     * @param args not used
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AuthoritySetBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,158 @@
+package com.brihaspathee.artemis.benchmark;
+
+import com.brihaspathee.artemis.auth.document.User;
+import com.brihaspathee.artemis.auth.service.PermissionRegistry;
+import com.brihaspathee.artemis.auth.service.impl.AuthenticationServiceImpl;
+import com.brihaspathee.artemis.domain.repository.ResourceRepository;
+import com.brihaspathee.artemis.dto.auth.BatchAuthorizationRequest;
+import com.brihaspathee.artemis.dto.auth.BatchAuthorizationResponse;
+import com.brihaspathee.artemis.dto.auth.UserDto;
+import com.brihaspathee.artemis.exception.AccessDeniedException;
+import com.brihaspathee.artemis.mapper.impl.AuthorityMapperImpl;
+import com.brihaspathee.artemis.mapper.impl.ResourceMapperImpl;
+import com.brihaspathee.artemis.mapper.impl.RoleMapperImpl;
+import com.brihaspathee.artemis.mapper.impl.UserMapperImpl;
+import com.brihaspathee.artemis.mapper.interfaces.AuthorityMapper;
+import com.brihaspathee.artemis.mapper.interfaces.ResourceMapper;
+import com.brihaspathee.artemis.services.impl.ResourceIndex;
+import com.brihaspathee.artemis.services.impl.ResourceManagementServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 23:20
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.benchmark
+ * To change this template use File | Settings | File and Code Template
+ *
+ * Measures the authorization decision of the validate endpoints through AuthenticationServiceImpl, with
+ * the resources of db_scripts held in a loaded ResourceIndex, as they are once the service has started.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorizationBenchmark {
+
+    /**
+     * The service under test.
+     */
+    private AuthenticationServiceImpl authenticationService;
+
+    /**
+     * The service looking up the permissions of the resources from the loaded index.
+     */
+    private ResourceManagementServiceImpl resourceManagementService;
+
+    /**
+     * The ADMIN user of db_scripts, who is granted access to both resources.
+     */
+    private User adminUser;
+
+    /**
+     * A user holding only the user permissions of the ADMIN role, who is denied access to both resources.
+     */
+    private User limitedUser;
+
+    /**
+     * A batch request for both resources of db_scripts and one that does not exist.
+     */
+    private BatchAuthorizationRequest batchRequest;
+
+    /**
+     * Loads the resources of db_scripts into the index and creates the services the way Spring wires them.
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        ResourceRepository resourceRepository = mock(ResourceRepository.class);
+        when(resourceRepository.findAll()).thenReturn(BenchmarkFixtures.resources());
+        AuthorityMapper authorityMapper = new AuthorityMapperImpl();
+        ResourceMapper resourceMapper = new ResourceMapperImpl(authorityMapper);
+        PermissionRegistry permissionRegistry = new PermissionRegistry();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ResourceIndex resourceIndex = new ResourceIndex(resourceRepository, resourceMapper, permissionRegistry,
+                true, Duration.ofMinutes(10));
+        resourceIndex.refresh();
+        resourceManagementService = new ResourceManagementServiceImpl(resourceRepository, resourceMapper,
+                resourceIndex, permissionRegistry, meterRegistry);
+        authenticationService = new AuthenticationServiceImpl(resourceManagementService,
+                new UserMapperImpl(new RoleMapperImpl(authorityMapper)), permissionRegistry, meterRegistry);
+        adminUser = BenchmarkFixtures.adminUser();
+        limitedUser = BenchmarkFixtures.user(1, 4);
+        batchRequest = BatchAuthorizationRequest.builder()
+                .resourceUris(List.of(BenchmarkFixtures.GET_ACCOUNTS_URI,
+                        BenchmarkFixtures.CREATE_ACCOUNT_URI,
+                        "/api/v1/artemis/account/secured/delete-account"))
+                .build();
+        adminUser.getAuthorities();
+        limitedUser.getAuthorities();
+    }
+
+    /**
+     * Validates the access of the ADMIN user to the "Get Accounts" resource, as the validate endpoint does.
+     *
+     * @return the user returned to the caller
+     */
+    @Benchmark
+    public UserDto granted() {
+        return authenticationService.validateResourceAccess(adminUser, BenchmarkFixtures.GET_ACCOUNTS_URI,
+                resourceManagementService.getResourcePermissionBits(BenchmarkFixtures.GET_ACCOUNTS_URI));
+    }
+
+    /**
+     * Validates the access of the limited user to the "Get Accounts" resource, which is denied.
+     *
+     * @return false, as the access is denied
+     */
+    @Benchmark
+    public boolean denied() {
+        try{
+            authenticationService.validateResourceAccess(limitedUser, BenchmarkFixtures.GET_ACCOUNTS_URI,
+                    resourceManagementService.getResourcePermissionBits(BenchmarkFixtures.GET_ACCOUNTS_URI));
+            return true;
+        }catch (AccessDeniedException e){
+            return false;
+        }
+    }
+
+    /**
+     * Decides the access of the ADMIN user to the resources of the batch request.
+     *
+     * @return the decisions of the batch
+     */
+    @Benchmark
+    public BatchAuthorizationResponse batch() {
+        return authenticationService.validateResourceAccess(adminUser, batchRequest);
+    }
+
+    /**
+     * Runs the benchmark from the IDE or the command line.
+     *
+     * @param args not used
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AuthorizationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
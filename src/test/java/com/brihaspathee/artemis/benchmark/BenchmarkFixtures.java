@@ -0,0 +1,270 @@
+package com.brihaspathee.artemis.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.brihaspathee.artemis.auth.document.Authority;
+import com.brihaspathee.artemis.auth.document.PermissionDictionary;
+import com.brihaspathee.artemis.auth.document.Role;
+import com.brihaspathee.artemis.auth.document.SigningKey;
+import com.brihaspathee.artemis.auth.document.User;
+import com.brihaspathee.artemis.auth.repository.PermissionDictionaryRepository;
+import com.brihaspathee.artemis.auth.repository.SigningKeyRepository;
+import com.brihaspathee.artemis.auth.service.AuthorityClaimCodec;
+import com.brihaspathee.artemis.auth.service.JwtService;
+import com.brihaspathee.artemis.auth.service.SigningKeyRing;
+import com.brihaspathee.artemis.domain.document.Resource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 23:10
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.benchmark
+ * To change this template use File | Settings | File and Code Template
+ *
+ * The records of db_scripts/create-records.sh as documents, shared by the benchmarks so that every
+ * benchmark measures the same user and resources as a local deployment. Keep this class in step with
+ * the script when the records change.
+ */
+public final class BenchmarkFixtures {
+
+    /**
+     * The username of the user in create-records.sh.
+     */
+    public static final String USERNAME = "john.doe@gmail.com";
+
+    /**
+     * The URI of the "Get Accounts" resource, which requires account.read.
+     */
+    public static final String GET_ACCOUNTS_URI = "/api/v1/artemis/account/secured/get-accounts";
+
+    /**
+     * The URI of the "Create Account" resource, which requires account.create.
+     */
+    public static final String CREATE_ACCOUNT_URI = "/api/v1/artemis/account/secured/create-account";
+
+    /**
+     * The permissions of the ADMIN role in create-records.sh, in the order of the script.
+     */
+    public static final List<String> ADMIN_PERMISSIONS = List.of(
+            "user.create", "user.read", "user.update", "user.delete",
+            "role.create", "role.read", "role.update", "role.delete",
+            "authority.create", "authority.read", "authority.update", "authority.delete",
+            "account.create", "account.read", "account.update", "account.delete");
+
+    /**
+     * The secret key configured for the unit-test profile.
+     */
+    public static final String SECRET_KEY = "2b9e785bfd84af3bf177a19177b2a1dd27e971a8d3e7394e66f68d9701a2d6f1";
+
+    /**
+     * The bcrypt hash of the password of the user in create-records.sh.
+     */
+    private static final String PASSWORD_HASH = "$2a$12$.JOeREsYXYUd7nb9T3GbWeyKz1cNfyAKTi4z6OgWKabDNv0QF8d5q";
+
+    /**
+     * The id of the profile of the user in create-records.sh.
+     */
+    private static final String PROFILE_ID = "67f07beff448b8ae3ec191b7";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Returns the user of create-records.sh, holding the ADMIN role.
+     *
+     * @return the ADMIN user
+     */
+    public static User adminUser() {
+        return user(List.of(role("ADMIN", ADMIN_PERMISSIONS)));
+    }
+
+    /**
+     * Returns the user of create-records.sh with the given number of roles, each holding the given number
+     * of permissions. The permissions are taken from the ADMIN role, and numbered once its sixteen
+     * permissions are used up. Neighbouring roles share half of their permissions, so the user ends up
+     * with duplicate permissions across roles, as users holding overlapping roles do.
+     *
+     * @param roleCount the number of roles of the user
+     * @param permissionsPerRole the number of permissions of each role
+     * @return the user with the given roles
+     */
+    public static User user(int roleCount, int permissionsPerRole) {
+        List<Role> roles = new ArrayList<>(roleCount);
+        for (int role = 0; role < roleCount; role++) {
+            List<String> permissions = new ArrayList<>(permissionsPerRole);
+            int first = role * permissionsPerRole / 2;
+            for (int permission = first; permission < first + permissionsPerRole; permission++) {
+                permissions.add(permission(permission));
+            }
+            roles.add(role("ROLE" + role, permissions));
+        }
+        return user(roles);
+    }
+
+    /**
+     * Returns a JwtService signing with the secret key of the unit-test profile, without key rotation.
+     *
+     * @return the JwtService
+     */
+    public static JwtService jwtService() {
+        return jwtService("HS256", false);
+    }
+
+    /**
+     * Returns a JwtService signing with the given algorithm, without key rotation. The keys of ES256 and the
+     * permission dictionary are stored in memory in place of their collections.
+     *
+     * @param algorithm the JWS algorithm, HS256 or ES256
+     * @param compactAuthorities whether the authorities are carried in the compact format
+     * @return the JwtService
+     */
+    public static JwtService jwtService(String algorithm, boolean compactAuthorities) {
+        List<SigningKey> signingKeys = new CopyOnWriteArrayList<>();
+        SigningKeyRepository signingKeyRepository = mock(SigningKeyRepository.class);
+        when(signingKeyRepository.insert(any(SigningKey.class))).thenAnswer(invocation -> {
+            SigningKey signingKey = invocation.getArgument(0);
+            signingKeys.add(signingKey);
+            return signingKey;
+        });
+        when(signingKeyRepository.findByRetireAtAfter(any())).thenAnswer(invocation -> List.copyOf(signingKeys));
+        SigningKeyRing signingKeyRing = new SigningKeyRing(signingKeyRepository, SECRET_KEY, 8640000, algorithm,
+                false, Duration.ofHours(24), Duration.ZERO, Duration.ofMinutes(5));
+        AuthorityClaimCodec authorityClaimCodec = new AuthorityClaimCodec(permissionDictionaryRepository(),
+                new SimpleMeterRegistry(), compactAuthorities, 10000);
+        return new JwtService(signingKeyRing, authorityClaimCodec, 8640000, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Returns a permission dictionary repository holding the dictionary in memory.
+     *
+     * @return the repository
+     */
+    private static PermissionDictionaryRepository permissionDictionaryRepository() {
+        Map<String, PermissionDictionary> dictionaries = new ConcurrentHashMap<>();
+        PermissionDictionaryRepository permissionDictionaryRepository = mock(PermissionDictionaryRepository.class);
+        doAnswer(invocation -> {
+            Collection<String> permissions = invocation.getArgument(1);
+            dictionaries.computeIfPresent(invocation.getArgument(0), (dictionaryId, dictionary) -> {
+                List<String> appended = new ArrayList<>(dictionary.getPermissions());
+                permissions.stream().filter(permission -> !appended.contains(permission)).forEach(appended::add);
+                return new PermissionDictionary(dictionaryId, appended);
+            });
+            return null;
+        }).when(permissionDictionaryRepository).addPermissions(any(), any());
+        when(permissionDictionaryRepository.findById(any()))
+                .thenAnswer(invocation -> Optional.ofNullable(dictionaries.get(invocation.getArgument(0))));
+        when(permissionDictionaryRepository.insert(any(PermissionDictionary.class))).thenAnswer(invocation -> {
+            PermissionDictionary dictionary = invocation.getArgument(0);
+            dictionaries.putIfAbsent(dictionary.getDictionaryId(), dictionary);
+            return dictionary;
+        });
+        return permissionDictionaryRepository;
+    }
+
+    /**
+     * Returns the resources of create-records.sh.
+     *
+     * @return the "Get Accounts" and "Create Account" resources
+     */
+    public static List<Resource> resources() {
+        return List.of(
+                resource("Get Accounts", "Get all accounts in the system", GET_ACCOUNTS_URI, "account.read"),
+                resource("Create Account", "Create an Account in the system", CREATE_ACCOUNT_URI, "account.create"));
+    }
+
+    /**
+     * Raises the level of the root logger to WARN. Without a Spring context logback logs at DEBUG to the
+     * console, and writing the log lines of the hot paths would be measured instead of the paths themselves.
+     */
+    public static void quietLogging() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    /**
+     * Returns the name of the permission with the given number.
+     *
+     * @param number the number of the permission
+     * @return a permission of the ADMIN role for the first sixteen numbers, a numbered copy of one after that
+     */
+    private static String permission(int number) {
+        String permission = ADMIN_PERMISSIONS.get(number % ADMIN_PERMISSIONS.size());
+        int copy = number / ADMIN_PERMISSIONS.size();
+        return copy == 0 ? permission : permission + copy;
+    }
+
+    /**
+     * Builds the user of create-records.sh with the given roles.
+     *
+     * @param roles the roles of the user
+     * @return the user
+     */
+    private static User user(List<Role> roles) {
+        return User.builder()
+                .username(USERNAME)
+                .password(PASSWORD_HASH)
+                .accountNotExpired(true)
+                .accountNotLocked(true)
+                .credentialsNotExpired(true)
+                .enabled(true)
+                .profile(PROFILE_ID)
+                .roles(roles)
+                .build();
+    }
+
+    /**
+     * Builds a role holding the given permissions.
+     *
+     * @param roleName the name of the role
+     * @param permissions the permissions of the role
+     * @return the role
+     */
+    private static Role role(String roleName, List<String> permissions) {
+        return Role.builder()
+                .roleName(roleName)
+                .authorities(permissions.stream()
+                        .map(permission -> Authority.builder().permission(permission).build())
+                        .toList())
+                .build();
+    }
+
+    /**
+     * Builds a resource of the ACCOUNT-MANAGEMENT owner requiring the given permission.
+     *
+     * @param resourceName the name of the resource
+     * @param resourceDescription the description of the resource
+     * @param resourceUri the URI of the resource
+     * @param permission the permission that grants access to the resource
+     * @return the resource
+     */
+    private static Resource resource(String resourceName, String resourceDescription, String resourceUri,
+                                     String permission) {
+        return Resource.builder()
+                .resourceName(resourceName)
+                .resourceDescription(resourceDescription)
+                .resourceType("ACCOUNT")
+                .resourceUri(resourceUri)
+                .resourceOwner("ACCOUNT-MANAGEMENT")
+                .lastModified(Instant.now())
+                .authorities(List.of(Authority.builder().permission(permission).build()))
+                .build();
+    }
+}
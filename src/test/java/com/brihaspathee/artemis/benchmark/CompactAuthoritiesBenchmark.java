@@ -0,0 +1,115 @@
+package com.brihaspathee.artemis.benchmark;
+
+import com.brihaspathee.artemis.auth.document.User;
+import com.brihaspathee.artemis.auth.service.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 18, October 2026
+ * Time: 14:30
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.benchmark
+ * To change this template use File | Settings | File and Code Template
+ *
+ * Compares the tokens carrying the authorities as a list of permission strings with the tokens carrying
+ * them as a bitset over the permission dictionary. The size of each token is printed when the trial is set
+ * up, since it is the size of the Authorization header every request carries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompactAuthoritiesBenchmark {
+
+    /**
+     * Whether the authorities are carried in the compact format.
+     */
+    @Param({"false", "true"})
+    private boolean compact;
+
+    /**
+     * The number of roles assigned to the user. Neighbouring roles share half of their permissions.
+     */
+    @Param({"1", "8"})
+    private int roleCount;
+
+    /**
+     * The number of permissions in each role.
+     */
+    @Param({"16", "64"})
+    private int permissionsPerRole;
+
+    /**
+     * The JwtService issuing and verifying the tokens in the configured format.
+     */
+    private JwtService jwtService;
+
+    /**
+     * The user for whom the tokens are generated.
+     */
+    private User user;
+
+    /**
+     * A token of the user, parsed by every benchmark iteration.
+     */
+    private String token;
+
+    /**
+     * Creates the JwtService and a token of the user, and prints the size of the token.
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        jwtService = BenchmarkFixtures.jwtService("HS256", compact);
+        user = BenchmarkFixtures.user(roleCount, permissionsPerRole);
+        token = jwtService.generateToken(user, "USER-ACCOUNT");
+        System.out.printf("%n%d permissions, %s authorities: token of %d bytes%n", user.getAuthorities().size(),
+                compact ? "compact" : "list", token.length());
+    }
+
+    /**
+     * Generates and signs a token for the user.
+     *
+     * @return the signed token
+     */
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user, "USER-ACCOUNT");
+    }
+
+    /**
+     * Parses the token, verifies its signature and decodes its authorities, as the authentication
+     * filter does for a token that is not in the verified token cache.
+     *
+     * @return the authorities of the token
+     */
+    @Benchmark
+    public List<SimpleGrantedAuthority> verifyToken() {
+        return jwtService.verifyToken(token).getAuthorities();
+    }
+
+    /**
+     * Runs the benchmark from the IDE or the command line.
+     *
+     * @param args not used
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CompactAuthoritiesBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
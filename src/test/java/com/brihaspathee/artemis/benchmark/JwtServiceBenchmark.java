@@ -0,0 +1,142 @@
+package com.brihaspathee.artemis.benchmark;
+
+import com.brihaspathee.artemis.auth.document.User;
+import com.brihaspathee.artemis.auth.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 10:05
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.benchmark
+ * To change this template use File | Settings | File and Code Template
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    /**
+     * The JwtService under test, holding a signing key and parser that are built once.
+     */
+    private JwtService jwtService;
+
+    /**
+     * A token signed by the JwtService, parsed by every benchmark iteration.
+     */
+    private String token;
+
+    /**
+     * A JwtService signing with an ES256 key pair, whose tokens other services verify with the public key.
+     */
+    private JwtService es256JwtService;
+
+    /**
+     * A token signed by the ES256 JwtService.
+     */
+    private String es256Token;
+
+    /**
+     * The ADMIN user of db_scripts, for whom the tokens are generated.
+     */
+    private User user;
+
+    /**
+     * Creates the JwtService and a token for the ADMIN user of db_scripts.
+     */
+    @Setup
+    public void setUp() {
+        jwtService = BenchmarkFixtures.jwtService();
+        user = BenchmarkFixtures.adminUser();
+        token = jwtService.generateToken(user, "USER-ACCOUNT");
+        es256JwtService = BenchmarkFixtures.jwtService("ES256", false);
+        es256Token = es256JwtService.generateToken(user, "USER-ACCOUNT");
+    }
+
+    /**
+     * Generates and signs a token for the ADMIN user, as done on every user login.
+     *
+     * @return the signed token
+     */
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user, "USER-ACCOUNT");
+    }
+
+    /**
+     * Parses the token the way JwtService did before the key and parser were shared:
+     * the key is decoded and a new parser is built for every call.
+     *
+     * @return the claims of the token
+     */
+    @Benchmark
+    public Claims perCallKeyAndParser() {
+        byte[] keyBytes = Decoders.BASE64.decode(BenchmarkFixtures.SECRET_KEY);
+        Key key = Keys.hmacShaKeyFor(keyBytes);
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    /**
+     * Parses the token with the signing key and parser shared by the JwtService.
+     *
+     * @return the username in the token
+     */
+    @Benchmark
+    public String sharedKeyAndParser() {
+        return jwtService.verifyToken(token).getUsername();
+    }
+
+    /**
+     * Generates and signs a token for the ADMIN user with an ES256 key pair.
+     *
+     * @return the signed token
+     */
+    @Benchmark
+    public String generateEs256Token() {
+        return es256JwtService.generateToken(user, "USER-ACCOUNT");
+    }
+
+    /**
+     * Parses the ES256 token and verifies its signature with the public key, as the gateways do
+     * when they verify the tokens with the keys of the JWKS.
+     *
+     * @return the username in the token
+     */
+    @Benchmark
+    public String verifyEs256Token() {
+        return es256JwtService.verifyToken(es256Token).getUsername();
+    }
+
+    /**
+     * Runs the benchmark from the IDE or the command line.
+     *
+     * @param args not used
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,146 @@
+package com.brihaspathee.artemis.benchmark;
+
+import com.brihaspathee.artemis.auth.service.PermissionBits;
+import com.brihaspathee.artemis.auth.service.PermissionRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 16:40
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.benchmark
+ * To change this template use File | Settings | File and Code Template
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PermissionCheckBenchmark {
+
+    /**
+     * The number of distinct permissions in the system. The user holds every even permission,
+     * and the resource requires one permission in ten, all of them odd except the last one,
+     * so that each check has to look at every permission of the resource before it is granted.
+     */
+    @Param({"10", "100", "1000"})
+    private int permissionCount;
+
+    /**
+     * The authorities of the user, held in an immutable set as on User and ServiceUser.
+     */
+    private Set<GrantedAuthority> userAuthorities;
+
+    /**
+     * The permissions of the resource, as held in the resource index.
+     */
+    private Set<String> resourcePermissions;
+
+    /**
+     * The permissions of the resource compiled into a bitset, as held in the resource index.
+     */
+    private PermissionBits resourceBits;
+
+    /**
+     * The registry holding the ids of the permissions.
+     */
+    private PermissionRegistry permissionRegistry;
+
+    /**
+     * Creates the authorities of the user and the permissions of the resource, and compiles the
+     * bitset of the user once so that it is in place, as it is for a user held in the user cache.
+     */
+    @Setup
+    public void setUp() {
+        Set<GrantedAuthority> authorities = new HashSet<>();
+        for (int permission = 0; permission < permissionCount; permission += 2) {
+            authorities.add(new SimpleGrantedAuthority("resource" + permission + ".read"));
+        }
+        userAuthorities = Set.copyOf(authorities);
+        List<String> permissions = new ArrayList<>();
+        int required = Math.max(1, permissionCount / 10);
+        for (int i = 0; i < required - 1; i++) {
+            permissions.add("resource" + (2 * i + 1) + ".read");
+        }
+        permissions.add("resource0.read");
+        resourcePermissions = Set.copyOf(permissions);
+        permissionRegistry = new PermissionRegistry();
+        for (int permission = 0; permission < permissionCount; permission++) {
+            permissionRegistry.idOf("resource" + permission + ".read");
+        }
+        resourceBits = permissionRegistry.compile(resourcePermissions);
+        permissionRegistry.compileAuthorities(userAuthorities);
+    }
+
+    /**
+     * Checks the authorities the way AuthenticationServiceImpl originally did: both sides are
+     * copied into new lists of strings and compared with Collections.disjoint.
+     *
+     * @return true if the user is authorized
+     */
+    @Benchmark
+    public boolean listDisjoint() {
+        List<String> resourceAuthorities = new ArrayList<>(resourcePermissions);
+        List<String> authorities = userAuthorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+        return !Collections.disjoint(resourceAuthorities, authorities);
+    }
+
+    /**
+     * Checks each authority of the user against the precomputed permission set of the resource.
+     *
+     * @return true if the user is authorized
+     */
+    @Benchmark
+    public boolean setContains() {
+        Collection<? extends GrantedAuthority> authorities = userAuthorities;
+        for (GrantedAuthority authority : authorities) {
+            if(resourcePermissions.contains(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the compiled bitset of the user against the compiled bitset of the resource.
+     *
+     * @return true if the user is authorized
+     */
+    @Benchmark
+    public boolean bitsetIntersects() {
+        return permissionRegistry.compileAuthorities(userAuthorities).intersects(resourceBits);
+    }
+
+    /**
+     * Runs the benchmark from the IDE or the command line.
+     *
+     * @param args not used
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PermissionCheckBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
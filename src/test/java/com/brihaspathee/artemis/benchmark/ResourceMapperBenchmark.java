@@ -0,0 +1,91 @@
+package com.brihaspathee.artemis.benchmark;
+
+import com.brihaspathee.artemis.domain.document.Resource;
+import com.brihaspathee.artemis.dto.resource.ResourceDto;
+import com.brihaspathee.artemis.mapper.impl.AuthorityMapperImpl;
+import com.brihaspathee.artemis.mapper.impl.ResourceMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 23:35
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.benchmark
+ * To change this template use File | Settings | File and Code Template
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceMapperBenchmark {
+
+    /**
+     * The mapper under test.
+     */
+    private ResourceMapperImpl resourceMapper;
+
+    /**
+     * The "Get Accounts" resource of db_scripts.
+     */
+    private Resource resource;
+
+    /**
+     * The resources of db_scripts.
+     */
+    private List<Resource> resources;
+
+    /**
+     * Creates the mapper and the resources of db_scripts.
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        resourceMapper = new ResourceMapperImpl(new AuthorityMapperImpl());
+        resources = BenchmarkFixtures.resources();
+        resource = resources.get(0);
+    }
+
+    /**
+     * Maps a single resource, as done for every resource read from the database.
+     *
+     * @return the mapped resource
+     */
+    @Benchmark
+    public ResourceDto toDto() {
+        return resourceMapper.toDto(resource);
+    }
+
+    /**
+     * Maps all the resources of db_scripts, as done when the resource index is rebuilt.
+     *
+     * @return the mapped resources
+     */
+    @Benchmark
+    public List<ResourceDto> toDtos() {
+        return resourceMapper.toDtos(resources);
+    }
+
+    /**
+     * Runs the benchmark from the IDE or the command line.
+     *
+     * @param args not used
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ResourceMapperBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,230 @@
+package com.brihaspathee.artemis.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 21:15
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.benchmark
+ * To change this template use File | Settings | File and Code Template
+ *
+ * Closed-loop load test of the resource validation endpoint, used to compare request handling on the
+ * Tomcat platform thread pool with request handling on virtual threads. Each connection is a virtual
+ * thread of this client that sends a validate request, waits for the response and sends the next one,
+ * so the number of requests in flight on the server equals the number of connections.
+ * <p>
+ * Start the service against a Mongo loaded with db_scripts/create-records.sh, once with
+ * {@code VIRTUAL_THREADS_ENABLED=false} and once with {@code VIRTUAL_THREADS_ENABLED=true}, and run
+ * this class against each of them with the same settings, e.g.
+ * <pre>
+ * java -Dartemis.connections=5000 -Dartemis.duration=PT60S ... ValidateLoadBenchmark
+ * </pre>
+ * The settings are read from system properties:
+ * <ul>
+ *     <li>{@code artemis.url}: the base URL of the service, defaults to {@code http://localhost:8080}</li>
+ *     <li>{@code artemis.username}, {@code artemis.password}, {@code artemis.account-type}: the account
+ *     used to log in, defaults to the ADMIN user of db_scripts</li>
+ *     <li>{@code artemis.resource-uri}: the resource validated by every request</li>
+ *     <li>{@code artemis.connections}: the number of concurrent connections, defaults to 5000</li>
+ *     <li>{@code artemis.warmup} and {@code artemis.duration}: ISO-8601 durations of the warm-up,
+ *     which is not measured, and of the measurement</li>
+ * </ul>
+ * The client needs a file descriptor limit above the number of connections ({@code ulimit -n}).
+ * Set {@code jdk.httpclient.connectionPoolSize} if the JDK default does not keep that many connections
+ * alive.
+ */
+public class ValidateLoadBenchmark {
+
+    /**
+     * The path of the login endpoint.
+     */
+    private static final String LOGIN_PATH = "/api/v1/artemis/auth/public/authenticate";
+
+    /**
+     * The path of the validate endpoint.
+     */
+    private static final String VALIDATE_PATH = "/api/v1/artemis/auth/secured/resource/validate";
+
+    /**
+     * Runs the load test and prints the throughput, the latency percentiles and the response statuses.
+     *
+     * @param args not used, the settings are read from system properties
+     * @throws Exception if the login fails or the load test is interrupted
+     */
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("artemis.url", "http://localhost:8080");
+        String username = System.getProperty("artemis.username", "john.doe@gmail.com");
+        String password = System.getProperty("artemis.password", "password");
+        String accountType = System.getProperty("artemis.account-type", "USER-ACCOUNT");
+        String resourceUri = System.getProperty("artemis.resource-uri", "/api/v1/artemis/account/secured/get-accounts");
+        int connections = Integer.getInteger("artemis.connections", 5000);
+        Duration warmup = Duration.parse(System.getProperty("artemis.warmup", "PT15S"));
+        Duration duration = Duration.parse(System.getProperty("artemis.duration", "PT60S"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String token = login(client, baseUrl, username, password, accountType);
+        HttpRequest validateRequest = HttpRequest.newBuilder(URI.create(baseUrl + VALIDATE_PATH))
+                .header("Content-Type", "application/json")
+                .header("Authorization", token)
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"resourceUri\":\"" + resourceUri + "\"}"))
+                .build();
+
+        System.out.printf("Running %d connections against %s: %s warm-up, %s measured%n",
+                connections, baseUrl, warmup, duration);
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        List<Future<long[]>> workers = new ArrayList<>(connections);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                workers.add(executor.submit(() -> run(client, validateRequest, measureFrom, measureUntil, outcomes)));
+            }
+            long[] latencies = merge(workers);
+            report(latencies, duration, outcomes);
+        }
+    }
+
+    /**
+     * Logs in and returns the value of the Authorization header to be sent with the validate requests.
+     *
+     * @param client the HTTP client
+     * @param baseUrl the base URL of the service
+     * @param username the username of the account
+     * @param password the password of the account
+     * @param accountType the account type of the account
+     * @return the Authorization header returned by the login
+     * @throws Exception if the login fails
+     */
+    private static String login(HttpClient client, String baseUrl, String username, String password,
+                                String accountType) throws Exception {
+        HttpRequest loginRequest = HttpRequest.newBuilder(URI.create(baseUrl + LOGIN_PATH))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                        "{\"username\":\"%s\",\"password\":\"%s\",\"accountType\":\"%s\"}",
+                        username, password, accountType)))
+                .build();
+        HttpResponse<Void> response = client.send(loginRequest, HttpResponse.BodyHandlers.discarding());
+        if(response.statusCode() != 200){
+            throw new IllegalStateException("Login failed with status " + response.statusCode());
+        }
+        return response.headers().firstValue("Authorization")
+                .orElseThrow(() -> new IllegalStateException("Login response has no Authorization header"));
+    }
+
+    /**
+     * Sends validate requests back to back until the end of the measurement, recording the latency of
+     * the requests sent after the warm-up.
+     *
+     * @param client the HTTP client
+     * @param request the validate request
+     * @param measureFrom the instant, in nanoseconds, from which latencies are recorded
+     * @param measureUntil the instant, in nanoseconds, at which the connection stops sending requests
+     * @param outcomes the number of responses per status, or per exception for requests that failed
+     * @return the latencies in nanoseconds of the measured requests
+     */
+    private static long[] run(HttpClient client, HttpRequest request, long measureFrom, long measureUntil,
+                              Map<String, LongAdder> outcomes) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        while (true) {
+            long start = System.nanoTime();
+            if(start >= measureUntil){
+                break;
+            }
+            String outcome;
+            try{
+                outcome = String.valueOf(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+                break;
+            }catch (Exception e){
+                outcome = e.getClass().getSimpleName();
+            }
+            if(start < measureFrom){
+                continue;
+            }
+            if(count == latencies.length){
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    /**
+     * Waits for the connections to finish and merges their latencies into one sorted array.
+     *
+     * @param workers the connections
+     * @return the sorted latencies in nanoseconds of every measured request
+     * @throws Exception if a connection failed
+     */
+    private static long[] merge(List<Future<long[]>> workers) throws Exception {
+        List<long[]> results = new ArrayList<>(workers.size());
+        int total = 0;
+        for (Future<long[]> worker : workers) {
+            long[] result = worker.get();
+            results.add(result);
+            total += result.length;
+        }
+        long[] latencies = new long[total];
+        int position = 0;
+        for (long[] result : results) {
+            System.arraycopy(result, 0, latencies, position, result.length);
+            position += result.length;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    /**
+     * Prints the throughput, the latency percentiles and the number of responses per outcome.
+     *
+     * @param latencies the sorted latencies in nanoseconds
+     * @param duration the duration of the measurement
+     * @param outcomes the number of responses per outcome
+     */
+    private static void report(long[] latencies, Duration duration, Map<String, LongAdder> outcomes) {
+        System.out.printf("Requests: %d, throughput: %.1f req/s%n",
+                latencies.length, latencies.length / (duration.toMillis() / 1000.0));
+        if(latencies.length > 0){
+            System.out.printf("Latency ms: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                    percentile(latencies, 0.999), latencies[latencies.length - 1] / 1_000_000.0);
+        }
+        new TreeMap<>(outcomes).forEach((outcome, count) -> System.out.printf("  %s: %d%n", outcome, count.sum()));
+    }
+
+    /**
+     * Returns the given percentile of the latencies in milliseconds.
+     *
+     * @param latencies the sorted latencies in nanoseconds
+     * @param percentile the percentile, between 0 and 1
+     * @return the latency at the percentile in milliseconds
+     */
+    private static double percentile(long[] latencies, double percentile) {
+        int index = (int) Math.ceil(percentile * latencies.length) - 1;
+        return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1_000_000.0;
+    }
+}
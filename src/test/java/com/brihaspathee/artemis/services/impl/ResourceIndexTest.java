@@ -0,0 +1,104 @@
+package com.brihaspathee.artemis.services.impl;
+
+import com.brihaspathee.artemis.auth.document.Authority;
+import com.brihaspathee.artemis.auth.service.PermissionRegistry;
+import com.brihaspathee.artemis.domain.document.Resource;
+import com.brihaspathee.artemis.domain.repository.ResourceRepository;
+import com.brihaspathee.artemis.mapper.impl.AuthorityMapperImpl;
+import com.brihaspathee.artemis.mapper.impl.ResourceMapperImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 19, October 2026
+ * Time: 11:30
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.services.impl
+ * To change this template use File | Settings | File and Code Template
+ */
+class ResourceIndexTest {
+
+    private final Map<String, Resource> storedResources = new ConcurrentHashMap<>();
+
+    private ResourceRepository resourceRepository;
+
+    private ResourceIndex resourceIndex;
+
+    @BeforeEach
+    void setUp() {
+        resourceRepository = mock(ResourceRepository.class);
+        when(resourceRepository.findAll()).thenAnswer(invocation -> new ArrayList<>(storedResources.values()));
+        when(resourceRepository.count()).thenAnswer(invocation -> (long) storedResources.size());
+        when(resourceRepository.findByLastModifiedGreaterThanEqual(any())).thenAnswer(invocation -> {
+            Instant watermark = invocation.getArgument(0);
+            return storedResources.values().stream()
+                    .filter(resource -> resource.getLastModified() != null
+                            && !resource.getLastModified().isBefore(watermark))
+                    .toList();
+        });
+        resourceIndex = new ResourceIndex(resourceRepository, new ResourceMapperImpl(new AuthorityMapperImpl()),
+                new PermissionRegistry(), true, Duration.ofHours(1));
+        store("1", "/accounts", "account.read", Instant.now().minusSeconds(60));
+        store("2", "/members/{id}", "member.read", Instant.now().minusSeconds(60));
+        resourceIndex.refresh();
+    }
+
+    @Test
+    void modifiedResourcesAreRefreshedWithoutReadingTheWholeCollection() {
+        store("2", "/members/{id}", "member.write", Instant.now());
+        store("3", "/claims", "claim.read", Instant.now());
+
+        resourceIndex.refresh();
+
+        assertThat(resourceIndex.find("/members/42").getPermissions()).containsExactly("member.write");
+        assertThat(resourceIndex.find("/claims").getPermissions()).containsExactly("claim.read");
+        verify(resourceRepository, times(1)).findAll();
+    }
+
+    @Test
+    void documentsSharingAUriDoNotForceAFullRebuild() {
+        store("3", "/accounts", "account.read", Instant.now());
+
+        resourceIndex.refresh();
+        resourceIndex.refresh();
+
+        verify(resourceRepository, times(1)).findAll();
+    }
+
+    @Test
+    void deletedResourceOrResourceWithoutModificationInstantForcesAFullRebuild() {
+        storedResources.remove("2");
+        resourceIndex.refresh();
+
+        assertThat(resourceIndex.find("/members/42")).isNull();
+        verify(resourceRepository, times(2)).findAll();
+
+        store("3", "/claims", "claim.read", null);
+        resourceIndex.refresh();
+
+        assertThat(resourceIndex.find("/claims")).isNotNull();
+        verify(resourceRepository, times(3)).findAll();
+    }
+
+    private void store(String resourceId, String resourceUri, String permission, Instant lastModified) {
+        storedResources.put(resourceId, Resource.builder()
+                .resourceId(resourceId)
+                .resourceUri(resourceUri)
+                .lastModified(lastModified)
+                .authorities(List.of(Authority.builder().permission(permission).build()))
+                .build());
+    }
+}
@@ -0,0 +1,100 @@
+package com.brihaspathee.artemis.services.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Created in Intellij IDEA
+ * User: Balaji Varadharajan
+ * Date: 17, October 2026
+ * Time: 17:40
+ * Project: artemis
+ * Package Name: com.brihaspathee.artemis.services.impl
+ * To change this template use File | Settings | File and Code Template
+ */
+class ResourceUriMatcherTest {
+
+    private static ResourceUriMatcher<String> compile(String... patterns) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String pattern : patterns) {
+            values.put(pattern, pattern);
+        }
+        return ResourceUriMatcher.compile(values);
+    }
+
+    @Test
+    void templateVariableMatchesExactlyOneSegment() {
+        ResourceUriMatcher<String> matcher = compile("/members/{id}");
+
+        assertThat(matcher.match("/members/42")).isEqualTo("/members/{id}");
+        assertThat(matcher.match("/members")).isNull();
+        assertThat(matcher.match("/members/42/claims")).isNull();
+    }
+
+    @Test
+    void doubleWildcardMatchesZeroOrMoreSegments() {
+        ResourceUriMatcher<String> matcher = compile("/members/{id}/claims/**", "/api/**/status");
+
+        assertThat(matcher.match("/members/42/claims")).isEqualTo("/members/{id}/claims/**");
+        assertThat(matcher.match("/members/42/claims/7/lines")).isEqualTo("/members/{id}/claims/**");
+        assertThat(matcher.match("/api/status")).isEqualTo("/api/**/status");
+        assertThat(matcher.match("/api/v1/accounts/status")).isEqualTo("/api/**/status");
+        assertThat(matcher.match("/api/v1/accounts")).isNull();
+    }
+
+    @Test
+    void mostSpecificLeftMostSegmentWins() {
+        ResourceUriMatcher<String> matcher = compile("/members/{id}/claims/**", "/members/123/**", "/members/**");
+
+        assertThat(matcher.match("/members/123/claims/9")).isEqualTo("/members/123/**");
+        assertThat(matcher.match("/members/7/claims/9")).isEqualTo("/members/{id}/claims/**");
+        assertThat(matcher.match("/members/7/payments")).isEqualTo("/members/**");
+    }
+
+    @Test
+    void exactUrisAreNotCompiled() {
+        ResourceUriMatcher<String> matcher = compile("/api/v1/artemis/account/secured/get-accounts", "/members/{id}");
+
+        assertThat(matcher.size()).isEqualTo(1);
+        assertThat(matcher.match("/api/v1/artemis/account/secured/get-accounts")).isNull();
+    }
+
+    @Test
+    void dotSegmentsNeverMatch() {
+        ResourceUriMatcher<String> matcher = compile("/public/**", "/members/{id}/claims");
+
+        assertThat(matcher.match("/public/../admin/users")).isNull();
+        assertThat(matcher.match("/public/./status")).isNull();
+        assertThat(matcher.match("/public/%2e%2E/admin")).isNull();
+        assertThat(matcher.match("/members/../claims")).isNull();
+        assertThat(matcher.match("/members/./claims")).isNull();
+        assertThat(matcher.match("/public/v1.2/status")).isEqualTo("/public/**");
+        assertThat(matcher.match("/public/...")).isEqualTo("/public/**");
+    }
+
+    @Test
+    void encodedSlashesNeverMatch() {
+        ResourceUriMatcher<String> matcher = compile("/public/{name}", "/public/**");
+
+        assertThat(matcher.match("/public/a%2Fb")).isNull();
+        assertThat(matcher.match("/public/a%2fb")).isNull();
+        assertThat(matcher.match("/public/a%5Cb")).isNull();
+        assertThat(matcher.match("/public/a\\b")).isNull();
+        assertThat(matcher.match("/public/a%20b")).isEqualTo("/public/{name}");
+    }
+
+    @Test
+    void manyDoubleWildcardsDoNotBacktrackExponentially() {
+        ResourceUriMatcher<String> matcher = compile("/**/a/**/a/**/a/**/a/**/a/**/a/**/a/**/a/**/b");
+        String uri = "/a".repeat(60) + "/c";
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> assertThat(matcher.match(uri)).isNull());
+        assertThat(matcher.match("/a".repeat(60) + "/b")).isNotNull();
+    }
+}